@@ -0,0 +1,40 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.benchmarks;
+
+import es.nachobrito.jsonschema.compiler.domain.GeneratedClassesHandler;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Keeps the generated classes in memory, so that benchmarks don't measure any I/O. */
+final class CollectingHandler implements GeneratedClassesHandler {
+  private final Map<String, byte[]> classes = new LinkedHashMap<>();
+
+  @Override
+  public void beforeCompile() {
+    classes.clear();
+  }
+
+  @Override
+  public synchronized void handleGeneratedClass(String className, byte[] bytes) {
+    classes.put(className, bytes);
+  }
+
+  Map<String, byte[]> classes() {
+    return classes;
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.benchmarks;
+
+import es.nachobrito.jsonschema.compiler.domain.Compiler;
+import es.nachobrito.jsonschema.compiler.domain.GeneratedClassesHandler;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import es.nachobrito.jsonschema.compiler.infrastructure.jsonrefparser.JsonSchemaReaderFactory;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** End-to-end {@link Compiler#compile(String)} throughput, from json schema to class bytes. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompilerBenchmark {
+
+  @Param({"small", "wide", "deep"})
+  public String size;
+
+  private String schema;
+  private CollectingHandler handler;
+  private Compiler compiler;
+
+  @Setup
+  public void setup() {
+    schema = SampleSchemas.of(size);
+    handler = new CollectingHandler();
+    compiler = new Compiler(inMemoryConfiguration(handler), new JsonSchemaReaderFactory());
+  }
+
+  @Benchmark
+  public Map<String, byte[]> compile() {
+    compiler.compile(schema);
+    return handler.classes();
+  }
+
+  static RuntimeConfiguration inMemoryConfiguration(GeneratedClassesHandler handler) {
+    return new RuntimeConfiguration() {
+      @Override
+      public Optional<String> getPackageName() {
+        return Optional.of("es.nachobrito.jsonschema.compiler.benchmarks.generated");
+      }
+
+      @Override
+      public GeneratedClassesHandler getGeneratedClassesHandler() {
+        return handler;
+      }
+    };
+  }
+}
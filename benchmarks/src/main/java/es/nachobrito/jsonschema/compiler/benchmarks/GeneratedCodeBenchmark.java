@@ -0,0 +1,173 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.benchmarks;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import es.nachobrito.jsonschema.compiler.domain.Compiler;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import es.nachobrito.jsonschema.compiler.infrastructure.jsonrefparser.JsonSchemaReaderFactory;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the code generated for {@link SampleSchemas#PRODUCT} with the equivalent {@link
+ * HandWrittenProduct} record.
+ *
+ * <p>Jackson cannot serialize the generated classes through bean introspection, so the generated
+ * round trip uses the streaming {@code fromJson}/{@code writeTo} methods, and is compared with the
+ * Jackson round trip of the hand-written record.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeneratedCodeBenchmark {
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  private Class<?> generatedClass;
+  private Object generated;
+  private Object generatedCopy;
+  private MethodHandle fromJson;
+  private MethodHandle writeTo;
+
+  private HandWrittenProduct handWritten;
+  private HandWrittenProduct handWrittenCopy;
+
+  @Setup
+  public void setup() throws IOException, ReflectiveOperationException {
+    var compiler =
+        new Compiler(
+            new RuntimeConfiguration() {
+              @Override
+              public Optional<String> getPackageName() {
+                return Optional.of("es.nachobrito.jsonschema.compiler.benchmarks.generated");
+              }
+
+              @Override
+              public boolean withJsonDeserializer() {
+                return true;
+              }
+
+              @Override
+              public boolean withJsonSerializer() {
+                return true;
+              }
+            },
+            new JsonSchemaReaderFactory());
+    generatedClass =
+        compiler
+            .compileToClasses(SampleSchemas.PRODUCT, MethodHandles.lookup())
+            .get("es.nachobrito.jsonschema.compiler.benchmarks.generated.Product");
+    generated = mapper.readValue(SampleSchemas.PRODUCT_JSON, generatedClass);
+    generatedCopy = mapper.readValue(SampleSchemas.PRODUCT_JSON, generatedClass);
+
+    var lookup = MethodHandles.publicLookup();
+    fromJson =
+        lookup
+            .findStatic(
+                generatedClass,
+                "fromJson",
+                MethodType.methodType(generatedClass, JsonParser.class))
+            .asType(MethodType.methodType(Object.class, JsonParser.class));
+    writeTo =
+        lookup
+            .findVirtual(
+                generatedClass, "writeTo", MethodType.methodType(void.class, JsonGenerator.class))
+            .asType(MethodType.methodType(void.class, Object.class, JsonGenerator.class));
+
+    handWritten = mapper.readValue(SampleSchemas.PRODUCT_JSON, HandWrittenProduct.class);
+    handWrittenCopy = mapper.readValue(SampleSchemas.PRODUCT_JSON, HandWrittenProduct.class);
+  }
+
+  @Benchmark
+  public boolean generatedEquals() {
+    return generated.equals(generatedCopy);
+  }
+
+  @Benchmark
+  public boolean handWrittenEquals() {
+    return handWritten.equals(handWrittenCopy);
+  }
+
+  @Benchmark
+  public int generatedHashCode() {
+    return generated.hashCode();
+  }
+
+  @Benchmark
+  public int handWrittenHashCode() {
+    return handWritten.hashCode();
+  }
+
+  @Benchmark
+  public String generatedToString() {
+    return generated.toString();
+  }
+
+  @Benchmark
+  public String handWrittenToString() {
+    return handWritten.toString();
+  }
+
+  @Benchmark
+  public Object generatedJacksonRead() throws IOException {
+    return mapper.readValue(SampleSchemas.PRODUCT_JSON, generatedClass);
+  }
+
+  @Benchmark
+  public Object handWrittenJacksonRead() throws IOException {
+    return mapper.readValue(SampleSchemas.PRODUCT_JSON, HandWrittenProduct.class);
+  }
+
+  @Benchmark
+  public String generatedStreamingRoundTrip() throws Throwable {
+    Object product;
+    try (var parser = mapper.createParser(SampleSchemas.PRODUCT_JSON)) {
+      product = (Object) fromJson.invokeExact(parser);
+    }
+    var writer = new StringWriter();
+    try (var generator = mapper.createGenerator(writer)) {
+      writeTo.invokeExact(product, generator);
+    }
+    return writer.toString();
+  }
+
+  @Benchmark
+  public String handWrittenJacksonRoundTrip() throws IOException {
+    var product = mapper.readValue(SampleSchemas.PRODUCT_JSON, HandWrittenProduct.class);
+    return mapper.writeValueAsString(product);
+  }
+}
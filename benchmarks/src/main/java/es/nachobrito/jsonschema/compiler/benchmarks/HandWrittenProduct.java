@@ -0,0 +1,32 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/** The record a developer would write by hand for {@link SampleSchemas#PRODUCT}. */
+public record HandWrittenProduct(
+    @JsonProperty("dimensions") Dimensions dimensions,
+    @JsonProperty("price") Double price,
+    @JsonProperty("productId") Integer productId,
+    @JsonProperty("productName") String productName) {
+
+  public record Dimensions(
+      @JsonProperty("height") Double height,
+      @JsonProperty("length") Double length,
+      @JsonProperty("width") Double width) {}
+}
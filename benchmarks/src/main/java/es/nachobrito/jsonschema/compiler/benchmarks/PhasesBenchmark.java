@@ -0,0 +1,174 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.benchmarks;
+
+import es.nachobrito.jsonschema.compiler.domain.Compiler;
+import es.nachobrito.jsonschema.compiler.domain.Schema;
+import es.nachobrito.jsonschema.compiler.domain.schemareader.AbstractSchemaReader;
+import es.nachobrito.jsonschema.compiler.domain.schemareader.SchemaReader;
+import es.nachobrito.jsonschema.compiler.infrastructure.IndividualFilesHandler;
+import es.nachobrito.jsonschema.compiler.infrastructure.JarFileHandler;
+import es.nachobrito.jsonschema.compiler.infrastructure.jsonrefparser.JsonSchemaReaderFactory;
+import io.zenwave360.jsonrefparser.$RefParser;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of every phase of a compilation, measured in isolation.
+ *
+ * <p>The {@code $RefParser} phases can only run in sequence, so {@code refParserDereference}
+ * includes the parse cost and {@code refParserMergeAllOf} includes both previous phases. The
+ * remaining benchmarks start from the output of the previous phase, computed once in {@link
+ * #setup()}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PhasesBenchmark {
+
+  @Param({"small", "wide", "deep"})
+  public String size;
+
+  private String schema;
+  private Map<String, Object> models;
+  private List<Schema> schemas;
+  private Map<String, byte[]> classes;
+  private Compiler generator;
+  private CollectingHandler generatorHandler;
+  private Path outputFolder;
+
+  @Setup
+  public void setup() throws IOException {
+    schema = SampleSchemas.of(size);
+    models = new $RefParser(schema).parse().dereference().mergeAllOf().getRefs().schema();
+    schemas = new JsonSchemaReaderFactory().makeSchemaReader().read(schema);
+
+    // A compiler whose reader returns the schemas already read, so only bytecode generation is
+    // measured
+    generatorHandler = new CollectingHandler();
+    generator =
+        new Compiler(
+            CompilerBenchmark.inMemoryConfiguration(generatorHandler),
+            () -> new FixedSchemaReader(schemas));
+    generator.compile(schema);
+    classes = Map.copyOf(generatorHandler.classes());
+
+    outputFolder = Files.createTempDirectory("json-schema-compiler-benchmarks");
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    try (var paths = Files.walk(outputFolder)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Benchmark
+  public Object refParserParse() throws IOException {
+    return new $RefParser(schema).parse();
+  }
+
+  @Benchmark
+  public Object refParserDereference() throws IOException {
+    return new $RefParser(schema).parse().dereference();
+  }
+
+  @Benchmark
+  public Map<String, Object> refParserMergeAllOf() throws IOException {
+    return new $RefParser(schema).parse().dereference().mergeAllOf().getRefs().schema();
+  }
+
+  @Benchmark
+  public List<Schema> createSchemas() {
+    return new PreloadedSchemaReader(models).read(schema);
+  }
+
+  @Benchmark
+  public Map<String, byte[]> classFileBuild() {
+    generator.compile(schema);
+    return generatorHandler.classes();
+  }
+
+  @Benchmark
+  public Path writeClassFiles() {
+    var handler = new IndividualFilesHandler(outputFolder.resolve("classes"));
+    handler.beforeCompile();
+    classes.forEach(handler::handleGeneratedClass);
+    handler.afterCompile();
+    return outputFolder;
+  }
+
+  @Benchmark
+  public Path writeJarFile() throws IOException {
+    // Jar files cannot be overwritten, so the previous one is deleted first
+    var jar = outputFolder.resolve("classes.jar");
+    Files.deleteIfExists(jar);
+    var handler = new JarFileHandler(jar);
+    handler.beforeCompile();
+    classes.forEach(handler::handleGeneratedClass);
+    handler.afterCompile();
+    return jar;
+  }
+
+  /** Skips $RefParser, returning models that were already loaded. */
+  private static final class PreloadedSchemaReader extends AbstractSchemaReader {
+    private final Map<String, Object> models;
+
+    private PreloadedSchemaReader(Map<String, Object> models) {
+      this.models = models;
+    }
+
+    @Override
+    protected Map<String, Object> loadModels(String jsonSchema) {
+      return models;
+    }
+  }
+
+  /** Returns the same schemas, whatever it is asked to read. */
+  private record FixedSchemaReader(List<Schema> schemas) implements SchemaReader {
+    @Override
+    public List<Schema> read(URI uri) {
+      return schemas;
+    }
+
+    @Override
+    public List<Schema> read(String jsonSchema) {
+      return schemas;
+    }
+  }
+}
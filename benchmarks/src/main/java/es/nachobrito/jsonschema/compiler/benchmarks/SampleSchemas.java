@@ -0,0 +1,116 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.benchmarks;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The json schemas used by the benchmarks, built in memory so that file system access is not
+ * measured.
+ */
+final class SampleSchemas {
+  private static final int WIDE_PROPERTIES = 200;
+  private static final int DEEP_LEVELS = 20;
+  private static final String[] TYPES = {
+    "{\"type\": \"string\"}",
+    "{\"type\": \"integer\"}",
+    "{\"type\": \"number\"}",
+    "{\"type\": \"boolean\"}",
+    "{\"type\": \"string\", \"format\": \"date-time\"}",
+    "{\"type\": \"array\", \"items\": {\"type\": \"string\"}}"
+  };
+
+  /**
+   * The schema of the product compared with {@link HandWrittenProduct}. It has no array properties
+   * because javac records compare arrays by identity, so their equals would not be equivalent.
+   */
+  static final String PRODUCT =
+      """
+      {
+        "title": "Product",
+        "type": "object",
+        "properties": {
+          "productId": { "type": "integer" },
+          "productName": { "type": "string" },
+          "price": { "type": "number" },
+          "dimensions": {
+            "title": "Dimensions",
+            "type": "object",
+            "properties": {
+              "length": { "type": "number" },
+              "width": { "type": "number" },
+              "height": { "type": "number" }
+            }
+          }
+        }
+      }
+      """;
+
+  static final String PRODUCT_JSON =
+      """
+      {
+        "productId": 12345,
+        "productName": "A product with a reasonably long name",
+        "price": 99.95,
+        "dimensions": { "length": 12.5, "width": 4.25, "height": 30.0 }
+      }
+      """;
+
+  private SampleSchemas() {}
+
+  /**
+   * @param size one of {@code small}, {@code wide} or {@code deep}
+   * @return the json schema for the given size
+   */
+  static String of(String size) {
+    return switch (size) {
+      case "small" -> PRODUCT;
+      case "wide" -> wide();
+      case "deep" -> deep();
+      default -> throw new IllegalArgumentException("Unknown schema size: " + size);
+    };
+  }
+
+  /** An object with many properties of every supported type. */
+  private static String wide() {
+    var properties =
+        IntStream.range(0, WIDE_PROPERTIES)
+            .mapToObj(i -> "\"property%d\": %s".formatted(i, TYPES[i % TYPES.length]))
+            .collect(Collectors.joining(",\n"));
+    return """
+        {"title": "Wide", "type": "object", "properties": {%s}}
+        """
+        .formatted(properties);
+  }
+
+  /** A chain of nested objects, each one with a few scalar properties and the next level. */
+  private static String deep() {
+    var level = "{\"title\": \"Level%d\", \"type\": \"object\", \"properties\": {%s}}";
+    var schema = level.formatted(DEEP_LEVELS, scalars());
+    for (int i = DEEP_LEVELS - 1; i >= 0; i--) {
+      schema = level.formatted(i, scalars() + ", \"next\": " + schema);
+    }
+    return schema;
+  }
+
+  private static String scalars() {
+    return IntStream.range(0, 4)
+        .mapToObj(i -> "\"value%d\": %s".formatted(i, TYPES[i]))
+        .collect(Collectors.joining(", "));
+  }
+}
@@ -17,24 +17,81 @@
 package es.nachobrito.jsonschema.compiler.application.cli;
 
 import es.nachobrito.jsonschema.compiler.domain.Compiler;
-import es.nachobrito.jsonschema.compiler.infrastructure.jsonrefparser.JsonSchemaReader;
+import es.nachobrito.jsonschema.compiler.domain.schemareader.SchemaReaderFactory;
 import es.nachobrito.jsonschema.compiler.infrastructure.jsonrefparser.JsonSchemaReaderFactory;
+import es.nachobrito.jsonschema.compiler.infrastructure.streaming.SchemaStore;
+import es.nachobrito.jsonschema.compiler.infrastructure.streaming.StreamingSchemaReaderFactory;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Optional;
 
 public class App {
   public static void main(String[] args) {
     var params = RuntimeConfiguration.of(args);
+    if (params.isDaemon()) {
+      new CompilerDaemon(params.getDaemonSocket(), new JsonSchemaReaderFactory()).run();
+      return;
+    }
 
-    var compiler = new Compiler(params, new JsonSchemaReaderFactory());
-    var jsonSchemaFile = params.getJsonSchemaFile();
-    var jsonSchemaCode = params.getJsonSchemaCode();
-    if (jsonSchemaFile.isPresent()) {
-      compiler.compile(jsonSchemaFile.get().toUri());
-    } else if (jsonSchemaCode.isPresent()) {
-      compiler.compile(jsonSchemaCode.get());
+    var exitCode =
+        forwardToDaemon(args, params)
+            .orElseGet(
+                () -> compile(params, new JsonSchemaReaderFactory(), System.out, System.err));
+    if (exitCode != 0) {
+      System.exit(exitCode);
+    }
+  }
+
+  private static Optional<Integer> forwardToDaemon(String[] args, RuntimeConfiguration params) {
+    if (!params.isDaemonClientEnabled()) {
+      return Optional.empty();
+    }
+    // The daemon can't read our standard input, so it is sent along with the arguments
+    var input =
+        params.getJsonSchemaFile().isPresent() ? Optional.<String>empty() : params.getJsonSchemaCode();
+    return new DaemonClient(params.getDaemonSocket()).forward(args, input, System.out, System.err);
+  }
+
+  /**
+   * Compiles the schema described by the runtime configuration
+   *
+   * @param params the runtime configuration
+   * @param schemaReaderFactory the schema reader factory, unless the streaming reader, reference
+   *     preservation or a schema store is enabled
+   * @param out the standard output
+   * @param err the error output
+   * @return the process exit code
+   */
+  static int compile(
+      RuntimeConfiguration params,
+      SchemaReaderFactory schemaReaderFactory,
+      PrintStream out,
+      PrintStream err) {
+    var schemaStore = params.getSchemaStore().map(it -> new SchemaStore(it, params.isOffline()));
+    var readerFactory =
+        params.isPreservingReferences() || params.isStreamingReader() || schemaStore.isPresent()
+            ? new StreamingSchemaReaderFactory(params.isPreservingReferences(), schemaStore)
+            : schemaReaderFactory;
+    var compiler = new Compiler(params, readerFactory);
+    var jsonSchemaFiles = params.getJsonSchemaFiles();
+    if (!jsonSchemaFiles.isEmpty()) {
+      compiler.compile(jsonSchemaFiles.stream().map(Path::toUri).toList());
     } else {
-      System.err.println(
-          "Nothing to compile. Provide a path to a json schema file as an argument, or the JSON code through stdin");
-      System.exit(1);
+      var jsonSchemaCode = params.getJsonSchemaCode();
+      if (jsonSchemaCode.isEmpty()) {
+        err.println(
+            "Nothing to compile. Provide json schema files, folders or glob patterns as arguments, or the JSON code through stdin");
+        return 1;
+      }
+      compiler.compile(jsonSchemaCode.get());
+    }
+    if (params.getCacheFolder().isPresent()) {
+      var statistics = compiler.getCacheStatistics();
+      out.printf("Class cache: %d hits, %d misses%n", statistics.hits(), statistics.misses());
     }
+    compiler
+        .getMergedClasses()
+        .forEach((merged, canonical) -> out.printf("Merged %s into %s%n", merged, canonical));
+    return 0;
   }
 }
@@ -0,0 +1,144 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.application.cli;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_EXECUTE;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_READ;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_WRITE;
+
+import es.nachobrito.jsonschema.compiler.domain.CompilerException;
+import es.nachobrito.jsonschema.compiler.domain.schemareader.SchemaReaderFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.EnumSet;
+import java.util.concurrent.Executors;
+
+/**
+ * Long-running process that compiles schemas on behalf of {@link DaemonClient}s, so that the cost
+ * of starting the JVM, loading the compiler classes and warming up the JIT is paid only once.
+ *
+ * <p>The daemon listens to a unix domain socket, only accessible by its owner when the file system
+ * supports POSIX permissions, and serves every connection in its own virtual thread. The socket is
+ * created in a private folder and moved to its path once restricted, so other users never get a
+ * chance to connect. The {@link SchemaReaderFactory} is shared by all the compilations.
+ */
+public class CompilerDaemon {
+  private final Path socketPath;
+  private final SchemaReaderFactory schemaReaderFactory;
+
+  public CompilerDaemon(Path socketPath, SchemaReaderFactory schemaReaderFactory) {
+    this.socketPath = socketPath;
+    this.schemaReaderFactory = schemaReaderFactory;
+  }
+
+  /** Accepts compilation requests until the process is terminated. */
+  public void run() {
+    try (var server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var folder = socketPath.toAbsolutePath().getParent();
+      Files.createDirectories(folder);
+      Files.deleteIfExists(socketPath);
+      var privateFolder = createPrivateFolder(folder);
+      try {
+        var privateSocket = privateFolder.resolve(socketPath.getFileName());
+        server.bind(UnixDomainSocketAddress.of(privateSocket));
+        restrictPermissions(privateSocket);
+        Files.move(privateSocket, socketPath, ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(privateFolder);
+      }
+      Runtime.getRuntime().addShutdownHook(new Thread(this::deleteSocket));
+      System.out.printf("json-schema-compiler daemon listening on %s%n", socketPath);
+      while (!Thread.currentThread().isInterrupted()) {
+        var channel = server.accept();
+        executor.submit(() -> serve(channel));
+      }
+    } catch (IOException e) {
+      throw new CompilerException(e);
+    }
+  }
+
+  private void serve(SocketChannel channel) {
+    try (channel;
+        var in = new DataInputStream(Channels.newInputStream(channel));
+        var out = new DataOutputStream(Channels.newOutputStream(channel))) {
+      var request = DaemonProtocol.readRequest(in);
+      DaemonProtocol.writeResponse(out, compile(request));
+    } catch (IOException e) {
+      System.err.printf("Error serving daemon request: %s%n", e.getMessage());
+    }
+  }
+
+  private DaemonProtocol.Response compile(DaemonProtocol.Request request) {
+    var output = new ByteArrayOutputStream();
+    var error = new ByteArrayOutputStream();
+    int exitCode;
+    try (var outStream = new PrintStream(output, true, StandardCharsets.UTF_8);
+        var errStream = new PrintStream(error, true, StandardCharsets.UTF_8)) {
+      try {
+        var params =
+            RuntimeConfiguration.of(
+                request.arguments(), request.workingDirectory(), request.input());
+        exitCode = App.compile(params, schemaReaderFactory, outStream, errStream);
+      } catch (RuntimeException e) {
+        errStream.printf("Compilation failed: %s%n", e.getMessage());
+        exitCode = 1;
+      }
+    }
+    return new DaemonProtocol.Response(
+        exitCode, output.toString(StandardCharsets.UTF_8), error.toString(StandardCharsets.UTF_8));
+  }
+
+  private static Path createPrivateFolder(Path parent) throws IOException {
+    if (!parent.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+      return Files.createTempDirectory(parent, ".jsc");
+    }
+    return Files.createTempDirectory(
+        parent,
+        ".jsc",
+        PosixFilePermissions.asFileAttribute(EnumSet.of(OWNER_READ, OWNER_WRITE, OWNER_EXECUTE)));
+  }
+
+  private static void restrictPermissions(Path socket) throws IOException {
+    try {
+      Files.setPosixFilePermissions(socket, EnumSet.of(OWNER_READ, OWNER_WRITE));
+    } catch (UnsupportedOperationException e) {
+      // Not a POSIX file system, rely on the folder permissions
+    }
+  }
+
+  private void deleteSocket() {
+    try {
+      Files.deleteIfExists(socketPath);
+    } catch (IOException e) {
+      // Nothing else to do, the next daemon will replace the stale socket
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.application.cli;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/** Forwards a compilation to a running {@link CompilerDaemon}. */
+class DaemonClient {
+  private final Path socketPath;
+
+  DaemonClient(Path socketPath) {
+    this.socketPath = socketPath;
+  }
+
+  /**
+   * Sends the request to the daemon and prints its output.
+   *
+   * @param arguments the command line arguments
+   * @param input the json schema received through standard input, if any
+   * @param out where the daemon's standard output is printed
+   * @param err where the daemon's error output is printed
+   * @return the exit code of the compilation, or an empty Optional if no daemon is listening to the
+   *     socket
+   */
+  Optional<Integer> forward(
+      String[] arguments, Optional<String> input, PrintStream out, PrintStream err) {
+    if (!Files.exists(socketPath)) {
+      return Optional.empty();
+    }
+    try (var channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+      try {
+        channel.connect(UnixDomainSocketAddress.of(socketPath));
+      } catch (IOException e) {
+        // Stale socket, no daemon is listening: compile in this process instead
+        return Optional.empty();
+      }
+      var request =
+          new DaemonProtocol.Request(Path.of("").toAbsolutePath(), arguments, input);
+      DaemonProtocol.writeRequest(
+          new DataOutputStream(Channels.newOutputStream(channel)), request);
+      var response =
+          DaemonProtocol.readResponse(new DataInputStream(Channels.newInputStream(channel)));
+      out.print(response.output());
+      err.print(response.error());
+      return Optional.of(response.exitCode());
+    } catch (IOException e) {
+      err.printf("Lost connection with the compiler daemon: %s%n", e.getMessage());
+      return Optional.of(1);
+    }
+  }
+}
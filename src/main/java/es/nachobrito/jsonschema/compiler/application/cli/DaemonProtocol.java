@@ -0,0 +1,94 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.application.cli;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Messages exchanged between the {@link DaemonClient} and the {@link CompilerDaemon}. Each
+ * connection carries exactly one request and one response:
+ *
+ * <pre>
+ * request  := version:int workingDirectory:string argc:int (argument:string)* hasInput:boolean [input:string]
+ * response := exitCode:int output:string error:string
+ * string   := length:int utf8-bytes
+ * </pre>
+ */
+final class DaemonProtocol {
+  static final int VERSION = 1;
+
+  record Request(Path workingDirectory, String[] arguments, Optional<String> input) {}
+
+  record Response(int exitCode, String output, String error) {}
+
+  private DaemonProtocol() {}
+
+  static void writeRequest(DataOutputStream out, Request request) throws IOException {
+    out.writeInt(VERSION);
+    writeString(out, request.workingDirectory().toString());
+    out.writeInt(request.arguments().length);
+    for (String argument : request.arguments()) {
+      writeString(out, argument);
+    }
+    out.writeBoolean(request.input().isPresent());
+    if (request.input().isPresent()) {
+      writeString(out, request.input().get());
+    }
+    out.flush();
+  }
+
+  static Request readRequest(DataInputStream in) throws IOException {
+    var version = in.readInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported daemon protocol version: %d".formatted(version));
+    }
+    var workingDirectory = Path.of(readString(in));
+    var arguments = new String[in.readInt()];
+    for (int i = 0; i < arguments.length; i++) {
+      arguments[i] = readString(in);
+    }
+    var input = in.readBoolean() ? Optional.of(readString(in)) : Optional.<String>empty();
+    return new Request(workingDirectory, arguments, input);
+  }
+
+  static void writeResponse(DataOutputStream out, Response response) throws IOException {
+    out.writeInt(response.exitCode());
+    writeString(out, response.output());
+    writeString(out, response.error());
+    out.flush();
+  }
+
+  static Response readResponse(DataInputStream in) throws IOException {
+    return new Response(in.readInt(), readString(in), readString(in));
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    var bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    var bytes = in.readNBytes(in.readInt());
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.application.cli;
+
+import es.nachobrito.jsonschema.compiler.domain.CompilerException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/** Expands the input arguments (files, directories and glob patterns) into json schema files. */
+class JsonSchemaFiles {
+  private static final String GLOB_CHARACTERS = "*?[{";
+
+  private JsonSchemaFiles() {}
+
+  /**
+   * @param inputs the input arguments
+   * @param resolver resolves relative paths
+   * @return the json schema files, in the order they were given and without duplicates
+   */
+  static List<Path> expand(List<String> inputs, UnaryOperator<Path> resolver) {
+    var files = new LinkedHashSet<Path>();
+    for (String input : inputs) {
+      var expanded = expand(input, resolver);
+      if (expanded.isEmpty()) {
+        throw new CompilerException("No json schema files found for '%s'".formatted(input));
+      }
+      expanded.forEach(path -> files.add(path.toAbsolutePath().normalize()));
+    }
+    return List.copyOf(files);
+  }
+
+  private static List<Path> expand(String input, UnaryOperator<Path> resolver) {
+    var firstGlobCharacter = indexOfGlobCharacter(input);
+    if (firstGlobCharacter < 0) {
+      var path = resolver.apply(Path.of(input));
+      return Files.isDirectory(path) ? findJsonFiles(path) : List.of(path);
+    }
+
+    var separator =
+        Math.max(
+            input.lastIndexOf('/', firstGlobCharacter),
+            input.lastIndexOf(File.separatorChar, firstGlobCharacter));
+    var baseFolder =
+        switch (separator) {
+          case -1 -> resolver.apply(Path.of("."));
+          case 0 -> Path.of(input.substring(0, 1));
+          default -> resolver.apply(Path.of(input.substring(0, separator)));
+        };
+    var matcher = FileSystems.getDefault().getPathMatcher("glob:" + input.substring(separator + 1));
+    try (Stream<Path> paths = Files.walk(baseFolder)) {
+      return paths
+          .filter(Files::isRegularFile)
+          .filter(path -> matcher.matches(baseFolder.relativize(path)))
+          .sorted()
+          .toList();
+    } catch (IOException e) {
+      throw new CompilerException(e);
+    }
+  }
+
+  private static List<Path> findJsonFiles(Path folder) {
+    try (Stream<Path> paths = Files.walk(folder)) {
+      return paths
+          .filter(Files::isRegularFile)
+          .filter(path -> path.getFileName().toString().endsWith(".json"))
+          .sorted()
+          .toList();
+    } catch (IOException e) {
+      throw new CompilerException(e);
+    }
+  }
+
+  private static int indexOfGlobCharacter(String input) {
+    for (int i = 0; i < input.length(); i++) {
+      if (GLOB_CHARACTERS.indexOf(input.charAt(i)) >= 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -16,14 +16,19 @@
 
 package es.nachobrito.jsonschema.compiler.application.cli;
 
+import es.nachobrito.jsonschema.compiler.infrastructure.FileSystemClassCache;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.zip.Deflater;
 
 /**
  * Parses allowed input parameters and implements {@link
@@ -31,26 +36,120 @@ import java.util.stream.Collectors;
  */
 public class RuntimeConfiguration
     implements es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration {
-  private static final String JSON_SCHEMA_FILE = "JSON_SCHEMA_FILE";
   private static final String PACKAGE = "PACKAGE";
   private static final String OUTPUT = "OUTPUT";
+  private static final String THREADS = "THREADS";
+  private static final String CACHE = "CACHE";
+  private static final String CACHE_FOLDER = "CACHE_FOLDER";
+  private static final String DAEMON = "DAEMON";
+  private static final String NO_DAEMON = "NO_DAEMON";
+  private static final String DAEMON_SOCKET = "DAEMON_SOCKET";
+  private static final String JAR_COMPRESSION = "JAR_COMPRESSION";
+  private static final String JSON_DESERIALIZER = "JSON_DESERIALIZER";
+  private static final String JSON_SERIALIZER = "JSON_SERIALIZER";
+  private static final String VALIDATION = "VALIDATION";
+  private static final String BINARY_CODEC = "BINARY_CODEC";
+  private static final String PRIMITIVES = "PRIMITIVES";
+  private static final String PRIMITIVE_ARRAYS = "PRIMITIVE_ARRAYS";
+  private static final String INTEGER_SIZING = "INTEGER_SIZING";
+  private static final String PRESENCE_BITMAPS = "PRESENCE_BITMAPS";
+  private static final String OFF_HEAP_VIEWS = "OFF_HEAP_VIEWS";
+  private static final String BATCHES = "BATCHES";
+  private static final String BUILDERS = "BUILDERS";
+  private static final String ENUMS = "ENUMS";
+  private static final String DEDUPLICATE = "DEDUPLICATE";
+  private static final String JAVAC_RECORDS = "JAVAC_RECORDS";
+  private static final String STREAMING_READER = "STREAMING_READER";
+  private static final String PRESERVE_REFS = "PRESERVE_REFS";
+  private static final String SCHEMA_STORE = "SCHEMA_STORE";
+  private static final String OFFLINE = "OFFLINE";
 
   private static final String[] PARAM_PACKAGE = new String[] {"-p", "--package-name"};
   private static final String[] PARAM_OUTPUT = new String[] {"-o", "--output"};
+  private static final String[] PARAM_THREADS = new String[] {"-t", "--threads"};
+  private static final String[] PARAM_CACHE_FOLDER = new String[] {"--cache-folder"};
+  private static final String[] PARAM_DAEMON_SOCKET = new String[] {"--daemon-socket"};
+  private static final String[] PARAM_JAR_COMPRESSION = new String[] {"--jar-compression"};
+  private static final String[] PARAM_SCHEMA_STORE = new String[] {"--schema-store"};
+
+  // Flags are parameters that don't take a value
+  private static final String[] FLAG_CACHE = new String[] {"-c", "--cache"};
+  private static final String[] FLAG_DAEMON = new String[] {"--daemon"};
+  private static final String[] FLAG_NO_DAEMON = new String[] {"--no-daemon"};
+  private static final String[] FLAG_JSON_DESERIALIZER = new String[] {"--json-deserializer"};
+  private static final String[] FLAG_JSON_SERIALIZER = new String[] {"--json-serializer"};
+  private static final String[] FLAG_VALIDATION = new String[] {"--validation"};
+  private static final String[] FLAG_BINARY_CODEC = new String[] {"--binary-codec"};
+  private static final String[] FLAG_PRIMITIVES = new String[] {"--primitives"};
+  private static final String[] FLAG_PRIMITIVE_ARRAYS = new String[] {"--primitive-arrays"};
+  private static final String[] FLAG_INTEGER_SIZING = new String[] {"--integer-sizing"};
+  private static final String[] FLAG_PRESENCE_BITMAPS = new String[] {"--presence-bitmaps"};
+  private static final String[] FLAG_OFF_HEAP_VIEWS = new String[] {"--off-heap-views"};
+  private static final String[] FLAG_BATCHES = new String[] {"--batches"};
+  private static final String[] FLAG_BUILDERS = new String[] {"--builders"};
+  private static final String[] FLAG_ENUMS = new String[] {"--enums"};
+  private static final String[] FLAG_DEDUPLICATE = new String[] {"--deduplicate"};
+  private static final String[] FLAG_JAVAC_RECORDS = new String[] {"--javac-records"};
+  private static final String[] FLAG_STREAMING_READER = new String[] {"--streaming-reader"};
+  private static final String[] FLAG_PRESERVE_REFS = new String[] {"--preserve-refs"};
+  private static final String[] FLAG_OFFLINE = new String[] {"--offline"};
 
   private static final Map<String, String> PARAMS_TO_KEYS = buildParamsToKeys();
+  private static final Map<String, String> FLAGS_TO_KEYS = buildFlagsToKeys();
 
   private static Map<String, String> buildParamsToKeys() {
-    var map = new HashMap<String, String>(PARAM_OUTPUT.length + PARAM_PACKAGE.length);
+    var map = new HashMap<String, String>();
     for (String k : PARAM_PACKAGE) map.put(k, PACKAGE);
     for (String k : PARAM_OUTPUT) map.put(k, OUTPUT);
+    for (String k : PARAM_THREADS) map.put(k, THREADS);
+    for (String k : PARAM_CACHE_FOLDER) map.put(k, CACHE_FOLDER);
+    for (String k : PARAM_DAEMON_SOCKET) map.put(k, DAEMON_SOCKET);
+    for (String k : PARAM_JAR_COMPRESSION) map.put(k, JAR_COMPRESSION);
+    for (String k : PARAM_SCHEMA_STORE) map.put(k, SCHEMA_STORE);
+    return map;
+  }
+
+  private static Map<String, String> buildFlagsToKeys() {
+    var map = new HashMap<String, String>();
+    for (String k : FLAG_CACHE) map.put(k, CACHE);
+    for (String k : FLAG_DAEMON) map.put(k, DAEMON);
+    for (String k : FLAG_NO_DAEMON) map.put(k, NO_DAEMON);
+    for (String k : FLAG_JSON_DESERIALIZER) map.put(k, JSON_DESERIALIZER);
+    for (String k : FLAG_JSON_SERIALIZER) map.put(k, JSON_SERIALIZER);
+    for (String k : FLAG_VALIDATION) map.put(k, VALIDATION);
+    for (String k : FLAG_BINARY_CODEC) map.put(k, BINARY_CODEC);
+    for (String k : FLAG_PRIMITIVES) map.put(k, PRIMITIVES);
+    for (String k : FLAG_PRIMITIVE_ARRAYS) map.put(k, PRIMITIVE_ARRAYS);
+    for (String k : FLAG_INTEGER_SIZING) map.put(k, INTEGER_SIZING);
+    for (String k : FLAG_PRESENCE_BITMAPS) map.put(k, PRESENCE_BITMAPS);
+    for (String k : FLAG_OFF_HEAP_VIEWS) map.put(k, OFF_HEAP_VIEWS);
+    for (String k : FLAG_BATCHES) map.put(k, BATCHES);
+    for (String k : FLAG_BUILDERS) map.put(k, BUILDERS);
+    for (String k : FLAG_ENUMS) map.put(k, ENUMS);
+    for (String k : FLAG_DEDUPLICATE) map.put(k, DEDUPLICATE);
+    for (String k : FLAG_JAVAC_RECORDS) map.put(k, JAVAC_RECORDS);
+    for (String k : FLAG_STREAMING_READER) map.put(k, STREAMING_READER);
+    for (String k : FLAG_PRESERVE_REFS) map.put(k, PRESERVE_REFS);
+    for (String k : FLAG_OFFLINE) map.put(k, OFFLINE);
     return map;
   }
 
   private final Map<String, String> arguments;
+  private final List<String> inputs;
+  private final Optional<Path> workingDirectory;
+  private final Supplier<Optional<String>> jsonSchemaCodeReader;
+  private Optional<String> jsonSchemaCode = Optional.empty();
+  private boolean jsonSchemaCodeRead;
 
-  private RuntimeConfiguration(Map<String, String> arguments) {
+  private RuntimeConfiguration(
+      Map<String, String> arguments,
+      List<String> inputs,
+      Optional<Path> workingDirectory,
+      Supplier<Optional<String>> jsonSchemaCodeReader) {
     this.arguments = arguments;
+    this.inputs = inputs;
+    this.workingDirectory = workingDirectory;
+    this.jsonSchemaCodeReader = jsonSchemaCodeReader;
   }
 
   @Override
@@ -60,36 +159,268 @@ public class RuntimeConfiguration
 
   @Override
   public Path getOutputPath() {
-    return Path.of(arguments.getOrDefault(OUTPUT, "."));
+    return resolve(Path.of(arguments.getOrDefault(OUTPUT, ".")));
+  }
+
+  @Override
+  public int getThreads() {
+    var value = arguments.get(THREADS);
+    if (value == null) {
+      return 1;
+    }
+    try {
+      var threads = Integer.parseInt(value);
+      if (threads < 1) {
+        throw new IllegalArgumentException(
+            "The number of threads must be a positive integer: '%s'".formatted(value));
+      }
+      return threads;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(
+          "The number of threads must be a positive integer: '%s'".formatted(value), e);
+    }
+  }
+
+  @Override
+  public Optional<Path> getCacheFolder() {
+    if (arguments.containsKey(CACHE_FOLDER)) {
+      return Optional.of(resolve(Path.of(arguments.get(CACHE_FOLDER))));
+    }
+    if (arguments.containsKey(CACHE)) {
+      return Optional.of(FileSystemClassCache.defaultFolder());
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public boolean withPrimitiveTypes() {
+    return arguments.containsKey(PRIMITIVES);
+  }
+
+  @Override
+  public boolean withPrimitiveArrays() {
+    return arguments.containsKey(PRIMITIVE_ARRAYS);
+  }
+
+  @Override
+  public boolean withIntegerSizing() {
+    return arguments.containsKey(INTEGER_SIZING);
+  }
+
+  @Override
+  public boolean withPresenceBitmaps() {
+    return arguments.containsKey(PRESENCE_BITMAPS);
+  }
+
+  @Override
+  public boolean withOffHeapViews() {
+    return arguments.containsKey(OFF_HEAP_VIEWS);
+  }
+
+  @Override
+  public boolean withBatches() {
+    return arguments.containsKey(BATCHES);
+  }
+
+  @Override
+  public boolean withBuilders() {
+    return arguments.containsKey(BUILDERS);
+  }
+
+  @Override
+  public boolean withEnums() {
+    return arguments.containsKey(ENUMS);
+  }
+
+  @Override
+  public boolean withStructuralDeduplication() {
+    return arguments.containsKey(DEDUPLICATE);
+  }
+
+  @Override
+  public boolean withJavacRecords() {
+    return arguments.containsKey(JAVAC_RECORDS);
+  }
+
+  @Override
+  public boolean withJsonDeserializer() {
+    return arguments.containsKey(JSON_DESERIALIZER);
+  }
+
+  @Override
+  public boolean withJsonSerializer() {
+    return arguments.containsKey(JSON_SERIALIZER);
+  }
+
+  @Override
+  public boolean withValidation() {
+    return arguments.containsKey(VALIDATION);
   }
 
+  @Override
+  public boolean withBinaryCodec() {
+    return arguments.containsKey(BINARY_CODEC);
+  }
+
+  /**
+   * The jar compression level can be a number from 0 to 9, or {@code stored} (same as 0) to write
+   * the classes without compression.
+   */
+  @Override
+  public int getJarCompressionLevel() {
+    var value = arguments.get(JAR_COMPRESSION);
+    if (value == null) {
+      return Deflater.DEFAULT_COMPRESSION;
+    }
+    if ("stored".equalsIgnoreCase(value)) {
+      return Deflater.NO_COMPRESSION;
+    }
+    try {
+      var level = Integer.parseInt(value);
+      if (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+        throw new IllegalArgumentException(
+            "The jar compression level must be 'stored' or a number from 0 to 9: '%s'"
+                .formatted(value));
+      }
+      return level;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(
+          "The jar compression level must be 'stored' or a number from 0 to 9: '%s'"
+              .formatted(value),
+          e);
+    }
+  }
+
+  /**
+   * @return true if this process has to run as a compilation daemon, instead of compiling a schema
+   */
+  public boolean isDaemon() {
+    return arguments.containsKey(DAEMON);
+  }
+
+  /**
+   * @return true if the compilation can be forwarded to a running daemon
+   */
+  public boolean isDaemonClientEnabled() {
+    return !arguments.containsKey(NO_DAEMON);
+  }
+
+  /**
+   * @return true if schemas have to be read with the streaming reader, that needs less memory for
+   *     large documents
+   */
+  public boolean isStreamingReader() {
+    return arguments.containsKey(STREAMING_READER);
+  }
+
+  /**
+   * @return true if references have to be kept, compiling each referenced definition once into a
+   *     shared class. Implies the streaming reader.
+   */
+  public boolean isPreservingReferences() {
+    return arguments.containsKey(PRESERVE_REFS);
+  }
+
+  /**
+   * @return the folder of the store that documents referenced by the schemas are read from.
+   *     Implies the streaming reader.
+   */
+  public Optional<Path> getSchemaStore() {
+    return Optional.ofNullable(arguments.get(SCHEMA_STORE)).map(it -> resolve(Path.of(it)));
+  }
+
+  /**
+   * @return true if documents that are not in the schema store have to be rejected instead of
+   *     fetched
+   */
+  public boolean isOffline() {
+    return arguments.containsKey(OFFLINE);
+  }
+
+  /**
+   * @return the unix domain socket the daemon listens to
+   */
+  public Path getDaemonSocket() {
+    return Optional.ofNullable(arguments.get(DAEMON_SOCKET))
+        .map(Path::of)
+        .map(this::resolve)
+        .orElseGet(() -> FileSystemClassCache.defaultFolder().resolve("daemon.sock"));
+  }
+
+  /**
+   * The standard input is read only the first time this method is invoked, subsequent calls return
+   * the same content.
+   */
   @Override
   public Optional<String> getJsonSchemaCode() {
+    if (!jsonSchemaCodeRead) {
+      jsonSchemaCode = jsonSchemaCodeReader.get();
+      jsonSchemaCodeRead = true;
+    }
+    return jsonSchemaCode;
+  }
+
+  private static Optional<String> readInput() {
     try {
-      return readInput();
+      if (System.in.available() == 0) {
+        return Optional.empty();
+      }
+      BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+      var content = reader.lines().collect(Collectors.joining("\n"));
+      return Optional.of(content);
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
 
-  private Optional<String> readInput() throws IOException {
-    if (System.in.available() == 0) {
-      return Optional.empty();
-    }
-    BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
-    var content = reader.lines().collect(Collectors.joining("\n"));
-    return Optional.of(content);
+  @Override
+  public Optional<Path> getJsonSchemaFile() {
+    return inputs.stream().findFirst().map(Path::of).map(this::resolve);
   }
 
+  /**
+   * Every argument that is not a parameter is an input: a json schema file, a directory (all the
+   * {@code .json} files in it, recursively, are compiled) or a glob pattern like {@code
+   * schemas/*.json}.
+   */
   @Override
-  public Optional<Path> getJsonSchemaFile() {
-    return Optional.ofNullable(arguments.get(JSON_SCHEMA_FILE)).map(Path::of);
+  public List<Path> getJsonSchemaFiles() {
+    return JsonSchemaFiles.expand(inputs, this::resolve);
+  }
+
+  private Path resolve(Path path) {
+    return workingDirectory.map(it -> it.resolve(path)).orElse(path);
   }
 
   public static RuntimeConfiguration of(String[] args) {
+    return parse(args, Optional.empty(), RuntimeConfiguration::readInput);
+  }
+
+  /**
+   * Creates the configuration for a compilation requested by a remote client.
+   *
+   * @param args the arguments received by the client
+   * @param workingDirectory the client's working directory, used to resolve relative paths
+   * @param jsonSchemaCode the client's standard input, used instead of this process' one
+   * @return the runtime configuration
+   */
+  static RuntimeConfiguration of(
+      String[] args, Path workingDirectory, Optional<String> jsonSchemaCode) {
+    return parse(args, Optional.of(workingDirectory), () -> jsonSchemaCode);
+  }
+
+  private static RuntimeConfiguration parse(
+      String[] args,
+      Optional<Path> workingDirectory,
+      Supplier<Optional<String>> jsonSchemaCodeReader) {
     var arguments = new HashMap<String, String>();
+    var inputs = new ArrayList<String>();
     String k = null;
     for (String argument : args) {
+      if (FLAGS_TO_KEYS.containsKey(argument)) {
+        arguments.put(FLAGS_TO_KEYS.get(argument), "true");
+        continue;
+      }
       if (argument.charAt(0) == '-') {
         if (k != null) {
           arguments.put(k, "true");
@@ -101,10 +432,10 @@ public class RuntimeConfiguration
         saveParameter(arguments, k, argument);
         k = null;
       } else {
-        arguments.putIfAbsent(JSON_SCHEMA_FILE, argument);
+        inputs.add(argument);
       }
     }
-    return new RuntimeConfiguration(arguments);
+    return new RuntimeConfiguration(arguments, inputs, workingDirectory, jsonSchemaCodeReader);
   }
 
   private static void saveParameter(
@@ -19,27 +19,76 @@ package es.nachobrito.jsonschema.compiler.domain;
 import static java.lang.classfile.ClassFile.ACC_FINAL;
 import static java.lang.classfile.ClassFile.ACC_PUBLIC;
 import static java.lang.constant.ClassDesc.of;
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toMap;
 
+import es.nachobrito.jsonschema.compiler.domain.cache.CacheStatistics;
+import es.nachobrito.jsonschema.compiler.domain.cache.ClassCache;
+import es.nachobrito.jsonschema.compiler.domain.cache.SchemaFingerprint;
 import es.nachobrito.jsonschema.compiler.domain.generator.ClassGenerationParams;
+import es.nachobrito.jsonschema.compiler.domain.generator.CompanionGenerator;
 import es.nachobrito.jsonschema.compiler.domain.generator.ModelGenerator;
 import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
 import es.nachobrito.jsonschema.compiler.domain.schemareader.SchemaReaderFactory;
+import es.nachobrito.jsonschema.compiler.infrastructure.InMemoryClassesHandler;
 import java.lang.classfile.ClassBuilder;
 import java.lang.classfile.ClassFile;
+import java.lang.classfile.attribute.NestHostAttribute;
+import java.lang.classfile.attribute.NestMembersAttribute;
+import java.lang.constant.ClassDesc;
+import java.lang.invoke.MethodHandles;
 import java.net.URI;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class Compiler {
   private final RuntimeConfiguration runtimeConfiguration;
   private final SchemaReaderFactory schemaReaderFactory;
   private final GeneratedClassesHandler generatedClassesHandler;
+  private final Optional<ClassCache> classCache;
+  private final TypeMapper typeMapper;
+  private final SchemaDeduplicator schemaDeduplicator = new SchemaDeduplicator();
+  private final List<CompanionGenerator> companionGenerators;
+  private final AtomicInteger cacheHits = new AtomicInteger();
+  private final AtomicInteger cacheMisses = new AtomicInteger();
 
   public Compiler(
       RuntimeConfiguration runtimeConfiguration, SchemaReaderFactory schemaReaderFactory) {
     this.runtimeConfiguration = runtimeConfiguration;
     this.schemaReaderFactory = schemaReaderFactory;
     this.generatedClassesHandler = runtimeConfiguration.getGeneratedClassesHandler();
+    this.classCache = runtimeConfiguration.getClassCache();
+    this.typeMapper = new TypeMapper(runtimeConfiguration);
+    this.companionGenerators = CompanionGenerator.of(runtimeConfiguration);
+  }
+
+  /**
+   * @return the number of classes served from the cache, and generated from scratch, during the
+   *     last compilation. Both values are 0 when caching is disabled.
+   */
+  public CacheStatistics getCacheStatistics() {
+    return new CacheStatistics(cacheHits.get(), cacheMisses.get());
+  }
+
+  /**
+   * @return the classes that were not generated during the last compilation because they are
+   *     structurally identical to another one, and the class generated instead of each of them.
+   *     Always empty unless {@link RuntimeConfiguration#withStructuralDeduplication()} is enabled.
+   */
+  public Map<String, String> getMergedClasses() {
+    return schemaDeduplicator.mergedClasses();
   }
 
   /**
@@ -48,7 +97,38 @@ public class Compiler {
    * @param schemaURI the uri of the file to compile
    */
   public void compile(URI schemaURI) {
-    compileAll(schemaReaderFactory.makeSchemaReader().read(schemaURI));
+    compileAll(schemaReaderFactory.makeSchemaReader().read(schemaURI), generatedClassesHandler);
+  }
+
+  /**
+   * Compiles several schema files as a single unit, producing one output. Classes generated from
+   * more than one file (for example, a definition shared by several schemas) are compiled only
+   * once, as long as all of them are identical.
+   *
+   * <p>Every file is read with the same schema reader, which keeps the documents it loads for the
+   * whole batch: the default reader parses and dereferences each file once, and the streaming
+   * reader with a schema store also reads each referenced document once.
+   *
+   * @param schemaURIs the uris of the files to compile
+   * @throws CompilerException if two files generate different classes with the same name
+   */
+  public void compile(List<URI> schemaURIs) {
+    var schemaReader = schemaReaderFactory.makeSchemaReader();
+    var schemas = new LinkedHashMap<String, Schema>();
+    var sources = new HashMap<String, URI>();
+    for (URI schemaURI : schemaURIs) {
+      for (Schema schema : schemaReader.read(schemaURI)) {
+        var existing = schemas.putIfAbsent(schema.className(), schema);
+        if (existing == null) {
+          sources.put(schema.className(), schemaURI);
+        } else if (!existing.equals(schema)) {
+          throw new CompilerException(
+              "Class %s is generated with different definitions from %s and %s"
+                  .formatted(schema.className(), sources.get(schema.className()), schemaURI));
+        }
+      }
+    }
+    compileAll(List.copyOf(schemas.values()), generatedClassesHandler);
   }
 
   /**
@@ -57,36 +137,246 @@ public class Compiler {
    * @param jsonSchema the schema definition
    */
   public void compile(String jsonSchema) {
-    compileAll(schemaReaderFactory.makeSchemaReader().read(jsonSchema));
+    compileAll(schemaReaderFactory.makeSchemaReader().read(jsonSchema), generatedClassesHandler);
   }
 
-  private void compileAll(List<Schema> schemas) {
-    generatedClassesHandler.beforeCompile();
-    schemas.forEach(this::compileSchema);
-    generatedClassesHandler.afterCompile();
+  /**
+   * Compiles the schema defined in a String with the JSON, and defines the generated classes in
+   * the running JVM without writing them anywhere. The configured output is ignored.
+   *
+   * <p>If the generated classes belong to the same package as the lookup class (see {@link
+   * RuntimeConfiguration#getPackageName()}) and the lookup has package access, they are defined
+   * with {@link MethodHandles.Lookup#defineClass(byte[])}. Otherwise they are defined by a new
+   * class loader, child of the lookup class' one.
+   *
+   * @param jsonSchema the schema definition
+   * @param lookup the lookup used to define the generated classes
+   * @return the generated classes, by fully qualified name
+   */
+  public Map<String, Class<?>> compileToClasses(String jsonSchema, MethodHandles.Lookup lookup) {
+    var handler = new InMemoryClassesHandler();
+    compileAll(schemaReaderFactory.makeSchemaReader().read(jsonSchema), handler);
+    return handler.defineClasses(lookup);
   }
 
-  private void compileSchema(Schema schema) {
-    var className =
-        runtimeConfiguration
-            .getPackageName()
-            .map(pkg -> "%s.%s".formatted(pkg, schema.className()))
-            .orElse(schema.className());
-    var properties = schema.properties();
+  /**
+   * Same as {@link #compileToClasses(String, MethodHandles.Lookup)}, reading the schema from a file
+   *
+   * @param schemaURI the uri of the file to compile
+   * @param lookup the lookup used to define the generated classes
+   * @return the generated classes, by fully qualified name
+   */
+  public Map<String, Class<?>> compileToClasses(URI schemaURI, MethodHandles.Lookup lookup) {
+    var handler = new InMemoryClassesHandler();
+    compileAll(schemaReaderFactory.makeSchemaReader().read(schemaURI), handler);
+    return handler.defineClasses(lookup);
+  }
 
-    var bytes =
-        ClassFile.of()
-            .build(of(className), classBuilder -> writeRecord(className, classBuilder, properties));
+  private void compileAll(List<Schema> readSchemas, GeneratedClassesHandler handler) {
+    // sorted by name, so the classes are usually generated in the order they are announced
+    var schemas =
+        typeMapper
+            .apply(
+                runtimeConfiguration.withStructuralDeduplication()
+                    ? schemaDeduplicator.apply(readSchemas)
+                    : readSchemas)
+            .stream()
+            .sorted(comparing(Schema::className))
+            .toList();
+    var classNames = generatedClassNames(schemas);
+    var schemasByClass =
+        schemas.stream().collect(toMap(schema -> of(qualifiedName(schema)), Function.identity()));
+    cacheHits.set(0);
+    cacheMisses.set(0);
+    handler.beforeCompile(classNames);
+    try {
+      var threads = runtimeConfiguration.getThreads();
+      if (threads > 1 && schemas.size() > 1) {
+        compileInParallel(schemas, schemasByClass, threads, handler);
+      } else {
+        schemas.forEach(schema -> compileSchema(schema, schemasByClass, handler));
+      }
+    } catch (RuntimeException e) {
+      handler.abortCompile();
+      throw e;
+    }
+    handler.afterCompile();
+  }
 
-    generatedClassesHandler.handleGeneratedClass(className, bytes);
+  /**
+   * Generates the bytecode for every schema using a dedicated {@link ForkJoinPool}. Each schema is
+   * compiled independently, so the only shared state is the {@link ClassCache} and the {@link
+   * GeneratedClassesHandler}, which must honor the thread-safety contract documented in {@link
+   * GeneratedClassesHandler#handleGeneratedClass(String, byte[])}.
+   *
+   * @param schemas the schemas to compile
+   * @param schemasByClass the same schemas, by generated class
+   * @param threads the parallelism level
+   * @param handler the generated classes handler
+   */
+  private void compileInParallel(
+      List<Schema> schemas,
+      Map<ClassDesc, Schema> schemasByClass,
+      int threads,
+      GeneratedClassesHandler handler) {
+    try (var pool = new ForkJoinPool(threads)) {
+      pool.submit(
+              () ->
+                  schemas.parallelStream()
+                      .forEach(schema -> compileSchema(schema, schemasByClass, handler)))
+          .join();
+    }
+  }
+
+  /**
+   * Fails if a companion class would get the name of another generated class, like the view of
+   * {@code Order} and a schema titled {@code OrderView}, so neither replaces the other.
+   *
+   * @return the fully qualified names of the records, enums and companion classes to generate
+   */
+  private SortedSet<String> generatedClassNames(List<Schema> schemas) {
+    var generatedClasses =
+        schemas.stream().map(Schema::className).collect(toCollection(HashSet::new));
+    var classNames = new TreeSet<String>();
+    for (var schema : schemas) {
+      var className = qualifiedName(schema);
+      classNames.add(className);
+      for (var companion : companionsOf(schema)) {
+        var companionName = schema.className() + companion.classNameSuffix();
+        if (!generatedClasses.add(companionName)) {
+          throw new CompilerException(
+              "Companion class %s of %s has the same name as another class"
+                  .formatted(companionName, schema.className()));
+        }
+        classNames.add(className + companion.classNameSuffix());
+      }
+    }
+    return classNames;
+  }
+
+  /** Companion classes are generated for records only. */
+  private List<CompanionGenerator> companionsOf(Schema schema) {
+    if (schema.isEnum()) {
+      return List.of();
+    }
+    return companionGenerators.stream()
+        .filter(companion -> companion.supports(schema.properties()))
+        .toList();
+  }
+
+  private String qualifiedName(Schema schema) {
+    return runtimeConfiguration
+        .getPackageName()
+        .map(pkg -> "%s.%s".formatted(pkg, schema.className()))
+        .orElse(schema.className());
+  }
+
+  private void compileSchema(
+      Schema schema, Map<ClassDesc, Schema> schemasByClass, GeneratedClassesHandler handler) {
+    var className = qualifiedName(schema);
+    handler.handleGeneratedClass(
+        className,
+        generateClass(
+            className,
+            schema,
+            schemasByClass,
+            () ->
+                schema.isEnum()
+                    ? buildEnum(className, schema)
+                    : buildRecord(className, schema, schemasByClass)));
+    for (var companion : companionsOf(schema)) {
+      var companionName = className + companion.classNameSuffix();
+      handler.handleGeneratedClass(
+          companionName,
+          generateClass(
+              companionName,
+              schema,
+              schemasByClass,
+              () -> buildCompanion(companion, className, companionName, schema)));
+    }
+  }
+
+  /**
+   * Returns the bytecode for the schema, from the cache if it contains an entry with the same
+   * fingerprint, or generating it (and storing it in the cache) otherwise.
+   */
+  private byte[] generateClass(
+      String className,
+      Schema schema,
+      Map<ClassDesc, Schema> schemasByClass,
+      Supplier<byte[]> builder) {
+    if (classCache.isEmpty()) {
+      return builder.get();
+    }
+    var cache = classCache.get();
+    var key = SchemaFingerprint.of(className, schema, schemasByClass, runtimeConfiguration);
+    var cached = cache.get(key);
+    if (cached.isPresent()) {
+      cacheHits.incrementAndGet();
+      return cached.get();
+    }
+    cacheMisses.incrementAndGet();
+    var bytes = builder.get();
+    cache.put(key, bytes);
+    return bytes;
+  }
+
+  private byte[] buildRecord(
+      String className, Schema schema, Map<ClassDesc, Schema> schemasByClass) {
+    var properties = schema.properties();
+    // companion classes are nestmates of the record, to copy its private fields
+    var companions =
+        companionsOf(schema).stream()
+            .map(companion -> of(className + companion.classNameSuffix()))
+            .toList();
+    return ClassFile.of()
+        .build(
+            of(className),
+            classBuilder -> {
+              writeRecord(className, classBuilder, properties, schemasByClass);
+              if (!companions.isEmpty()) {
+                classBuilder.with(NestMembersAttribute.ofSymbols(companions));
+              }
+            });
   }
 
   private void writeRecord(
-      String className, ClassBuilder classBuilder, SortedMap<String, Property> properties) {
+      String className,
+      ClassBuilder classBuilder,
+      SortedMap<String, Property> properties,
+      Map<ClassDesc, Schema> schemasByClass) {
     classBuilder.withFlags(ACC_PUBLIC | ACC_FINAL).withSuperclass(of("java.lang.Record"));
 
     var classDesc = of(className);
-    var params = new ClassGenerationParams(classDesc, classBuilder, properties);
+    var params = new ClassGenerationParams(classDesc, classBuilder, properties, schemasByClass);
     ModelGenerator.of(runtimeConfiguration, params).forEach(ModelGenerator::generatePart);
+    params.staticInitializer().generate(classBuilder);
+  }
+
+  private byte[] buildEnum(String className, Schema schema) {
+    return ClassFile.of()
+        .build(
+            of(className),
+            classBuilder -> {
+              var params =
+                  new ClassGenerationParams(of(className), classBuilder, schema.properties());
+              ModelGenerator.ofEnum(runtimeConfiguration, params, schema.enumValues())
+                  .generatePart();
+              params.staticInitializer().generate(classBuilder);
+            });
+  }
+
+  private byte[] buildCompanion(
+      CompanionGenerator companion, String recordName, String className, Schema schema) {
+    return ClassFile.of()
+        .build(
+            of(className),
+            classBuilder -> {
+              var params =
+                  new ClassGenerationParams(of(className), classBuilder, schema.properties());
+              companion.generate(of(recordName), params);
+              params.staticInitializer().generate(classBuilder);
+              classBuilder.with(NestHostAttribute.of(of(recordName)));
+            });
   }
 }
@@ -16,6 +16,16 @@
 
 package es.nachobrito.jsonschema.compiler.domain;
 
+import java.util.SortedSet;
+
+/**
+ * Receives the bytecode generated by the {@link Compiler}.
+ *
+ * <p>{@link #beforeCompile(SortedSet)} and {@link #afterCompile()} are invoked exactly once per
+ * compilation, from the thread that started it. {@link #handleGeneratedClass(String, byte[])} is
+ * invoked once per generated class, between them. If the compilation fails, {@link #abortCompile()} is invoked
+ * instead of {@link #afterCompile()}.
+ */
 public interface GeneratedClassesHandler {
 
 
@@ -23,9 +33,36 @@ public interface GeneratedClassesHandler {
         //Implement this method for preparatory tasks before any class is generated.
     };
 
+    /**
+     * Invoked by the {@link Compiler} instead of {@link #beforeCompile()}, announcing the classes it
+     * is going to generate. Handlers that need a stable output order can use it to write classes as
+     * soon as all the previous ones have been received.
+     *
+     * @param classNames the fully qualified names of the classes that will be generated
+     */
+    default void beforeCompile(SortedSet<String> classNames){
+        beforeCompile();
+    }
+
+    /**
+     * Handles the bytecode of a generated class.
+     *
+     * <p>When the compiler runs with more than one thread (see {@link
+     * es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration#getThreads()})
+     * this method is called concurrently from several threads, so implementations must be
+     * thread-safe. The compiler guarantees that every call receives a different class name, and
+     * that all calls happen-before {@link #afterCompile()}.
+     *
+     * @param className the fully qualified name of the generated class
+     * @param bytes the class file contents
+     */
     void handleGeneratedClass(String className, byte[] bytes);
 
     default void afterCompile(){
         //Implement this method for resource cleanup after all classes have been compiled.
     }
+
+    default void abortCompile(){
+        //Implement this method to release resources and discard partial results when the compilation fails.
+    }
 }
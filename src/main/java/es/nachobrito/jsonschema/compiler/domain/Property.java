@@ -18,10 +18,19 @@ package es.nachobrito.jsonschema.compiler.domain;
 
 import java.lang.constant.ClassDesc;
 
-public record Property(String key, ClassDesc type, String formattedName) {
+public record Property(
+    String key, ClassDesc type, String formattedName, PropertyConstraints constraints) {
+
+  public Property(String key, ClassDesc type, String formattedName) {
+    this(key, type, formattedName, PropertyConstraints.NONE);
+  }
 
   public Property(String key, ClassDesc type){
     this(key, type, JavaName.variableFromJsonIdentifier(key));
   }
 
+  public Property(String key, ClassDesc type, PropertyConstraints constraints) {
+    this(key, type, JavaName.variableFromJsonIdentifier(key), constraints);
+  }
+
 }
@@ -0,0 +1,71 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The validation keywords of a property. Numeric and string values are null when the keyword is not
+ * present in the schema. Numeric bounds are kept exactly as written, so integer bounds beyond 2^53
+ * are not rounded.
+ *
+ * @param required true if the property is listed in the {@code required} keyword of its parent
+ * @param nullable true if the property accepts null values, as {@code "type": ["integer", "null"]}
+ *     or {@code "nullable": true}
+ * @param minimum the inclusive lower bound of numeric values
+ * @param exclusiveMinimum the exclusive lower bound of numeric values
+ * @param maximum the inclusive upper bound of numeric values
+ * @param exclusiveMaximum the exclusive upper bound of numeric values
+ * @param minLength the minimum length of string values, in code points
+ * @param maxLength the maximum length of string values, in code points
+ * @param pattern the regular expression string values must match
+ * @param enumValues the allowed string values, empty if any value is allowed
+ * @param minItems the minimum number of items of array values
+ * @param maxItems the maximum number of items of array values
+ * @param items the constraints of the items of array values, null for other properties
+ */
+public record PropertyConstraints(
+    boolean required,
+    boolean nullable,
+    BigDecimal minimum,
+    BigDecimal exclusiveMinimum,
+    BigDecimal maximum,
+    BigDecimal exclusiveMaximum,
+    Integer minLength,
+    Integer maxLength,
+    String pattern,
+    List<String> enumValues,
+    Integer minItems,
+    Integer maxItems,
+    PropertyConstraints items) {
+
+  public static final PropertyConstraints NONE =
+      new PropertyConstraints(
+          false, false, null, null, null, null, null, null, null, List.of(), null, null, null);
+
+  public PropertyConstraints {
+    enumValues = List.copyOf(enumValues);
+  }
+
+  /**
+   * @return true if there is nothing to validate
+   */
+  public boolean isEmpty() {
+    return this.equals(NONE);
+  }
+}
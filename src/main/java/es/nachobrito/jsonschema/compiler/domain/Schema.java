@@ -16,6 +16,54 @@
 
 package es.nachobrito.jsonschema.compiler.domain;
 
+import java.lang.constant.ClassDesc;
+import java.util.ArrayDeque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.SortedMap;
 
-public record Schema(String className, SortedMap<String, Property> properties) {}
+/**
+ * A class to generate: a record with the given properties or, when {@code enumValues} is not
+ * empty, an enum with one constant per value.
+ */
+public record Schema(
+    String className, SortedMap<String, Property> properties, List<String> enumValues) {
+
+  public Schema(String className, SortedMap<String, Property> properties) {
+    this(className, properties, List.of());
+  }
+
+  public Schema {
+    enumValues = List.copyOf(enumValues);
+  }
+
+  public boolean isEnum() {
+    return !enumValues.isEmpty();
+  }
+
+  /**
+   * @param schemas the schemas of every generated class, by class
+   * @return this schema followed by every schema its properties refer to, directly, through arrays
+   *     or through other schemas, in breadth-first order
+   */
+  public List<Schema> reachableSchemas(Map<ClassDesc, Schema> schemas) {
+    var reachable = new LinkedHashSet<Schema>();
+    var pending = new ArrayDeque<Schema>();
+    pending.add(this);
+    while (!pending.isEmpty()) {
+      var schema = pending.poll();
+      if (!reachable.add(schema)) {
+        continue;
+      }
+      for (var property : schema.properties().values()) {
+        var type = property.type().isArray() ? property.type().componentType() : property.type();
+        var nested = schemas.get(type);
+        if (nested != null) {
+          pending.add(nested);
+        }
+      }
+    }
+    return List.copyOf(reachable);
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain;
+
+import static java.util.stream.Collectors.toMap;
+
+import java.lang.constant.ClassDesc;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Merges the schemas that are structurally identical: same properties, with the same types and
+ * constraints, or same enum values. Each group of identical schemas is generated as one canonical
+ * class, and the properties that referenced the others use the canonical class instead.
+ *
+ * <p>The canonical class of a group is the first, in alphabetical order, of its top-level classes
+ * (those not used by any property), or of all of them if none is top-level. Top-level classes are
+ * never merged into another one, because they are the classes the user asked for. Merging is
+ * repeated until no schema changes, since renaming the type of a property can make two more
+ * schemas identical.
+ */
+final class SchemaDeduplicator {
+  private final Map<String, String> merged = new TreeMap<>();
+
+  List<Schema> apply(List<Schema> schemas) {
+    merged.clear();
+    var topLevel = topLevelClasses(schemas);
+    var current = schemas;
+    while (true) {
+      var canonical = new LinkedHashMap<List<Object>, String>();
+      var renamed = new LinkedHashMap<String, String>();
+      for (var schema : current) {
+        var shape = List.<Object>of(schema.properties(), schema.enumValues());
+        var name = schema.className();
+        var existing = canonical.putIfAbsent(shape, name);
+        if (existing == null) {
+          continue;
+        }
+        var keep = canonicalName(existing, name, topLevel);
+        canonical.put(shape, keep);
+        var drop = keep.equals(name) ? existing : name;
+        if (!topLevel.contains(drop)) {
+          renamed.put(drop, keep);
+        }
+      }
+      if (renamed.isEmpty()) {
+        return current;
+      }
+      // a class can be renamed to one that is itself renamed in this round
+      renamed.replaceAll((name, target) -> resolve(target, renamed));
+      merged.replaceAll((name, target) -> renamed.getOrDefault(target, target));
+      merged.putAll(renamed);
+      current = rename(current, renamed);
+    }
+  }
+
+  /**
+   * @return the classes removed by the last deduplication, and the class used instead of each one
+   */
+  Map<String, String> mergedClasses() {
+    return Collections.unmodifiableMap(new TreeMap<>(merged));
+  }
+
+  private static String canonicalName(String first, String second, Set<String> topLevel) {
+    var firstTop = topLevel.contains(first);
+    if (firstTop != topLevel.contains(second)) {
+      return firstTop ? first : second;
+    }
+    return first.compareTo(second) <= 0 ? first : second;
+  }
+
+  private static String resolve(String name, Map<String, String> renamed) {
+    var seen = new HashSet<String>();
+    while (renamed.containsKey(name) && seen.add(name)) {
+      name = renamed.get(name);
+    }
+    return name;
+  }
+
+  private static Set<String> topLevelClasses(List<Schema> schemas) {
+    var referenced = new HashSet<ClassDesc>();
+    for (var schema : schemas) {
+      for (var property : schema.properties().values()) {
+        var type = property.type();
+        referenced.add(type.isArray() ? type.componentType() : type);
+      }
+    }
+    var topLevel = new HashSet<String>();
+    for (var schema : schemas) {
+      if (!referenced.contains(ClassDesc.of(schema.className()))) {
+        topLevel.add(schema.className());
+      }
+    }
+    return topLevel;
+  }
+
+  private static List<Schema> rename(List<Schema> schemas, Map<String, String> renamed) {
+    var types = new LinkedHashMap<ClassDesc, ClassDesc>();
+    renamed.forEach((name, target) -> types.put(ClassDesc.of(name), ClassDesc.of(target)));
+    var result = new ArrayList<Schema>();
+    for (var schema : schemas) {
+      if (renamed.containsKey(schema.className())) {
+        continue;
+      }
+      result.add(
+          new Schema(
+              schema.className(), rename(schema.properties(), types), schema.enumValues()));
+    }
+    return result;
+  }
+
+  private static SortedMap<String, Property> rename(
+      SortedMap<String, Property> properties, Map<ClassDesc, ClassDesc> types) {
+    return properties.entrySet().stream()
+        .collect(
+            toMap(
+                Map.Entry::getKey,
+                entry -> rename(entry.getValue(), types),
+                (v1, v2) -> v1,
+                TreeMap::new));
+  }
+
+  private static Property rename(Property property, Map<ClassDesc, ClassDesc> types) {
+    var type = property.type();
+    var renamed =
+        type.isArray()
+            ? types.getOrDefault(type.componentType(), type.componentType()).arrayType()
+            : types.getOrDefault(type, type);
+    return new Property(
+        property.key(), renamed, property.formattedName(), property.constraints());
+  }
+}
@@ -0,0 +1,244 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain;
+
+import static java.lang.constant.ConstantDescs.*;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toCollection;
+
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.lang.constant.ClassDesc;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.BinaryOperator;
+
+/**
+ * Adapts the java types chosen by the schema readers to the runtime configuration, before the
+ * classes are generated. Readers know nothing about the configuration, so every option that changes
+ * the type of a property is applied here.
+ */
+final class TypeMapper {
+  private static final Map<ClassDesc, ClassDesc> PRIMITIVES =
+      Map.of(
+          CD_Byte, CD_byte,
+          CD_Short, CD_short,
+          CD_Integer, CD_int,
+          CD_Long, CD_long,
+          CD_Double, CD_double,
+          CD_Boolean, CD_boolean);
+
+  private final RuntimeConfiguration runtimeConfiguration;
+
+  TypeMapper(RuntimeConfiguration runtimeConfiguration) {
+    this.runtimeConfiguration = runtimeConfiguration;
+  }
+
+  List<Schema> apply(List<Schema> schemas) {
+    var enumNames =
+        runtimeConfiguration.withEnums() ? enumNames(schemas) : Map.<List<String>, String>of();
+    var generatedClasses =
+        schemas.stream().map(Schema::className).collect(toCollection(HashSet::new));
+    for (var enumName : enumNames.values()) {
+      if (!generatedClasses.add(enumName)) {
+        throw new CompilerException(
+            "Enum %s has the same name as another class".formatted(enumName));
+      }
+    }
+
+    var mapped = new ArrayList<Schema>();
+    schemas.forEach(
+        schema ->
+            mapped.add(
+                new Schema(
+                    schema.className(),
+                    apply(schema.properties(), generatedClasses, enumNames),
+                    schema.enumValues())));
+    enumNames.forEach((values, name) -> mapped.add(new Schema(name, new TreeMap<>(), values)));
+    return mapped;
+  }
+
+  private SortedMap<String, Property> apply(
+      SortedMap<String, Property> properties,
+      Set<String> generatedClasses,
+      Map<List<String>, String> enumNames) {
+    return properties.entrySet().stream()
+        .collect(
+            toMap(
+                Map.Entry::getKey,
+                entry -> apply(entry.getValue(), generatedClasses, enumNames),
+                (v1, v2) -> v1,
+                TreeMap::new));
+  }
+
+  private Property apply(
+      Property property, Set<String> generatedClasses, Map<List<String>, String> enumNames) {
+    var type = property.type();
+    var enumName = enumNames.get(enumValues(property));
+    if (enumName != null) {
+      type = type.isArray() ? ClassDesc.of(enumName).arrayType() : ClassDesc.of(enumName);
+    }
+    type = qualify(type, generatedClasses);
+    if (runtimeConfiguration.withIntegerSizing()) {
+      type = sizeIntegers(type, property.constraints());
+    }
+    if (runtimeConfiguration.withPrimitiveTypes() && isRequiredValue(property)) {
+      type = PRIMITIVES.getOrDefault(type, type);
+    }
+    if (runtimeConfiguration.withPrimitiveArrays() && type.isArray()) {
+      var componentType = type.componentType();
+      type = PRIMITIVES.getOrDefault(componentType, componentType).arrayType();
+    }
+    return new Property(property.key(), type, property.formattedName(), property.constraints());
+  }
+
+  private static ClassDesc sizeIntegers(ClassDesc type, PropertyConstraints constraints) {
+    if (type.equals(CD_Integer)) {
+      return integerType(constraints, CD_Byte);
+    }
+    if (type.equals(CD_Integer.arrayType()) && constraints.items() != null) {
+      // Jackson reads and writes byte[] as base64 strings, so items are never narrower than short
+      return integerType(constraints.items(), CD_Short).arrayType();
+    }
+    return type;
+  }
+
+  /**
+   * @return the narrowest integer type, starting with {@code narrowest}, that holds every value
+   *     allowed by the bounds, or Long if the values are not bounded on both sides. Bounds are
+   *     compared exactly, and exclusive bounds are replaced by the nearest integer they allow.
+   */
+  private static ClassDesc integerType(PropertyConstraints constraints, ClassDesc narrowest) {
+    var lower =
+        tighter(
+            ceiling(constraints.minimum()),
+            next(constraints.exclusiveMinimum(), RoundingMode.FLOOR, BigDecimal.ONE),
+            BigDecimal::max);
+    var upper =
+        tighter(
+            floor(constraints.maximum()),
+            next(constraints.exclusiveMaximum(), RoundingMode.CEILING, BigDecimal.ONE.negate()),
+            BigDecimal::min);
+    if (lower == null || upper == null) {
+      return CD_Long;
+    }
+    if (narrowest.equals(CD_Byte) && fits(lower, upper, Byte.MIN_VALUE, Byte.MAX_VALUE)) {
+      return CD_Byte;
+    }
+    if (fits(lower, upper, Short.MIN_VALUE, Short.MAX_VALUE)) {
+      return CD_Short;
+    }
+    if (fits(lower, upper, Integer.MIN_VALUE, Integer.MAX_VALUE)) {
+      return CD_Integer;
+    }
+    return CD_Long;
+  }
+
+  private static boolean fits(BigDecimal lower, BigDecimal upper, long min, long max) {
+    return lower.compareTo(BigDecimal.valueOf(min)) >= 0
+        && upper.compareTo(BigDecimal.valueOf(max)) <= 0;
+  }
+
+  private static BigDecimal ceiling(BigDecimal bound) {
+    return bound == null ? null : bound.setScale(0, RoundingMode.CEILING);
+  }
+
+  private static BigDecimal floor(BigDecimal bound) {
+    return bound == null ? null : bound.setScale(0, RoundingMode.FLOOR);
+  }
+
+  /**
+   * @return the first integer past the exclusive bound, rounding it towards the excluded side and
+   *     then moving one {@code step} away from it
+   */
+  private static BigDecimal next(BigDecimal exclusive, RoundingMode rounding, BigDecimal step) {
+    return exclusive == null ? null : exclusive.setScale(0, rounding).add(step);
+  }
+
+  private static BigDecimal tighter(
+      BigDecimal inclusive, BigDecimal exclusive, BinaryOperator<BigDecimal> pick) {
+    if (inclusive == null || exclusive == null) {
+      return inclusive == null ? exclusive : inclusive;
+    }
+    return pick.apply(inclusive, exclusive);
+  }
+
+  /**
+   * Names the enums generated for string properties with an {@code enum} keyword. Properties with
+   * the same values, usually because they reference the same definition, share one enum, named
+   * after the first of them in alphabetical order.
+   *
+   * @return the name of the enum, by its values
+   */
+  private static Map<List<String>, String> enumNames(List<Schema> schemas) {
+    var names = new HashMap<List<String>, String>();
+    for (var schema : schemas) {
+      for (var property : schema.properties().values()) {
+        var values = enumValues(property);
+        if (values.isEmpty()) {
+          continue;
+        }
+        var name =
+            JavaName.classFromJsonIdentifier(
+                "%s_%s".formatted(schema.className(), property.key()));
+        names.merge(values, name, (v1, v2) -> v1.compareTo(v2) <= 0 ? v1 : v2);
+      }
+    }
+    return names;
+  }
+
+  /**
+   * @return the enum values of string properties, or of the items of string arrays
+   */
+  private static List<String> enumValues(Property property) {
+    var constraints = property.constraints();
+    if (property.type().equals(CD_String)) {
+      return constraints.enumValues();
+    }
+    if (property.type().equals(CD_String.arrayType()) && constraints.items() != null) {
+      return constraints.items().enumValues();
+    }
+    return List.of();
+  }
+
+  /** Only properties that can never be null can be primitives. */
+  private static boolean isRequiredValue(Property property) {
+    return property.constraints().required() && !property.constraints().nullable();
+  }
+
+  /** References to other generated classes have to include the configured package. */
+  private ClassDesc qualify(ClassDesc type, Set<String> generatedClasses) {
+    if (type.isArray()) {
+      return qualify(type.componentType(), generatedClasses).arrayType();
+    }
+    var packageName = runtimeConfiguration.getPackageName();
+    if (packageName.isEmpty()
+        || type.isPrimitive()
+        || !generatedClasses.contains(type.displayName())
+        || !type.packageName().isEmpty()) {
+      return type;
+    }
+    return ClassDesc.of("%s.%s".formatted(packageName.get(), type.displayName()));
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain.cache;
+
+import java.util.Optional;
+
+/**
+ * Stores the bytecode generated for a schema, so that it can be reused by later compilations
+ * instead of being generated again. Entries are addressed by a key that changes whenever any input
+ * of the generation changes (see {@link SchemaFingerprint}).
+ *
+ * <p>Implementations must be thread-safe, as the compiler may query and populate the cache from
+ * several threads.
+ */
+public interface ClassCache {
+
+  /**
+   * @param key the fingerprint of the class
+   * @return the cached bytecode, or an empty Optional if there is no entry for the key
+   */
+  Optional<byte[]> get(String key);
+
+  /**
+   * Stores the bytecode for the given key, replacing any previous entry.
+   *
+   * @param key the fingerprint of the class
+   * @param bytes the class file contents
+   */
+  void put(String key, byte[] bytes);
+}
@@ -0,0 +1,162 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain.cache;
+
+import es.nachobrito.jsonschema.compiler.domain.CompilerException;
+import es.nachobrito.jsonschema.compiler.domain.Schema;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.constant.ClassDesc;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Computes a stable, content-based key for the class generated from a {@link Schema}. Two schemas
+ * get the same fingerprint only if they would produce the same bytecode: same fully qualified class
+ * name, same properties (the map is sorted, so declaration order does not matter) and same
+ * generator options. With the binary codec, the shapes of the nested classes are part of the
+ * generated code too.
+ *
+ * <p>The code of the compiler is part of the fingerprint as well, so any change to the generators
+ * invalidates the cached classes without bumping a version by hand.
+ */
+public class SchemaFingerprint {
+  /** Bump this value whenever the values hashed here change, to invalidate existing caches. */
+  private static final int FORMAT_VERSION = 5;
+
+  public static String of(
+      String className,
+      Schema schema,
+      Map<ClassDesc, Schema> schemas,
+      RuntimeConfiguration configuration) {
+    var digest = sha256();
+    update(digest, "format=%d".formatted(FORMAT_VERSION));
+    update(digest, "compiler=%s".formatted(CompilerHash.VALUE));
+    update(digest, "class=%s".formatted(className));
+    update(digest, "options=%s".formatted(generatorOptions(configuration)));
+    if (schema.isEnum()) {
+      update(digest, "enum=%s".formatted(schema.enumValues()));
+    }
+    schema
+        .properties()
+        .values()
+        .forEach(
+            property ->
+                update(
+                    digest,
+                    "property=%s:%s:%s:%s"
+                        .formatted(
+                            property.key(),
+                            property.type().descriptorString(),
+                            property.formattedName(),
+                            property.constraints())));
+    if (configuration.withBinaryCodec()) {
+      schema.reachableSchemas(schemas).stream()
+          .skip(1)
+          .forEach(nested -> update(digest, "nested=%s".formatted(nested)));
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  /**
+   * @param configuration the runtime configuration
+   * @return a description of every option that affects the generated bytecode
+   */
+  private static String generatorOptions(RuntimeConfiguration configuration) {
+    return ("jackson=%s,deserializer=%s,serializer=%s,validation=%s,binary=%s,builders=%s,"
+            + "presence=%s,javac=%s,views=%s,batches=%s")
+        .formatted(
+            configuration.withJacksonAnnotations(),
+            configuration.withJsonDeserializer(),
+            configuration.withJsonSerializer(),
+            configuration.withValidation(),
+            configuration.withBinaryCodec(),
+            configuration.withBuilders(),
+            configuration.withPresenceBitmaps(),
+            configuration.withJavacRecords(),
+            configuration.withOffHeapViews(),
+            configuration.withBatches());
+  }
+
+  /**
+   * The hash of the code of the compiler, computed once: the jar it is loaded from or, when it runs
+   * from a classes folder, every class file in it. Falls back to the implementation version when
+   * the code source cannot be read.
+   */
+  private static final class CompilerHash {
+    private static final String VALUE = compute();
+
+    private static String compute() {
+      var codeSource = SchemaFingerprint.class.getProtectionDomain().getCodeSource();
+      if (codeSource != null && codeSource.getLocation() != null) {
+        try {
+          return hash(Path.of(codeSource.getLocation().toURI()));
+        } catch (IOException
+            | UncheckedIOException
+            | URISyntaxException
+            | IllegalArgumentException
+            | FileSystemNotFoundException
+            | SecurityException e) {
+          // not a readable file or folder, use the version instead
+        }
+      }
+      var version = SchemaFingerprint.class.getPackage().getImplementationVersion();
+      return version == null ? "unknown" : version;
+    }
+
+    private static String hash(Path location) throws IOException {
+      var digest = sha256();
+      if (Files.isDirectory(location)) {
+        try (var files = Files.walk(location)) {
+          for (var file : files.filter(it -> it.toString().endsWith(".class")).sorted().toList()) {
+            update(digest, location.relativize(file).toString().replace(File.separatorChar, '/'));
+            digest.update(Files.readAllBytes(file));
+          }
+        }
+      } else {
+        try (var in = new DigestInputStream(Files.newInputStream(location), digest)) {
+          in.transferTo(OutputStream.nullOutputStream());
+        }
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    }
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    digest.update(value.getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) '\n');
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new CompilerException("SHA-256 is not available in this runtime");
+    }
+  }
+}
@@ -0,0 +1,506 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain.generator;
+
+import static java.lang.classfile.ClassFile.ACC_FINAL;
+import static java.lang.classfile.ClassFile.ACC_PRIVATE;
+import static java.lang.classfile.ClassFile.ACC_PUBLIC;
+import static java.lang.constant.ConstantDescs.*;
+
+import es.nachobrito.jsonschema.compiler.domain.Property;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.TypeKind;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+
+/**
+ * Generates a {@code <Name>Batch} class that stores many records as columns: one array per
+ * property, holding the value of that property for every row.
+ *
+ * <pre>{@code
+ * public final class ReadingBatch {
+ *   public ReadingBatch() {...}
+ *   public ReadingBatch(int capacity) {...}
+ *   public int size() {...}
+ *   public void add(Reading row) {...}
+ *   public Reading get(int index) {...}
+ *   public void clear() {...}
+ *   public void ensureCapacity(int capacity) {...}
+ *   public int[] countColumn() {...}
+ *   public long[] countPresence() {...}
+ * }
+ * }</pre>
+ *
+ * <p>Numbers and booleans always get primitive columns. Nullable ones, the boxed properties, also
+ * get a {@code <property>Presence()} bitset with the bit {@code index % 64} of the item {@code
+ * index / 64} set when the value of the row is not null; the primitive value of a null one is zero.
+ * Values are copied between the columns and the fields of the record, which the batch can read
+ * because it is a nestmate of the record, so {@code add} does not allocate. {@code get} uses the
+ * raw constructor when the record stores values in a {@link PresenceBitmap}, and boxes nullable
+ * values otherwise. Column accessors return the backing arrays, without copying them, and only the
+ * first {@code size()} items are rows.
+ */
+record BatchGenerator(RuntimeConfiguration runtimeConfiguration) implements CompanionGenerator {
+  static final String CLASS_NAME_SUFFIX = "Batch";
+
+  private static final ClassDesc CD_Arrays = ClassDesc.of(Arrays.class.getName());
+  private static final ClassDesc CD_Objects = ClassDesc.of(Objects.class.getName());
+  private static final ClassDesc CD_Math = ClassDesc.of(Math.class.getName());
+  private static final String SIZE_FIELD = "size";
+  private static final int DEFAULT_CAPACITY = 16;
+
+  /** The type of the column of nullable numbers and booleans, by the type of the property. */
+  private static final Map<ClassDesc, ClassDesc> PRIMITIVE_COLUMNS =
+      Map.of(
+          CD_Boolean, CD_boolean,
+          CD_Byte, CD_byte,
+          CD_Short, CD_short,
+          CD_Integer, CD_int,
+          CD_Long, CD_long,
+          CD_Float, CD_float,
+          CD_Double, CD_double);
+
+  private static final ClassDesc CD_Presence = CD_long.arrayType();
+
+  @Override
+  public String classNameSuffix() {
+    return CLASS_NAME_SUFFIX;
+  }
+
+  @Override
+  public boolean supports(SortedMap<String, Property> properties) {
+    return !properties.isEmpty();
+  }
+
+  @Override
+  public void generate(ClassDesc recordDesc, ClassGenerationParams params) {
+    var batchDesc = params.classDesc();
+    var classBuilder = params.classBuilder();
+    var bitmap = PresenceBitmap.of(runtimeConfiguration, recordDesc, params.properties());
+    classBuilder.withFlags(ACC_PUBLIC | ACC_FINAL).withSuperclass(CD_Object);
+    classBuilder.withField(SIZE_FIELD, CD_int, ACC_PRIVATE);
+    for (var property : params.properties().values()) {
+      var columnType = columnType(property);
+      classBuilder
+          .withField(columnName(property), columnType, ACC_PRIVATE)
+          .withMethodBody(
+              columnName(property),
+              MethodTypeDesc.of(columnType),
+              ACC_PUBLIC | ACC_FINAL,
+              cob -> cob.aload(0).getfield(batchDesc, columnName(property), columnType).areturn());
+      if (isNullable(property)) {
+        classBuilder
+            .withField(presenceName(property), CD_Presence, ACC_PRIVATE)
+            .withMethodBody(
+                presenceName(property),
+                MethodTypeDesc.of(CD_Presence),
+                ACC_PUBLIC | ACC_FINAL,
+                cob ->
+                    cob.aload(0)
+                        .getfield(batchDesc, presenceName(property), CD_Presence)
+                        .areturn());
+      }
+    }
+
+    classBuilder.withMethodBody(
+        INIT_NAME,
+        MethodTypeDesc.of(CD_void),
+        ACC_PUBLIC,
+        cob ->
+            cob.aload(0)
+                .ldc(DEFAULT_CAPACITY)
+                .invokespecial(batchDesc, INIT_NAME, MethodTypeDesc.of(CD_void, CD_int))
+                .return_());
+    classBuilder.withMethodBody(
+        INIT_NAME,
+        MethodTypeDesc.of(CD_void, CD_int),
+        ACC_PUBLIC,
+        cob -> {
+          cob.aload(0).invokespecial(CD_Object, INIT_NAME, MTD_void);
+          for (var property : params.properties().values()) {
+            cob.aload(0).iload(1);
+            newColumn(cob, valueType(property));
+            cob.putfield(batchDesc, columnName(property), columnType(property));
+            if (isNullable(property)) {
+              cob.aload(0).iload(1);
+              wordCount(cob);
+              cob.newarray(TypeKind.LONG).putfield(batchDesc, presenceName(property), CD_Presence);
+            }
+          }
+          cob.return_();
+        });
+    classBuilder.withMethodBody(
+        "size",
+        MethodTypeDesc.of(CD_int),
+        ACC_PUBLIC | ACC_FINAL,
+        cob -> cob.aload(0).getfield(batchDesc, SIZE_FIELD, CD_int).ireturn());
+
+    buildEnsureCapacity(params);
+    buildAdd(params, bitmap);
+    buildGet(params, bitmap);
+    buildClear(params);
+  }
+
+  private static String columnName(Property property) {
+    return "%sColumn".formatted(property.formattedName());
+  }
+
+  private static String presenceName(Property property) {
+    return "%sPresence".formatted(property.formattedName());
+  }
+
+  /**
+   * @return true if the property is a boxed number or boolean, stored in a primitive column plus a
+   *     presence bitset
+   */
+  private static boolean isNullable(Property property) {
+    return PRIMITIVE_COLUMNS.containsKey(property.type());
+  }
+
+  /**
+   * @return the type of the items of the column of the property
+   */
+  private static ClassDesc valueType(Property property) {
+    return PRIMITIVE_COLUMNS.getOrDefault(property.type(), property.type());
+  }
+
+  private static ClassDesc columnType(Property property) {
+    return valueType(property).arrayType();
+  }
+
+  private static void newColumn(CodeBuilder cob, ClassDesc type) {
+    if (type.isPrimitive()) {
+      cob.newarray(TypeKind.from(type));
+    } else {
+      cob.anewarray(type);
+    }
+  }
+
+  /** Replaces the number of rows on top of the stack with the number of words of a bitset. */
+  private static void wordCount(CodeBuilder cob) {
+    cob.bipush(Long.SIZE - 1).iadd().bipush(6).iushr();
+  }
+
+  /**
+   * Pushes an int that is not zero if the value of the property in the row, in the local variable
+   * {@code indexSlot}, is present.
+   */
+  private static void loadPresent(
+      CodeBuilder cob, ClassDesc batchDesc, Property property, int indexSlot) {
+    cob.aload(0)
+        .getfield(batchDesc, presenceName(property), CD_Presence)
+        .iload(indexSlot)
+        .bipush(6)
+        .iushr()
+        .laload()
+        .lconst_1()
+        .iload(indexSlot)
+        .lshl()
+        .land()
+        .lconst_0()
+        .lcmp();
+  }
+
+  /** Sets the presence bit of the property in the row in the local variable {@code indexSlot}. */
+  private static void setPresent(
+      CodeBuilder cob, ClassDesc batchDesc, Property property, int indexSlot) {
+    cob.aload(0)
+        .getfield(batchDesc, presenceName(property), CD_Presence)
+        .iload(indexSlot)
+        .bipush(6)
+        .iushr()
+        .dup2()
+        .laload()
+        .lconst_1()
+        .iload(indexSlot)
+        .lshl()
+        .lor()
+        .lastore();
+  }
+
+  private static void loadZero(CodeBuilder cob, ClassDesc type) {
+    switch (TypeKind.from(type)) {
+      case LONG -> cob.lconst_0();
+      case FLOAT -> cob.fconst_0();
+      case DOUBLE -> cob.dconst_0();
+      default -> cob.iconst_0();
+    }
+  }
+
+  /**
+   * Grows every column to max(capacity, 2 * current capacity), if they are shorter than that, and
+   * the presence bitsets to the number of words needed by the new capacity.
+   */
+  private static void buildEnsureCapacity(ClassGenerationParams params) {
+    var batchDesc = params.classDesc();
+    var first = params.properties().firstEntry().getValue();
+    params
+        .classBuilder()
+        .withMethodBody(
+            "ensureCapacity",
+            MethodTypeDesc.of(CD_void, CD_int),
+            ACC_PUBLIC | ACC_FINAL,
+            cob -> {
+              var done = cob.newLabel();
+              var newCapacity = cob.allocateLocal(TypeKind.INT);
+              cob.iload(1)
+                  .aload(0)
+                  .getfield(batchDesc, columnName(first), columnType(first))
+                  .arraylength()
+                  .if_icmple(done)
+                  .iload(1)
+                  .aload(0)
+                  .getfield(batchDesc, columnName(first), columnType(first))
+                  .arraylength()
+                  .iconst_1()
+                  .ishl()
+                  .invokestatic(CD_Math, "max", MethodTypeDesc.of(CD_int, CD_int, CD_int))
+                  .istore(newCapacity);
+              for (var property : params.properties().values()) {
+                var columnType = columnType(property);
+                cob.aload(0)
+                    .aload(0)
+                    .getfield(batchDesc, columnName(property), columnType)
+                    .iload(newCapacity);
+                if (valueType(property).isPrimitive()) {
+                  cob.invokestatic(
+                      CD_Arrays, "copyOf", MethodTypeDesc.of(columnType, columnType, CD_int));
+                } else {
+                  cob.invokestatic(
+                          CD_Arrays,
+                          "copyOf",
+                          MethodTypeDesc.of(
+                              CD_Object.arrayType(), CD_Object.arrayType(), CD_int))
+                      .checkcast(columnType);
+                }
+                cob.putfield(batchDesc, columnName(property), columnType);
+                if (isNullable(property)) {
+                  cob.aload(0)
+                      .aload(0)
+                      .getfield(batchDesc, presenceName(property), CD_Presence)
+                      .iload(newCapacity);
+                  wordCount(cob);
+                  cob.invokestatic(
+                          CD_Arrays, "copyOf", MethodTypeDesc.of(CD_Presence, CD_Presence, CD_int))
+                      .putfield(batchDesc, presenceName(property), CD_Presence);
+                }
+              }
+              cob.labelBinding(done).return_();
+            });
+  }
+
+  /**
+   * add(row): stores every field of the row at index size, in its column. Fields in the bitmap are
+   * copied with their presence bit, and nullable fields are unboxed, or stored as zero when null.
+   */
+  private static void buildAdd(ClassGenerationParams params, PresenceBitmap bitmap) {
+    var batchDesc = params.classDesc();
+    var recordDesc = bitmap.owner();
+    params
+        .classBuilder()
+        .withMethodBody(
+            "add",
+            MethodTypeDesc.of(CD_void, recordDesc),
+            ACC_PUBLIC | ACC_FINAL,
+            cob -> {
+              var row = cob.allocateLocal(TypeKind.INT);
+              cob.aload(0)
+                  .aload(0)
+                  .getfield(batchDesc, SIZE_FIELD, CD_int)
+                  .iconst_1()
+                  .iadd()
+                  .invokevirtual(batchDesc, "ensureCapacity", MethodTypeDesc.of(CD_void, CD_int))
+                  .aload(0)
+                  .getfield(batchDesc, SIZE_FIELD, CD_int)
+                  .istore(row);
+              for (var property : params.properties().values()) {
+                var valueType = valueType(property);
+                var kind = TypeKind.from(valueType);
+                if (bitmap.contains(property)) {
+                  var absent = cob.newLabel();
+                  cob.aload(0).getfield(batchDesc, columnName(property), valueType.arrayType());
+                  cob.iload(row);
+                  bitmap.loadField(cob, 1, property);
+                  cob.arrayStore(kind);
+                  bitmap.loadPresence(cob, 1, property);
+                  cob.ifeq(absent);
+                  setPresent(cob, batchDesc, property, row);
+                  cob.labelBinding(absent);
+                } else if (isNullable(property)) {
+                  var absent = cob.newLabel();
+                  var stored = cob.newLabel();
+                  var value = cob.allocateLocal(TypeKind.REFERENCE);
+                  bitmap.loadField(cob, 1, property);
+                  cob.astore(value)
+                      .aload(0)
+                      .getfield(batchDesc, columnName(property), valueType.arrayType())
+                      .iload(row)
+                      .aload(value)
+                      .ifnull(absent)
+                      .aload(value)
+                      .invokevirtual(
+                          property.type(),
+                          "%sValue".formatted(valueType.displayName()),
+                          MethodTypeDesc.of(valueType))
+                      .arrayStore(kind);
+                  setPresent(cob, batchDesc, property, row);
+                  cob.goto_(stored).labelBinding(absent);
+                  loadZero(cob, valueType);
+                  cob.arrayStore(kind).labelBinding(stored);
+                } else {
+                  cob.aload(0)
+                      .getfield(batchDesc, columnName(property), valueType.arrayType())
+                      .iload(row);
+                  bitmap.loadField(cob, 1, property);
+                  cob.arrayStore(kind);
+                }
+              }
+              cob.aload(0).iload(row).iconst_1().iadd().putfield(batchDesc, SIZE_FIELD, CD_int);
+              cob.return_();
+            });
+  }
+
+  /**
+   * get(index): calls the raw constructor of the record with the values of every column at index,
+   * and the presence bits of the row, or the canonical constructor, boxing the nullable values.
+   */
+  private void buildGet(ClassGenerationParams params, PresenceBitmap bitmap) {
+    var batchDesc = params.classDesc();
+    var recordDesc = bitmap.owner();
+    var raw = bitmap.hasRawConstructor(runtimeConfiguration);
+    var propertyTypes =
+        params.properties().values().stream().map(Property::type).toArray(ClassDesc[]::new);
+    var constructorType =
+        raw ? bitmap.rawConstructorType() : MethodTypeDesc.of(CD_void, propertyTypes);
+    params
+        .classBuilder()
+        .withMethodBody(
+            "get",
+            MethodTypeDesc.of(recordDesc, CD_int),
+            ACC_PUBLIC | ACC_FINAL,
+            cob -> {
+              cob.iload(1)
+                  .aload(0)
+                  .getfield(batchDesc, SIZE_FIELD, CD_int)
+                  .invokestatic(CD_Objects, "checkIndex", MethodTypeDesc.of(CD_int, CD_int, CD_int))
+                  .pop();
+              var words = new HashMap<String, Integer>();
+              if (raw) {
+                var wordKind = TypeKind.from(bitmap.wordType());
+                for (var word : bitmap.wordNames()) {
+                  var slot = cob.allocateLocal(wordKind);
+                  words.put(word, slot);
+                  loadZero(cob, bitmap.wordType());
+                  cob.storeLocal(wordKind, slot);
+                }
+                for (var property : params.properties().values()) {
+                  if (bitmap.contains(property)) {
+                    var absent = cob.newLabel();
+                    var slot = words.get(bitmap.wordName(property));
+                    loadPresent(cob, batchDesc, property, 1);
+                    cob.ifeq(absent).loadLocal(wordKind, slot);
+                    bitmap.setBit(cob, property);
+                    cob.storeLocal(wordKind, slot).labelBinding(absent);
+                  }
+                }
+              }
+              cob.new_(recordDesc).dup();
+              for (var property : params.properties().values()) {
+                var valueType = valueType(property);
+                if (isNullable(property) && !bitmap.contains(property)) {
+                  var absent = cob.newLabel();
+                  var loaded = cob.newLabel();
+                  loadPresent(cob, batchDesc, property, 1);
+                  cob.ifeq(absent)
+                      .aload(0)
+                      .getfield(batchDesc, columnName(property), valueType.arrayType())
+                      .iload(1)
+                      .arrayLoad(TypeKind.from(valueType))
+                      .invokestatic(
+                          property.type(), "valueOf", MethodTypeDesc.of(property.type(), valueType))
+                      .goto_(loaded)
+                      .labelBinding(absent)
+                      .aconst_null()
+                      .labelBinding(loaded);
+                } else {
+                  cob.aload(0)
+                      .getfield(batchDesc, columnName(property), valueType.arrayType())
+                      .iload(1)
+                      .arrayLoad(TypeKind.from(valueType));
+                }
+              }
+              if (raw) {
+                for (var word : bitmap.wordNames()) {
+                  cob.loadLocal(TypeKind.from(bitmap.wordType()), words.get(word));
+                }
+              }
+              cob.invokespecial(recordDesc, INIT_NAME, constructorType).areturn();
+            });
+  }
+
+  /**
+   * clear(): empties the batch, keeping its capacity but releasing referenced values and clearing
+   * the presence bits of the rows.
+   */
+  private static void buildClear(ClassGenerationParams params) {
+    var batchDesc = params.classDesc();
+    params
+        .classBuilder()
+        .withMethodBody(
+            "clear",
+            MethodTypeDesc.of(CD_void),
+            ACC_PUBLIC | ACC_FINAL,
+            cob -> {
+              for (var property : params.properties().values()) {
+                if (isNullable(property)) {
+                  cob.aload(0)
+                      .getfield(batchDesc, presenceName(property), CD_Presence)
+                      .iconst_0()
+                      .aload(0)
+                      .getfield(batchDesc, SIZE_FIELD, CD_int);
+                  wordCount(cob);
+                  cob.lconst_0()
+                      .invokestatic(
+                          CD_Arrays,
+                          "fill",
+                          MethodTypeDesc.of(CD_void, CD_Presence, CD_int, CD_int, CD_long));
+                }
+                if (valueType(property).isPrimitive()) {
+                  continue;
+                }
+                cob.aload(0)
+                    .getfield(batchDesc, columnName(property), columnType(property))
+                    .iconst_0()
+                    .aload(0)
+                    .getfield(batchDesc, SIZE_FIELD, CD_int)
+                    .aconst_null()
+                    .invokestatic(
+                        CD_Arrays,
+                        "fill",
+                        MethodTypeDesc.of(
+                            CD_void, CD_Object.arrayType(), CD_int, CD_int, CD_Object));
+              }
+              cob.aload(0).iconst_0().putfield(batchDesc, SIZE_FIELD, CD_int).return_();
+            });
+  }
+}
@@ -0,0 +1,686 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain.generator;
+
+import static java.lang.classfile.ClassFile.ACC_FINAL;
+import static java.lang.classfile.ClassFile.ACC_PRIVATE;
+import static java.lang.classfile.ClassFile.ACC_PUBLIC;
+import static java.lang.classfile.ClassFile.ACC_STATIC;
+import static java.lang.classfile.ClassFile.ACC_SYNTHETIC;
+import static java.lang.constant.ConstantDescs.*;
+
+import es.nachobrito.jsonschema.compiler.domain.CompilerException;
+import es.nachobrito.jsonschema.compiler.domain.Property;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.lang.classfile.ClassBuilder;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.TypeKind;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.net.InetAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Generates {@code writeBinary(ByteBuffer)} and {@code readBinary(ByteBuffer)} methods, that encode
+ * the instance in a compact binary format. Properties are written in the order of the schema, with
+ * no names, so the layout is fixed at compile time:
+ *
+ * <ul>
+ *   <li>an 8 byte fingerprint of the names and types of the properties, and of the nested classes
+ *       and enums, checked when reading
+ *   <li>a presence bitmap, with one bit per property that is not primitive, set if it is not null
+ *   <li>the value of every present property
+ * </ul>
+ *
+ * <p>Integers (and lengths) are zigzag varints, doubles take 8 bytes, booleans one. Strings are
+ * length-prefixed UTF-8, uuids two longs and dates their epoch day. Other formats are written as
+ * their ISO-8601 or URI string. Array items are preceded by one presence byte when they are not
+ * primitive. Nested objects are written inline, with their own bitmap and no fingerprint.
+ */
+record BinaryCodecGenerator(RuntimeConfiguration runtimeConfiguration, ClassGenerationParams params)
+    implements ModelGenerator {
+  static final String WRITE_METHOD = "writeBinary";
+  static final String READ_METHOD = "readBinary";
+  /** The same methods without the fingerprint, used for nested objects. */
+  static final String WRITE_FIELDS_METHOD = "writeBinaryFields";
+
+  static final String READ_FIELDS_METHOD = "readBinaryFields";
+
+  static final ClassDesc CD_ByteBuffer = ClassDesc.of(ByteBuffer.class.getName());
+  private static final ClassDesc CD_Charset = ClassDesc.of(Charset.class.getName());
+  private static final ClassDesc CD_StandardCharsets =
+      ClassDesc.of(StandardCharsets.class.getName());
+  private static final ClassDesc CD_UUID = ClassDesc.of(UUID.class.getName());
+  private static final ClassDesc CD_LocalDate = ClassDesc.of(LocalDate.class.getName());
+  private static final ClassDesc CD_InetAddress = ClassDesc.of(InetAddress.class.getName());
+  private static final ClassDesc CD_URI = ClassDesc.of(URI.class.getName());
+  private static final ClassDesc CD_CharSequence = ClassDesc.of(CharSequence.class.getName());
+  private static final ClassDesc CD_IllegalArgumentException =
+      ClassDesc.of(IllegalArgumentException.class.getName());
+
+  private static final String WRITE_VARINT = "$writeVarLong";
+  private static final String READ_VARINT = "$readVarLong";
+  private static final String WRITE_STRING = "$writeString";
+  private static final String READ_STRING = "$readString";
+
+  /** Types written as a string, and the static factory method that parses them. */
+  private static final Map<ClassDesc, String> TEXT_TYPES =
+      Map.of(
+          ClassDesc.of(OffsetDateTime.class.getName()), "parse",
+          ClassDesc.of(OffsetTime.class.getName()), "parse",
+          ClassDesc.of(Duration.class.getName()), "parse",
+          CD_URI, "create");
+
+  private static final Map<ClassDesc, ClassDesc> BOXED_TYPES =
+      Map.of(
+          CD_Byte, CD_byte,
+          CD_Short, CD_short,
+          CD_Integer, CD_int,
+          CD_Long, CD_long,
+          CD_Double, CD_double,
+          CD_Boolean, CD_boolean);
+
+  private static final int THIS_SLOT = 0;
+  private static final int WRITE_BUFFER_SLOT = 1;
+  private static final int READ_BUFFER_SLOT = 0;
+
+  @Override
+  public void generatePart() {
+    var classDesc = params.classDesc();
+    for (var property : params.properties().values()) {
+      if (property.type().equals(CD_Object) || property.type().equals(CD_Object.arrayType())) {
+        throw new CompilerException(
+            "The binary codec does not support the untyped property %s of %s"
+                .formatted(property.key(), classDesc.displayName()));
+      }
+    }
+    buildHelpers(params.classBuilder(), classDesc);
+
+    var fingerprint = fingerprint();
+    params
+        .classBuilder()
+        .withMethodBody(
+            WRITE_METHOD,
+            MethodTypeDesc.of(CD_void, CD_ByteBuffer),
+            ACC_PUBLIC | ACC_FINAL,
+            cob ->
+                cob.aload(WRITE_BUFFER_SLOT)
+                    .ldc(fingerprint)
+                    .invokevirtual(
+                        CD_ByteBuffer, "putLong", MethodTypeDesc.of(CD_ByteBuffer, CD_long))
+                    .pop()
+                    .aload(THIS_SLOT)
+                    .aload(WRITE_BUFFER_SLOT)
+                    .invokevirtual(
+                        classDesc, WRITE_FIELDS_METHOD, MethodTypeDesc.of(CD_void, CD_ByteBuffer))
+                    .return_())
+        .withMethodBody(
+            READ_METHOD,
+            MethodTypeDesc.of(classDesc, CD_ByteBuffer),
+            ACC_PUBLIC | ACC_STATIC,
+            cob -> {
+              var matches = cob.newLabel();
+              cob.aload(READ_BUFFER_SLOT)
+                  .invokevirtual(CD_ByteBuffer, "getLong", MethodTypeDesc.of(CD_long))
+                  .ldc(fingerprint)
+                  .lcmp()
+                  .ifeq(matches)
+                  .new_(CD_IllegalArgumentException)
+                  .dup()
+                  .ldc("Binary data does not match %s".formatted(classDesc.displayName()))
+                  .invokespecial(
+                      CD_IllegalArgumentException, INIT_NAME, MethodTypeDesc.of(CD_void, CD_String))
+                  .athrow()
+                  .labelBinding(matches)
+                  .aload(READ_BUFFER_SLOT)
+                  .invokestatic(
+                      classDesc, READ_FIELDS_METHOD, MethodTypeDesc.of(classDesc, CD_ByteBuffer))
+                  .areturn();
+            })
+        // public but synthetic, so they can be called by other generated classes only
+        .withMethodBody(
+            WRITE_FIELDS_METHOD,
+            MethodTypeDesc.of(CD_void, CD_ByteBuffer),
+            ACC_PUBLIC | ACC_FINAL | ACC_SYNTHETIC,
+            this::buildWriteFields)
+        .withMethodBody(
+            READ_FIELDS_METHOD,
+            MethodTypeDesc.of(classDesc, CD_ByteBuffer),
+            ACC_PUBLIC | ACC_STATIC | ACC_SYNTHETIC,
+            this::buildReadFields);
+  }
+
+  /**
+   * FNV-1a hash of the names and types of the properties, followed by those of every nested class
+   * the record reaches and the values of every nested enum, as they are all written inline.
+   */
+  private long fingerprint() {
+    var text = new StringBuilder();
+    appendShape(text, params.properties());
+    var root = params.schemas().get(params.classDesc());
+    if (root != null) {
+      for (var nested : root.reachableSchemas(params.schemas()).stream().skip(1).toList()) {
+        text.append('{').append(nested.className()).append('=');
+        if (nested.isEnum()) {
+          text.append(String.join(",", nested.enumValues()));
+        } else {
+          appendShape(text, nested.properties());
+        }
+        text.append('}');
+      }
+    }
+    var hash = 0xcbf29ce484222325L;
+    for (byte b : text.toString().getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  private static void appendShape(StringBuilder text, Map<String, Property> properties) {
+    for (var property : properties.values()) {
+      text.append("%s:%s;".formatted(property.key(), property.type().descriptorString()));
+    }
+  }
+
+  private void buildWriteFields(CodeBuilder cob) {
+    var bitmap = PresenceBitmap.of(runtimeConfiguration, params);
+    var nullableList =
+        params.properties().values().stream().filter(it -> !it.type().isPrimitive()).toList();
+    for (int first = 0; first < nullableList.size(); first += 8) {
+      cob.aload(WRITE_BUFFER_SLOT).iconst_0();
+      for (int bit = 0; bit < 8 && first + bit < nullableList.size(); bit++) {
+        var property = nullableList.get(first + bit);
+        var absent = cob.newLabel();
+        if (bitmap.contains(property)) {
+          bitmap.loadPresence(cob, THIS_SLOT, property);
+          cob.ifeq(absent);
+        } else {
+          bitmap.loadValue(cob, THIS_SLOT, property);
+          cob.ifnull(absent);
+        }
+        cob.ldc(1 << bit)
+            .ior()
+            .labelBinding(absent);
+      }
+      putByte(cob);
+    }
+    for (var property : params.properties().values()) {
+      if (bitmap.contains(property)) {
+        // the primitive field is written as is, without boxing it
+        var absent = cob.newLabel();
+        bitmap.loadPresence(cob, THIS_SLOT, property);
+        cob.ifeq(absent).aload(WRITE_BUFFER_SLOT);
+        bitmap.loadField(cob, THIS_SLOT, property);
+        writePrimitive(cob, params.classDesc(), bitmap.fieldType(property));
+        cob.labelBinding(absent);
+        continue;
+      }
+      var type = property.type();
+      var kind = TypeKind.from(type);
+      var slot = cob.allocateLocal(kind);
+      var next = cob.newLabel();
+      bitmap.loadValue(cob, THIS_SLOT, property);
+      cob.storeLocal(kind, slot);
+      if (!type.isPrimitive()) {
+        cob.aload(slot).ifnull(next);
+      }
+      writeValue(cob, type, slot);
+      cob.labelBinding(next);
+    }
+    cob.return_();
+  }
+
+  private void writeValue(CodeBuilder cob, ClassDesc type, int slot) {
+    var classDesc = params.classDesc();
+    if (type.isPrimitive()) {
+      cob.aload(WRITE_BUFFER_SLOT).loadLocal(TypeKind.from(type), slot);
+      writePrimitive(cob, classDesc, type);
+    } else if (BOXED_TYPES.containsKey(type)) {
+      var primitive = BOXED_TYPES.get(type);
+      cob.aload(WRITE_BUFFER_SLOT)
+          .aload(slot)
+          .invokevirtual(
+              type, "%sValue".formatted(primitive.displayName()), MethodTypeDesc.of(primitive));
+      writePrimitive(cob, classDesc, primitive);
+    } else if (type.equals(CD_String)) {
+      cob.aload(WRITE_BUFFER_SLOT).aload(slot);
+      writeString(cob, classDesc);
+    } else if (type.equals(CD_UUID)) {
+      for (var bits : new String[] {"getMostSignificantBits", "getLeastSignificantBits"}) {
+        cob.aload(WRITE_BUFFER_SLOT)
+            .aload(slot)
+            .invokevirtual(CD_UUID, bits, MethodTypeDesc.of(CD_long))
+            .invokevirtual(CD_ByteBuffer, "putLong", MethodTypeDesc.of(CD_ByteBuffer, CD_long))
+            .pop();
+      }
+    } else if (type.equals(CD_LocalDate)) {
+      cob.aload(WRITE_BUFFER_SLOT)
+          .aload(slot)
+          .invokevirtual(CD_LocalDate, "toEpochDay", MethodTypeDesc.of(CD_long));
+      writeVarLong(cob, classDesc);
+    } else if (TEXT_TYPES.containsKey(type)) {
+      cob.aload(WRITE_BUFFER_SLOT)
+          .aload(slot)
+          .invokevirtual(type, "toString", MethodTypeDesc.of(CD_String));
+      writeString(cob, classDesc);
+    } else if (type.packageName().equals("java.net")) {
+      // Inet4Address and Inet6Address, 4 or 16 bytes
+      cob.aload(WRITE_BUFFER_SLOT)
+          .aload(slot)
+          .invokevirtual(CD_InetAddress, "getAddress", MethodTypeDesc.of(CD_byte.arrayType()))
+          .invokevirtual(
+              CD_ByteBuffer, "put", MethodTypeDesc.of(CD_ByteBuffer, CD_byte.arrayType()))
+          .pop();
+    } else if (type.isArray()) {
+      writeArray(cob, type, slot);
+    } else {
+      // Any other type is a class generated from the same schema
+      cob.aload(slot)
+          .aload(WRITE_BUFFER_SLOT)
+          .invokevirtual(type, WRITE_FIELDS_METHOD, MethodTypeDesc.of(CD_void, CD_ByteBuffer));
+    }
+  }
+
+  private void writeArray(CodeBuilder cob, ClassDesc type, int slot) {
+    var componentType = type.componentType();
+    var componentKind = TypeKind.from(componentType);
+    var index = cob.allocateLocal(TypeKind.INT);
+    var element = cob.allocateLocal(componentKind);
+    var nextElement = cob.newLabel();
+    var endArray = cob.newLabel();
+    cob.aload(WRITE_BUFFER_SLOT).aload(slot).arraylength().i2l();
+    writeVarLong(cob, params.classDesc());
+    cob.iconst_0()
+        .istore(index)
+        .labelBinding(nextElement)
+        .iload(index)
+        .aload(slot)
+        .arraylength()
+        .if_icmpge(endArray)
+        .aload(slot)
+        .iload(index)
+        .arrayLoad(componentKind)
+        .storeLocal(componentKind, element);
+    if (componentType.isPrimitive()) {
+      writeValue(cob, componentType, element);
+    } else {
+      var present = cob.newLabel();
+      var next = cob.newLabel();
+      cob.aload(element).ifnonnull(present).aload(WRITE_BUFFER_SLOT).iconst_0();
+      putByte(cob);
+      cob.goto_(next).labelBinding(present).aload(WRITE_BUFFER_SLOT).iconst_1();
+      putByte(cob);
+      writeValue(cob, componentType, element);
+      cob.labelBinding(next);
+    }
+    cob.iinc(index, 1).goto_(nextElement).labelBinding(endArray);
+  }
+
+  private void buildReadFields(CodeBuilder cob) {
+    var classDesc = params.classDesc();
+    var nullableList =
+        params.properties().values().stream().filter(it -> !it.type().isPrimitive()).toList();
+    var bitmaps = new int[(nullableList.size() + 7) / 8];
+    for (int i = 0; i < bitmaps.length; i++) {
+      bitmaps[i] = cob.allocateLocal(TypeKind.INT);
+      cob.aload(READ_BUFFER_SLOT)
+          .invokevirtual(CD_ByteBuffer, "get", MethodTypeDesc.of(CD_byte))
+          .istore(bitmaps[i]);
+    }
+    var slots = new int[params.properties().size()];
+    var i = 0;
+    for (var property : params.properties().values()) {
+      var type = property.type();
+      var kind = TypeKind.from(type);
+      slots[i] = cob.allocateLocal(kind);
+      if (type.isPrimitive()) {
+        readValue(cob, type);
+        cob.storeLocal(kind, slots[i]);
+      } else {
+        var position = nullableList.indexOf(property);
+        var next = cob.newLabel();
+        cob.aconst_null()
+            .astore(slots[i])
+            .iload(bitmaps[position / 8])
+            .ldc(1 << (position % 8))
+            .iand()
+            .ifeq(next);
+        readValue(cob, type);
+        cob.astore(slots[i]).labelBinding(next);
+      }
+      i++;
+    }
+    cob.new_(classDesc).dup();
+    i = 0;
+    for (var property : params.properties().values()) {
+      cob.loadLocal(TypeKind.from(property.type()), slots[i++]);
+    }
+    cob.invokespecial(
+            classDesc,
+            INIT_NAME,
+            MethodTypeDesc.of(
+                CD_void,
+                params.properties().values().stream()
+                    .map(Property::type)
+                    .toArray(ClassDesc[]::new)))
+        .areturn();
+  }
+
+  /** Reads a non-null value of the given type, leaving it on the stack. */
+  private void readValue(CodeBuilder cob, ClassDesc type) {
+    var classDesc = params.classDesc();
+    if (type.isPrimitive()) {
+      cob.aload(READ_BUFFER_SLOT);
+      readPrimitive(cob, classDesc, type);
+    } else if (BOXED_TYPES.containsKey(type)) {
+      var primitive = BOXED_TYPES.get(type);
+      cob.aload(READ_BUFFER_SLOT);
+      readPrimitive(cob, classDesc, primitive);
+      cob.invokestatic(type, "valueOf", MethodTypeDesc.of(type, primitive));
+    } else if (type.equals(CD_String)) {
+      cob.aload(READ_BUFFER_SLOT);
+      readString(cob, classDesc);
+    } else if (type.equals(CD_UUID)) {
+      cob.new_(CD_UUID).dup();
+      for (int i = 0; i < 2; i++) {
+        cob.aload(READ_BUFFER_SLOT)
+            .invokevirtual(CD_ByteBuffer, "getLong", MethodTypeDesc.of(CD_long));
+      }
+      cob.invokespecial(CD_UUID, INIT_NAME, MethodTypeDesc.of(CD_void, CD_long, CD_long));
+    } else if (type.equals(CD_LocalDate)) {
+      cob.aload(READ_BUFFER_SLOT);
+      readVarLong(cob, classDesc);
+      cob.invokestatic(CD_LocalDate, "ofEpochDay", MethodTypeDesc.of(CD_LocalDate, CD_long));
+    } else if (TEXT_TYPES.containsKey(type)) {
+      var parameterType = type.equals(CD_URI) ? CD_String : CD_CharSequence;
+      cob.aload(READ_BUFFER_SLOT);
+      readString(cob, classDesc);
+      cob.invokestatic(type, TEXT_TYPES.get(type), MethodTypeDesc.of(type, parameterType));
+    } else if (type.packageName().equals("java.net")) {
+      cob.aload(READ_BUFFER_SLOT)
+          .ldc(type.displayName().equals("Inet6Address") ? 16 : 4)
+          .newarray(TypeKind.BYTE)
+          .dup_x1()
+          .invokevirtual(
+              CD_ByteBuffer, "get", MethodTypeDesc.of(CD_ByteBuffer, CD_byte.arrayType()))
+          .pop()
+          .invokestatic(
+              CD_InetAddress,
+              "getByAddress",
+              MethodTypeDesc.of(CD_InetAddress, CD_byte.arrayType()))
+          .checkcast(type);
+    } else if (type.isArray()) {
+      readArray(cob, type);
+    } else {
+      cob.aload(READ_BUFFER_SLOT)
+          .invokestatic(type, READ_FIELDS_METHOD, MethodTypeDesc.of(type, CD_ByteBuffer));
+    }
+  }
+
+  private void readArray(CodeBuilder cob, ClassDesc type) {
+    var componentType = type.componentType();
+    var componentKind = TypeKind.from(componentType);
+    var array = cob.allocateLocal(TypeKind.REFERENCE);
+    var index = cob.allocateLocal(TypeKind.INT);
+    var nextElement = cob.newLabel();
+    var endArray = cob.newLabel();
+    cob.aload(READ_BUFFER_SLOT);
+    readVarLong(cob, params.classDesc());
+    cob.l2i();
+    if (componentType.isPrimitive()) {
+      cob.newarray(componentKind);
+    } else {
+      cob.anewarray(componentType);
+    }
+    cob.astore(array)
+        .iconst_0()
+        .istore(index)
+        .labelBinding(nextElement)
+        .iload(index)
+        .aload(array)
+        .arraylength()
+        .if_icmpge(endArray);
+    var next = cob.newLabel();
+    if (!componentType.isPrimitive()) {
+      cob.aload(READ_BUFFER_SLOT)
+          .invokevirtual(CD_ByteBuffer, "get", MethodTypeDesc.of(CD_byte))
+          .ifeq(next);
+    }
+    cob.aload(array).iload(index);
+    readValue(cob, componentType);
+    cob.arrayStore(componentKind)
+        .labelBinding(next)
+        .iinc(index, 1)
+        .goto_(nextElement)
+        .labelBinding(endArray)
+        .aload(array);
+  }
+
+  /** Writes the primitive value on top of the stack, with the buffer below it. */
+  static void writePrimitive(CodeBuilder cob, ClassDesc owner, ClassDesc type) {
+    switch (type.descriptorString()) {
+      case "Z", "B" -> putByte(cob);
+      case "S", "I" -> {
+        cob.i2l();
+        writeVarLong(cob, owner);
+      }
+      case "J" -> writeVarLong(cob, owner);
+      case "F" ->
+          cob.invokevirtual(CD_ByteBuffer, "putFloat", MethodTypeDesc.of(CD_ByteBuffer, CD_float))
+              .pop();
+      case "D" ->
+          cob.invokevirtual(
+                  CD_ByteBuffer, "putDouble", MethodTypeDesc.of(CD_ByteBuffer, CD_double))
+              .pop();
+      default ->
+          throw new IllegalArgumentException(
+              "Unsupported primitive type: %s".formatted(type.displayName()));
+    }
+  }
+
+  /** Reads a primitive value from the buffer on top of the stack. */
+  static void readPrimitive(CodeBuilder cob, ClassDesc owner, ClassDesc type) {
+    switch (type.descriptorString()) {
+      case "Z", "B" -> cob.invokevirtual(CD_ByteBuffer, "get", MethodTypeDesc.of(CD_byte));
+      case "S" -> {
+        readVarLong(cob, owner);
+        cob.l2i().i2s();
+      }
+      case "I" -> {
+        readVarLong(cob, owner);
+        cob.l2i();
+      }
+      case "J" -> readVarLong(cob, owner);
+      case "F" -> cob.invokevirtual(CD_ByteBuffer, "getFloat", MethodTypeDesc.of(CD_float));
+      case "D" -> cob.invokevirtual(CD_ByteBuffer, "getDouble", MethodTypeDesc.of(CD_double));
+      default ->
+          throw new IllegalArgumentException(
+              "Unsupported primitive type: %s".formatted(type.displayName()));
+    }
+  }
+
+  private static void putByte(CodeBuilder cob) {
+    cob.i2b().invokevirtual(CD_ByteBuffer, "put", MethodTypeDesc.of(CD_ByteBuffer, CD_byte)).pop();
+  }
+
+  static void writeVarLong(CodeBuilder cob, ClassDesc owner) {
+    cob.invokestatic(owner, WRITE_VARINT, MethodTypeDesc.of(CD_void, CD_ByteBuffer, CD_long));
+  }
+
+  static void readVarLong(CodeBuilder cob, ClassDesc owner) {
+    cob.invokestatic(owner, READ_VARINT, MethodTypeDesc.of(CD_long, CD_ByteBuffer));
+  }
+
+  private static void writeString(CodeBuilder cob, ClassDesc owner) {
+    cob.invokestatic(owner, WRITE_STRING, MethodTypeDesc.of(CD_void, CD_ByteBuffer, CD_String));
+  }
+
+  private static void readString(CodeBuilder cob, ClassDesc owner) {
+    cob.invokestatic(owner, READ_STRING, MethodTypeDesc.of(CD_String, CD_ByteBuffer));
+  }
+
+  /**
+   * Adds the private static methods that read and write varints and strings to the class, so the
+   * generated code does not depend on any library.
+   */
+  static void buildHelpers(ClassBuilder classBuilder, ClassDesc owner) {
+    var flags = ACC_PRIVATE | ACC_STATIC | ACC_SYNTHETIC;
+    // zigzag = (value << 1) ^ (value >> 63), written 7 bits at a time, lowest first
+    classBuilder.withMethodBody(
+        WRITE_VARINT,
+        MethodTypeDesc.of(CD_void, CD_ByteBuffer, CD_long),
+        flags,
+        cob -> {
+          var zigzag = cob.allocateLocal(TypeKind.LONG);
+          var next = cob.newLabel();
+          var last = cob.newLabel();
+          cob.lload(1)
+              .iconst_1()
+              .lshl()
+              .lload(1)
+              .bipush(63)
+              .lshr()
+              .lxor()
+              .lstore(zigzag)
+              .labelBinding(next)
+              .lload(zigzag)
+              .ldc(~0x7FL)
+              .land()
+              .lconst_0()
+              .lcmp()
+              .ifeq(last)
+              .aload(0)
+              .lload(zigzag)
+              .l2i()
+              .bipush(0x7F)
+              .iand()
+              .sipush(0x80)
+              .ior();
+          putByte(cob);
+          cob.lload(zigzag)
+              .bipush(7)
+              .lushr()
+              .lstore(zigzag)
+              .goto_(next)
+              .labelBinding(last)
+              .aload(0)
+              .lload(zigzag)
+              .l2i();
+          putByte(cob);
+          cob.return_();
+        });
+    classBuilder.withMethodBody(
+        READ_VARINT,
+        MethodTypeDesc.of(CD_long, CD_ByteBuffer),
+        flags,
+        cob -> {
+          var result = cob.allocateLocal(TypeKind.LONG);
+          var shift = cob.allocateLocal(TypeKind.INT);
+          var current = cob.allocateLocal(TypeKind.INT);
+          var next = cob.newLabel();
+          cob.lconst_0()
+              .lstore(result)
+              .iconst_0()
+              .istore(shift)
+              .labelBinding(next)
+              .aload(0)
+              .invokevirtual(CD_ByteBuffer, "get", MethodTypeDesc.of(CD_byte))
+              .istore(current)
+              .lload(result)
+              .iload(current)
+              .bipush(0x7F)
+              .iand()
+              .i2l()
+              .iload(shift)
+              .lshl()
+              .lor()
+              .lstore(result)
+              .iinc(shift, 7)
+              .iload(current)
+              .sipush(0x80)
+              .iand()
+              .ifne(next)
+              // (result >>> 1) ^ -(result & 1)
+              .lload(result)
+              .iconst_1()
+              .lushr()
+              .lload(result)
+              .lconst_1()
+              .land()
+              .lneg()
+              .lxor()
+              .lreturn();
+        });
+    classBuilder.withMethodBody(
+        WRITE_STRING,
+        MethodTypeDesc.of(CD_void, CD_ByteBuffer, CD_String),
+        flags,
+        cob -> {
+          var bytes = cob.allocateLocal(TypeKind.REFERENCE);
+          cob.aload(1)
+              .getstatic(CD_StandardCharsets, "UTF_8", CD_Charset)
+              .invokevirtual(
+                  CD_String, "getBytes", MethodTypeDesc.of(CD_byte.arrayType(), CD_Charset))
+              .astore(bytes)
+              .aload(0)
+              .aload(bytes)
+              .arraylength()
+              .i2l();
+          writeVarLong(cob, owner);
+          cob.aload(0)
+              .aload(bytes)
+              .invokevirtual(
+                  CD_ByteBuffer, "put", MethodTypeDesc.of(CD_ByteBuffer, CD_byte.arrayType()))
+              .pop()
+              .return_();
+        });
+    classBuilder.withMethodBody(
+        READ_STRING,
+        MethodTypeDesc.of(CD_String, CD_ByteBuffer),
+        flags,
+        cob -> {
+          var bytes = cob.allocateLocal(TypeKind.REFERENCE);
+          cob.aload(0);
+          readVarLong(cob, owner);
+          cob.l2i()
+              .newarray(TypeKind.BYTE)
+              .astore(bytes)
+              .aload(0)
+              .aload(bytes)
+              .invokevirtual(
+                  CD_ByteBuffer, "get", MethodTypeDesc.of(CD_ByteBuffer, CD_byte.arrayType()))
+              .pop()
+              .new_(CD_String)
+              .dup()
+              .aload(bytes)
+              .getstatic(CD_StandardCharsets, "UTF_8", CD_Charset)
+              .invokespecial(
+                  CD_String, INIT_NAME, MethodTypeDesc.of(CD_void, CD_byte.arrayType(), CD_Charset))
+              .areturn();
+        });
+  }
+}
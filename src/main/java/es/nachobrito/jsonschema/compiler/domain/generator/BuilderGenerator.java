@@ -0,0 +1,193 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain.generator;
+
+import static java.lang.classfile.ClassFile.ACC_FINAL;
+import static java.lang.classfile.ClassFile.ACC_PRIVATE;
+import static java.lang.classfile.ClassFile.ACC_PUBLIC;
+import static java.lang.constant.ConstantDescs.*;
+
+import es.nachobrito.jsonschema.compiler.domain.Property;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.TypeKind;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.util.SortedMap;
+
+/**
+ * Generates a {@code <Name>Builder} class, a mutable holder for the properties of a record. A
+ * builder can be reused to create many records, calling {@code reset()} or {@code from(record)}
+ * between them.
+ *
+ * <pre>{@code
+ * public final class ReadingBuilder {
+ *   public ReadingBuilder() {...}
+ *   public ReadingBuilder count(int count) {...}
+ *   public ReadingBuilder from(Reading reading) {...}
+ *   public ReadingBuilder reset() {...}
+ *   public Reading build() {...}
+ * }
+ * }</pre>
+ *
+ * <p>Properties stored in a {@link PresenceBitmap} are stored the same way in the builder, so
+ * {@code from(record)} and {@code build()} copy the primitive and presence fields without boxing
+ * them. The builder is a nestmate of the record, to read its fields and call its raw constructor.
+ */
+record BuilderGenerator(RuntimeConfiguration runtimeConfiguration) implements CompanionGenerator {
+  static final String CLASS_NAME_SUFFIX = "Builder";
+
+  @Override
+  public String classNameSuffix() {
+    return CLASS_NAME_SUFFIX;
+  }
+
+  @Override
+  public boolean supports(SortedMap<String, Property> properties) {
+    return true;
+  }
+
+  @Override
+  public void generate(ClassDesc recordDesc, ClassGenerationParams params) {
+    var builderDesc = params.classDesc();
+    var classBuilder = params.classBuilder();
+    var bitmap = PresenceBitmap.of(runtimeConfiguration, recordDesc, params.properties());
+    var fields = bitmap.withOwner(builderDesc);
+    classBuilder.withFlags(ACC_PUBLIC | ACC_FINAL).withSuperclass(CD_Object);
+    classBuilder.withMethodBody(
+        INIT_NAME,
+        MethodTypeDesc.of(CD_void),
+        ACC_PUBLIC,
+        cob -> cob.aload(0).invokespecial(CD_Object, INIT_NAME, MTD_void).return_());
+
+    for (var property : params.properties().values()) {
+      var type = property.type();
+      classBuilder
+          .withField(property.formattedName(), fields.fieldType(property), ACC_PRIVATE)
+          .withMethodBody(
+              property.formattedName(),
+              MethodTypeDesc.of(builderDesc, type),
+              ACC_PUBLIC | ACC_FINAL,
+              cob -> {
+                if (fields.contains(property)) {
+                  fields.clearValue(cob, 0, property);
+                }
+                fields.storeValue(cob, 0, 1, property);
+                cob.aload(0).areturn();
+              });
+    }
+    for (var word : fields.wordNames()) {
+      classBuilder.withField(word, fields.wordType(), ACC_PRIVATE);
+    }
+
+    buildFrom(params, bitmap, fields);
+    buildReset(params, fields);
+    buildBuild(recordDesc, params, fields);
+  }
+
+  /** from(record): copies every field of the record, as it is stored. */
+  private static void buildFrom(
+      ClassGenerationParams params, PresenceBitmap bitmap, PresenceBitmap fields) {
+    var builderDesc = params.classDesc();
+    params
+        .classBuilder()
+        .withMethodBody(
+            "from",
+            MethodTypeDesc.of(builderDesc, bitmap.owner()),
+            ACC_PUBLIC | ACC_FINAL,
+            cob -> {
+              for (var property : params.properties().values()) {
+                cob.aload(0);
+                bitmap.loadField(cob, 1, property);
+                cob.putfield(builderDesc, property.formattedName(), fields.fieldType(property));
+              }
+              for (var word : fields.wordNames()) {
+                cob.aload(0);
+                bitmap.loadWord(cob, 1, word);
+                cob.putfield(builderDesc, word, fields.wordType());
+              }
+              cob.aload(0).areturn();
+            });
+  }
+
+  /** reset(): sets every property back to null, or zero. */
+  private static void buildReset(ClassGenerationParams params, PresenceBitmap fields) {
+    var builderDesc = params.classDesc();
+    params
+        .classBuilder()
+        .withMethodBody(
+            "reset",
+            MethodTypeDesc.of(builderDesc),
+            ACC_PUBLIC | ACC_FINAL,
+            cob -> {
+              for (var property : params.properties().values()) {
+                var fieldType = fields.fieldType(property);
+                cob.aload(0);
+                loadDefault(cob, fieldType);
+                cob.putfield(builderDesc, property.formattedName(), fieldType);
+              }
+              for (var word : fields.wordNames()) {
+                cob.aload(0);
+                loadDefault(cob, fields.wordType());
+                cob.putfield(builderDesc, word, fields.wordType());
+              }
+              cob.aload(0).areturn();
+            });
+  }
+
+  private static void loadDefault(CodeBuilder cob, ClassDesc type) {
+    switch (TypeKind.from(type)) {
+      case LONG -> cob.lconst_0();
+      case FLOAT -> cob.fconst_0();
+      case DOUBLE -> cob.dconst_0();
+      case REFERENCE -> cob.aconst_null();
+      default -> cob.iconst_0();
+    }
+  }
+
+  /**
+   * build(): calls the canonical constructor with the current values, or the raw constructor if
+   * some of them are stored in the bitmap.
+   */
+  private void buildBuild(
+      ClassDesc recordDesc, ClassGenerationParams params, PresenceBitmap fields) {
+    var builderDesc = params.classDesc();
+    var propertyTypes =
+        params.properties().values().stream().map(Property::type).toArray(ClassDesc[]::new);
+    var constructorType =
+        fields.hasRawConstructor(runtimeConfiguration)
+            ? fields.rawConstructorType()
+            : MethodTypeDesc.of(CD_void, propertyTypes);
+    params
+        .classBuilder()
+        .withMethodBody(
+            "build",
+            MethodTypeDesc.of(recordDesc),
+            ACC_PUBLIC | ACC_FINAL,
+            cob -> {
+              cob.new_(recordDesc).dup();
+              for (var property : params.properties().values()) {
+                cob.aload(0)
+                    .getfield(builderDesc, property.formattedName(), fields.fieldType(property));
+              }
+              for (var word : fields.wordNames()) {
+                cob.aload(0).getfield(builderDesc, word, fields.wordType());
+              }
+              cob.invokespecial(recordDesc, INIT_NAME, constructorType).areturn();
+            });
+  }
+}
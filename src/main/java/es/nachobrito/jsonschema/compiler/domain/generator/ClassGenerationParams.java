@@ -17,9 +17,33 @@
 package es.nachobrito.jsonschema.compiler.domain.generator;
 
 import es.nachobrito.jsonschema.compiler.domain.Property;
+import es.nachobrito.jsonschema.compiler.domain.Schema;
 import java.lang.classfile.ClassBuilder;
 import java.lang.constant.ClassDesc;
+import java.util.Map;
 import java.util.SortedMap;
 
+/**
+ * @param schemas the schemas of every generated class, by class, to inspect the types of the
+ *     properties that refer to them
+ */
 public record ClassGenerationParams(
-    ClassDesc classDesc, ClassBuilder classBuilder, SortedMap<String, Property> properties) {}
+    ClassDesc classDesc,
+    ClassBuilder classBuilder,
+    SortedMap<String, Property> properties,
+    Map<ClassDesc, Schema> schemas,
+    StaticInitializer staticInitializer) {
+
+  public ClassGenerationParams(
+      ClassDesc classDesc, ClassBuilder classBuilder, SortedMap<String, Property> properties) {
+    this(classDesc, classBuilder, properties, Map.of());
+  }
+
+  public ClassGenerationParams(
+      ClassDesc classDesc,
+      ClassBuilder classBuilder,
+      SortedMap<String, Property> properties,
+      Map<ClassDesc, Schema> schemas) {
+    this(classDesc, classBuilder, properties, schemas, new StaticInitializer());
+  }
+}
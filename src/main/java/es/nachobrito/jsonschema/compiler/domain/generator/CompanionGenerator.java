@@ -0,0 +1,64 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain.generator;
+
+import es.nachobrito.jsonschema.compiler.domain.Property;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.lang.constant.ClassDesc;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Generates an additional class for a schema, next to its record. Companion classes are named after
+ * the record plus a suffix, and live in the same package.
+ */
+public interface CompanionGenerator {
+
+  static List<CompanionGenerator> of(RuntimeConfiguration runtimeConfiguration) {
+    var generators = new ArrayList<CompanionGenerator>();
+    if (runtimeConfiguration.withOffHeapViews()) {
+      generators.add(new OffHeapViewGenerator(runtimeConfiguration));
+    }
+    if (runtimeConfiguration.withBatches()) {
+      generators.add(new BatchGenerator(runtimeConfiguration));
+    }
+    if (runtimeConfiguration.withBuilders()) {
+      generators.add(new BuilderGenerator(runtimeConfiguration));
+    }
+    return generators;
+  }
+
+  /**
+   * @return the suffix appended to the record name to name the companion class
+   */
+  String classNameSuffix();
+
+  /**
+   * @param properties the properties of the schema
+   * @return true if a companion class can be generated for a schema with these properties
+   */
+  boolean supports(SortedMap<String, Property> properties);
+
+  /**
+   * Generates the companion class.
+   *
+   * @param recordDesc the record generated for the schema
+   * @param params the companion class, and the properties of the schema
+   */
+  void generate(ClassDesc recordDesc, ClassGenerationParams params);
+}
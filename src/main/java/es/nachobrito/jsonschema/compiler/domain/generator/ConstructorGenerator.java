@@ -16,7 +16,9 @@
 
 package es.nachobrito.jsonschema.compiler.domain.generator;
 
+import static java.lang.classfile.ClassFile.ACC_PRIVATE;
 import static java.lang.classfile.ClassFile.ACC_PUBLIC;
+import static java.lang.classfile.ClassFile.ACC_SYNTHETIC;
 import static java.lang.constant.ClassDesc.of;
 import static java.lang.constant.ConstantDescs.CD_void;
 import static java.lang.constant.ConstantDescs.INIT_NAME;
@@ -27,6 +29,7 @@ import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConf
 import java.lang.classfile.Annotation;
 import java.lang.classfile.AnnotationElement;
 import java.lang.classfile.ClassBuilder;
+import java.lang.classfile.TypeKind;
 import java.lang.classfile.attribute.RuntimeVisibleParameterAnnotationsAttribute;
 import java.lang.constant.ClassDesc;
 import java.lang.constant.MethodTypeDesc;
@@ -42,6 +45,7 @@ record ConstructorGenerator(
   public void generatePart() {
     var propertyTypes =
         params.properties().values().stream().map(Property::type).toArray(ClassDesc[]::new);
+    var bitmap = PresenceBitmap.of(runtimeConfiguration, params);
 
     params.classBuilder().withMethod(
         INIT_NAME,
@@ -54,14 +58,12 @@ record ConstructorGenerator(
                 codeBuilder
                     .aload(0)
                     .invokespecial(of("java.lang.Record"), INIT_NAME, MethodTypeDesc.of(CD_void));
-                // Set params.properties():
-                int index = 1;
+                // Set params.properties(), long and double parameters take two slots:
+                int slot = 1;
                 for (var entry : params.properties().entrySet()) {
-                  codeBuilder
-                      .aload(0)
-                      .aload(index++)
-                      .putfield(
-                          params.classDesc(), entry.getValue().formattedName(), entry.getValue().type());
+                  var kind = TypeKind.from(entry.getValue().type());
+                  bitmap.storeValue(codeBuilder, 0, slot, entry.getValue());
+                  slot += kind.slotSize();
                 }
                 codeBuilder.return_();
               });
@@ -79,5 +81,42 @@ record ConstructorGenerator(
             methodBuilder.with(RuntimeVisibleParameterAnnotationsAttribute.of(annotations));
           }
         });
+    if (bitmap.hasRawConstructor(runtimeConfiguration)) {
+      buildRawConstructor(bitmap);
+    }
+  }
+
+  /**
+   * The raw constructor assigns the fields as they are stored, primitive values and presence
+   * fields, so records can be copied without boxing the values in the bitmap. It is synthetic, so
+   * Jackson does not consider it a creator.
+   */
+  private void buildRawConstructor(PresenceBitmap bitmap) {
+    var classDesc = params.classDesc();
+    params
+        .classBuilder()
+        .withMethodBody(
+            INIT_NAME,
+            bitmap.rawConstructorType(),
+            ACC_PRIVATE | ACC_SYNTHETIC,
+            cob -> {
+              cob.aload(0)
+                  .invokespecial(of("java.lang.Record"), INIT_NAME, MethodTypeDesc.of(CD_void));
+              int slot = 1;
+              for (var property : params.properties().values()) {
+                var fieldType = bitmap.fieldType(property);
+                var kind = TypeKind.from(fieldType);
+                cob.aload(0)
+                    .loadLocal(kind, slot)
+                    .putfield(classDesc, property.formattedName(), fieldType);
+                slot += kind.slotSize();
+              }
+              var wordKind = TypeKind.from(bitmap.wordType());
+              for (var word : bitmap.wordNames()) {
+                cob.aload(0).loadLocal(wordKind, slot).putfield(classDesc, word, bitmap.wordType());
+                slot += wordKind.slotSize();
+              }
+              cob.return_();
+            });
   }
 }
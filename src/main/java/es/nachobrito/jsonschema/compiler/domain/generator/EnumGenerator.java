@@ -0,0 +1,418 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain.generator;
+
+import static java.lang.classfile.ClassFile.ACC_ENUM;
+import static java.lang.classfile.ClassFile.ACC_FINAL;
+import static java.lang.classfile.ClassFile.ACC_PRIVATE;
+import static java.lang.classfile.ClassFile.ACC_PUBLIC;
+import static java.lang.classfile.ClassFile.ACC_STATIC;
+import static java.lang.classfile.ClassFile.ACC_SUPER;
+import static java.lang.classfile.ClassFile.ACC_SYNTHETIC;
+import static java.lang.constant.ConstantDescs.*;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import es.nachobrito.jsonschema.compiler.domain.CompilerException;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.io.IOException;
+import java.lang.classfile.Annotation;
+import java.lang.classfile.ClassSignature;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.Label;
+import java.lang.classfile.Signature;
+import java.lang.classfile.attribute.ExceptionsAttribute;
+import java.lang.classfile.attribute.RuntimeVisibleAnnotationsAttribute;
+import java.lang.classfile.attribute.SignatureAttribute;
+import java.lang.classfile.instruction.SwitchCase;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Generates a java enum for a string property with an {@code enum} keyword. Every constant keeps
+ * its json value, returned by {@code value()} and {@code toString()}, and parsed by the static
+ * {@code fromValue(String)} method.
+ *
+ * <p>{@code fromValue} switches on the length and the first character of the value, so most
+ * lookups need a single {@code String.equals} call, and no hashing. The enum also gets the {@code
+ * fromJson}, {@code writeTo}, {@code validate} and binary codec methods that records call on
+ * their nested classes, when those are enabled.
+ */
+record EnumGenerator(
+    RuntimeConfiguration runtimeConfiguration, ClassGenerationParams params, List<String> values)
+    implements ModelGenerator {
+  private static final ClassDesc CD_JsonParser = ClassDesc.of(JsonParser.class.getName());
+  private static final ClassDesc CD_JsonToken = ClassDesc.of(JsonToken.class.getName());
+  private static final ClassDesc CD_JsonGenerator = ClassDesc.of(JsonGenerator.class.getName());
+  private static final ClassDesc CD_IOException = ClassDesc.of(IOException.class.getName());
+  private static final ClassDesc CD_BiConsumer = ClassDesc.of(BiConsumer.class.getName());
+  private static final ClassDesc CD_IllegalArgumentException =
+      ClassDesc.of(IllegalArgumentException.class.getName());
+
+  static final String FROM_VALUE = "fromValue";
+  private static final String VALUE_FIELD = "value";
+  private static final String VALUES_FIELD = "$VALUES";
+
+  @Override
+  public void generatePart() {
+    var enumDesc = params.classDesc();
+    var classBuilder = params.classBuilder();
+    var constants = constantNames(values);
+
+    classBuilder
+        .withFlags(ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_ENUM)
+        .withSuperclass(CD_Enum)
+        .with(
+            SignatureAttribute.of(
+                ClassSignature.of(
+                    Signature.ClassTypeSig.of(
+                        CD_Enum, Signature.TypeArg.of(Signature.ClassTypeSig.of(enumDesc))))));
+    constants.forEach(
+        constant ->
+            classBuilder.withField(
+                constant, enumDesc, ACC_PUBLIC | ACC_STATIC | ACC_FINAL | ACC_ENUM));
+    classBuilder
+        .withField(
+            VALUES_FIELD,
+            enumDesc.arrayType(),
+            ACC_PRIVATE | ACC_STATIC | ACC_FINAL | ACC_SYNTHETIC)
+        .withField(VALUE_FIELD, CD_String, ACC_PRIVATE | ACC_FINAL);
+
+    // private Enum(String name, int ordinal, String value)
+    classBuilder.withMethodBody(
+        INIT_NAME,
+        MethodTypeDesc.of(CD_void, CD_String, CD_int, CD_String),
+        ACC_PRIVATE,
+        cob ->
+            cob.aload(0)
+                .aload(1)
+                .iload(2)
+                .invokespecial(CD_Enum, INIT_NAME, MethodTypeDesc.of(CD_void, CD_String, CD_int))
+                .aload(0)
+                .aload(3)
+                .putfield(enumDesc, VALUE_FIELD, CD_String)
+                .return_());
+    params.staticInitializer().add(cob -> buildConstants(cob, constants));
+
+    classBuilder.withMethodBody(
+        "values",
+        MethodTypeDesc.of(enumDesc.arrayType()),
+        ACC_PUBLIC | ACC_STATIC,
+        cob ->
+            cob.getstatic(enumDesc, VALUES_FIELD, enumDesc.arrayType())
+                .invokevirtual(enumDesc.arrayType(), "clone", MethodTypeDesc.of(CD_Object))
+                .checkcast(enumDesc.arrayType())
+                .areturn());
+    classBuilder.withMethodBody(
+        "valueOf",
+        MethodTypeDesc.of(enumDesc, CD_String),
+        ACC_PUBLIC | ACC_STATIC,
+        cob ->
+            cob.ldc(enumDesc)
+                .aload(0)
+                .invokestatic(
+                    CD_Enum, "valueOf", MethodTypeDesc.of(CD_Enum, CD_Class, CD_String))
+                .checkcast(enumDesc)
+                .areturn());
+    classBuilder.withMethod(
+        VALUE_FIELD,
+        MethodTypeDesc.of(CD_String),
+        ACC_PUBLIC,
+        methodBuilder -> {
+          methodBuilder.withCode(
+              cob -> cob.aload(0).getfield(enumDesc, VALUE_FIELD, CD_String).areturn());
+          if (runtimeConfiguration.withJacksonAnnotations()) {
+            methodBuilder.with(
+                RuntimeVisibleAnnotationsAttribute.of(
+                    Annotation.of(ClassDesc.of(JsonValue.class.getName()))));
+          }
+        });
+    classBuilder.withMethodBody(
+        "toString",
+        MethodTypeDesc.of(CD_String),
+        ACC_PUBLIC,
+        cob -> cob.aload(0).getfield(enumDesc, VALUE_FIELD, CD_String).areturn());
+    classBuilder.withMethod(
+        FROM_VALUE,
+        MethodTypeDesc.of(enumDesc, CD_String),
+        ACC_PUBLIC | ACC_STATIC,
+        methodBuilder -> {
+          methodBuilder.withCode(cob -> buildFromValue(cob, constants));
+          if (runtimeConfiguration.withJacksonAnnotations()) {
+            methodBuilder.with(
+                RuntimeVisibleAnnotationsAttribute.of(
+                    Annotation.of(ClassDesc.of(JsonCreator.class.getName()))));
+          }
+        });
+
+    if (runtimeConfiguration.withJsonDeserializer()) {
+      buildFromJson();
+    }
+    if (runtimeConfiguration.withJsonSerializer()) {
+      buildWriteTo();
+    }
+    if (runtimeConfiguration.withValidation()) {
+      buildValidate();
+    }
+    if (runtimeConfiguration.withBinaryCodec()) {
+      buildBinaryCodec();
+    }
+  }
+
+  /**
+   * @return the java constant for every value, like {@code IN_PROGRESS} for {@code "in-progress"}
+   *     or {@code "inProgress"}
+   * @throws CompilerException if two values map to the same constant
+   */
+  static List<String> constantNames(List<String> values) {
+    var names = new ArrayList<String>();
+    var seen = new HashSet<String>();
+    for (var value : values) {
+      var name =
+          value
+              .replaceAll("([a-z0-9])([A-Z])", "$1_$2")
+              .replaceAll("[^A-Za-z0-9]+", "_")
+              .replaceAll("^_|_$", "")
+              .toUpperCase(Locale.ROOT);
+      if (name.isEmpty()) {
+        name = "EMPTY";
+      } else if (Character.isDigit(name.charAt(0))) {
+        name = "_" + name;
+      }
+      if (!seen.add(name)) {
+        throw new CompilerException(
+            "Enum value '%s' has the same java name as another value: %s".formatted(value, name));
+      }
+      names.add(name);
+    }
+    return names;
+  }
+
+  private void buildConstants(CodeBuilder cob, List<String> constants) {
+    var enumDesc = params.classDesc();
+    for (int i = 0; i < constants.size(); i++) {
+      cob.new_(enumDesc)
+          .dup()
+          .ldc(constants.get(i))
+          .ldc(i)
+          .ldc(values.get(i))
+          .invokespecial(
+              enumDesc, INIT_NAME, MethodTypeDesc.of(CD_void, CD_String, CD_int, CD_String))
+          .putstatic(enumDesc, constants.get(i), enumDesc);
+    }
+    cob.ldc(constants.size()).anewarray(enumDesc);
+    for (int i = 0; i < constants.size(); i++) {
+      cob.dup().ldc(i).getstatic(enumDesc, constants.get(i), enumDesc).aastore();
+    }
+    cob.putstatic(enumDesc, VALUES_FIELD, enumDesc.arrayType());
+  }
+
+  /**
+   * <pre>{@code
+   * int length = value.length();
+   * switch (length == 0 ? 0 : length << 16 | value.charAt(0)) {
+   *   case 0x2006E: // "no"
+   *     if (value.equals("no")) return NO;
+   *     break;
+   *   ...
+   * }
+   * throw new IllegalArgumentException("Unknown Answer value: " + value);
+   * }</pre>
+   */
+  private void buildFromValue(CodeBuilder cob, List<String> constants) {
+    var enumDesc = params.classDesc();
+    var byKey = new TreeMap<Integer, List<Integer>>();
+    for (int i = 0; i < values.size(); i++) {
+      byKey.computeIfAbsent(switchKey(values.get(i)), k -> new ArrayList<>()).add(i);
+    }
+    var unknown = cob.newLabel();
+    var notEmpty = cob.newLabel();
+    var key = cob.newLabel();
+    var caseLabels = new TreeMap<Integer, Label>();
+    byKey.keySet().forEach(k -> caseLabels.put(k, cob.newLabel()));
+    var cases = new ArrayList<SwitchCase>();
+    caseLabels.forEach((k, label) -> cases.add(SwitchCase.of(k, label)));
+
+    cob.aload(0)
+        .invokevirtual(CD_String, "length", MethodTypeDesc.of(CD_int))
+        .dup()
+        .ifne(notEmpty)
+        .goto_(key)
+        .labelBinding(notEmpty)
+        .ldc(16)
+        .ishl()
+        .aload(0)
+        .iconst_0()
+        .invokevirtual(CD_String, "charAt", MethodTypeDesc.of(CD_char, CD_int))
+        .ior()
+        .labelBinding(key)
+        .lookupswitch(unknown, cases);
+
+    byKey.forEach(
+        (k, indexes) -> {
+          cob.labelBinding(caseLabels.get(k));
+          for (var index : indexes) {
+            var next = cob.newLabel();
+            cob.aload(0)
+                .ldc(values.get(index))
+                .invokevirtual(CD_String, "equals", MethodTypeDesc.of(CD_boolean, CD_Object))
+                .ifeq(next)
+                .getstatic(enumDesc, constants.get(index), enumDesc)
+                .areturn()
+                .labelBinding(next);
+          }
+          cob.goto_(unknown);
+        });
+
+    cob.labelBinding(unknown)
+        .new_(CD_IllegalArgumentException)
+        .dup()
+        .ldc("Unknown %s value: ".formatted(enumDesc.displayName()))
+        .aload(0)
+        .invokevirtual(CD_String, "concat", MethodTypeDesc.of(CD_String, CD_String))
+        .invokespecial(
+            CD_IllegalArgumentException, INIT_NAME, MethodTypeDesc.of(CD_void, CD_String))
+        .athrow();
+  }
+
+  /** Must match the key computed by the generated code, see {@link #buildFromValue}. */
+  private static int switchKey(String value) {
+    return value.isEmpty() ? 0 : value.length() << 16 | value.charAt(0);
+  }
+
+  /** fromJson(parser): the same contract as the method generated for records. */
+  private void buildFromJson() {
+    var enumDesc = params.classDesc();
+    params
+        .classBuilder()
+        .withMethod(
+            JsonDeserializerGenerator.METHOD_NAME,
+            MethodTypeDesc.of(enumDesc, CD_JsonParser),
+            ACC_PUBLIC | ACC_STATIC,
+            methodBuilder ->
+                methodBuilder
+                    .withCode(
+                        cob -> {
+                          var started = cob.newLabel();
+                          var notNull = cob.newLabel();
+                          cob.aload(0)
+                              .invokevirtual(
+                                  CD_JsonParser, "currentToken", MethodTypeDesc.of(CD_JsonToken))
+                              .ifnonnull(started)
+                              .aload(0)
+                              .invokevirtual(
+                                  CD_JsonParser, "nextToken", MethodTypeDesc.of(CD_JsonToken))
+                              .pop()
+                              .labelBinding(started)
+                              .aload(0)
+                              .getstatic(CD_JsonToken, "VALUE_NULL", CD_JsonToken)
+                              .invokevirtual(
+                                  CD_JsonParser,
+                                  "hasToken",
+                                  MethodTypeDesc.of(CD_boolean, CD_JsonToken))
+                              .ifeq(notNull)
+                              .aconst_null()
+                              .areturn()
+                              .labelBinding(notNull)
+                              .aload(0)
+                              .invokevirtual(CD_JsonParser, "getText", MethodTypeDesc.of(CD_String))
+                              .invokestatic(
+                                  enumDesc, FROM_VALUE, MethodTypeDesc.of(enumDesc, CD_String))
+                              .areturn();
+                        })
+                    .with(ExceptionsAttribute.ofSymbols(CD_IOException)));
+  }
+
+  /** writeTo(generator) writes the json value. */
+  private void buildWriteTo() {
+    var enumDesc = params.classDesc();
+    params
+        .classBuilder()
+        .withMethod(
+            JsonSerializerGenerator.METHOD_NAME,
+            MethodTypeDesc.of(CD_void, CD_JsonGenerator),
+            ACC_PUBLIC | ACC_FINAL,
+            methodBuilder ->
+                methodBuilder
+                    .withCode(
+                        cob ->
+                            cob.aload(1)
+                                .aload(0)
+                                .getfield(enumDesc, VALUE_FIELD, CD_String)
+                                .invokevirtual(
+                                    CD_JsonGenerator,
+                                    "writeString",
+                                    MethodTypeDesc.of(CD_void, CD_String))
+                                .return_())
+                    .with(ExceptionsAttribute.ofSymbols(CD_IOException)));
+  }
+
+  /** Enum values are always valid. */
+  private void buildValidate() {
+    params
+        .classBuilder()
+        .withMethodBody(
+            ValidationGenerator.METHOD_NAME,
+            MethodTypeDesc.of(CD_boolean, CD_BiConsumer),
+            ACC_PUBLIC | ACC_FINAL,
+            cob -> cob.iconst_1().ireturn())
+        .withMethodBody(
+            ValidationGenerator.METHOD_NAME,
+            MethodTypeDesc.of(CD_boolean, CD_String, CD_BiConsumer),
+            ACC_PUBLIC | ACC_FINAL,
+            cob -> cob.iconst_1().ireturn());
+  }
+
+  /** Nested enums are written as the varint ordinal of the constant. */
+  private void buildBinaryCodec() {
+    var enumDesc = params.classDesc();
+    var classBuilder = params.classBuilder();
+    var bufferDesc = BinaryCodecGenerator.CD_ByteBuffer;
+    BinaryCodecGenerator.buildHelpers(classBuilder, enumDesc);
+    classBuilder
+        .withMethodBody(
+            BinaryCodecGenerator.WRITE_FIELDS_METHOD,
+            MethodTypeDesc.of(CD_void, bufferDesc),
+            ACC_PUBLIC | ACC_FINAL | ACC_SYNTHETIC,
+            cob -> {
+              cob.aload(1)
+                  .aload(0)
+                  .invokevirtual(enumDesc, "ordinal", MethodTypeDesc.of(CD_int))
+                  .i2l();
+              BinaryCodecGenerator.writeVarLong(cob, enumDesc);
+              cob.return_();
+            })
+        .withMethodBody(
+            BinaryCodecGenerator.READ_FIELDS_METHOD,
+            MethodTypeDesc.of(enumDesc, bufferDesc),
+            ACC_PUBLIC | ACC_STATIC | ACC_SYNTHETIC,
+            cob -> {
+              cob.getstatic(enumDesc, VALUES_FIELD, enumDesc.arrayType()).aload(0);
+              BinaryCodecGenerator.readVarLong(cob, enumDesc);
+              cob.l2i().aaload().areturn();
+            });
+  }
+}
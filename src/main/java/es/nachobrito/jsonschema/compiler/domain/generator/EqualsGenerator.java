@@ -18,16 +18,17 @@ package es.nachobrito.jsonschema.compiler.domain.generator;
 
 import static java.lang.classfile.ClassFile.ACC_FINAL;
 import static java.lang.classfile.ClassFile.ACC_PUBLIC;
-import static java.lang.constant.ConstantDescs.CD_Object;
-import static java.lang.constant.ConstantDescs.CD_boolean;
+import static java.lang.constant.ConstantDescs.*;
 
 import es.nachobrito.jsonschema.compiler.domain.Property;
 import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
 import java.lang.classfile.ClassBuilder;
 import java.lang.classfile.CodeBuilder;
 import java.lang.classfile.Label;
+import java.lang.classfile.TypeKind;
 import java.lang.constant.ClassDesc;
 import java.lang.constant.MethodTypeDesc;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.SortedMap;
 
@@ -36,6 +37,7 @@ record EqualsGenerator(
     implements ModelGenerator {
   @Override
   public void generatePart() {
+    var bitmap = PresenceBitmap.of(runtimeConfiguration, params);
     params.classBuilder().withMethodBody(
         "equals",
         MethodTypeDesc.of(CD_boolean, CD_Object),
@@ -57,12 +59,16 @@ record EqualsGenerator(
               .aload(1)
               .if_acmpeq(returnTrue);
 
+          // missing values are stored as zero, see PresenceBitmap
+          bitmap
+              .wordNames()
+              .forEach(name -> comparePrimitive(name, bitmap.wordType(), cob, returnFalse));
           params.properties()
               .entrySet()
               .forEach(
                   entry -> {
                     var propertyName = entry.getValue().formattedName();
-                    var propertyDesc = entry.getValue().type();
+                    var propertyDesc = bitmap.fieldType(entry.getValue());
                     compareProperty(propertyName, propertyDesc, cob, returnFalse);
                   });
 
@@ -112,12 +118,20 @@ record EqualsGenerator(
         .getfield(params.classDesc(), propertyName, propertyDesc)
         .aload(1)
         .checkcast(params.classDesc())
-        .getfield(params.classDesc(), propertyName, propertyDesc)
-        .invokestatic(
-            ClassDesc.of(Objects.class.getName()),
-            "deepEquals",
-            MethodTypeDesc.of(CD_boolean, CD_Object, CD_Object))
-        .ifeq(returnFalse);
+        .getfield(params.classDesc(), propertyName, propertyDesc);
+    if (propertyDesc.componentType().isPrimitive()) {
+      // Arrays.equals(int[], int[]), Arrays.equals(double[], double[])...
+      cob.invokestatic(
+          ClassDesc.of(Arrays.class.getName()),
+          "equals",
+          MethodTypeDesc.of(CD_boolean, propertyDesc, propertyDesc));
+    } else {
+      cob.invokestatic(
+          ClassDesc.of(Objects.class.getName()),
+          "deepEquals",
+          MethodTypeDesc.of(CD_boolean, CD_Object, CD_Object));
+    }
+    cob.ifeq(returnFalse);
   }
 
   private void comparePrimitive(
@@ -126,7 +140,17 @@ record EqualsGenerator(
         .getfield(params.classDesc(), propertyName, propertyDesc)
         .aload(1)
         .checkcast(params.classDesc())
-        .getfield(params.classDesc(), propertyName, propertyDesc)
-        .if_icmpne(returnFalse);
+        .getfield(params.classDesc(), propertyName, propertyDesc);
+    switch (TypeKind.from(propertyDesc)) {
+      case LONG -> cob.lcmp().ifne(returnFalse);
+      // Same semantics as Double.equals and Float.equals, for NaN and signed zeros
+      case DOUBLE ->
+          cob.invokestatic(CD_Double, "compare", MethodTypeDesc.of(CD_int, CD_double, CD_double))
+              .ifne(returnFalse);
+      case FLOAT ->
+          cob.invokestatic(CD_Float, "compare", MethodTypeDesc.of(CD_int, CD_float, CD_float))
+              .ifne(returnFalse);
+      default -> cob.if_icmpne(returnFalse);
+    }
   }
 }
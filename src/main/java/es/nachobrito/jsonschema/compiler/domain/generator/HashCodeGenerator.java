@@ -24,6 +24,7 @@ import es.nachobrito.jsonschema.compiler.domain.Property;
 import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
 import java.lang.classfile.ClassBuilder;
 import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.TypeKind;
 import java.lang.constant.*;
 import java.util.Arrays;
 import java.util.Objects;
@@ -51,18 +52,27 @@ record HashCodeGenerator(
    */
   @Override
   public void generatePart() {
+    var bitmap = PresenceBitmap.of(runtimeConfiguration, params);
     params.classBuilder().withMethodBody(
         "hashCode",
         MethodTypeDesc.of(CD_int),
         ACC_PUBLIC | ACC_FINAL,
         cob -> {
           cob.ldc(1);
+          bitmap
+              .wordNames()
+              .forEach(
+                  name -> {
+                    cob.ldc(59).imul();
+                    loadPrimitiveValue(name, bitmap.wordType(), cob);
+                    cob.iadd();
+                  });
           params.properties()
               .entrySet()
               .forEach(
                   entry -> {
                     var propertyName = entry.getValue().formattedName();
-                    var propertyDesc = entry.getValue().type();
+                    var propertyDesc = bitmap.fieldType(entry.getValue());
                     cob.ldc(59).imul();
                     loadFieldValue(propertyName, propertyDesc, cob);
                     cob.iadd();
@@ -88,17 +98,43 @@ record HashCodeGenerator(
             MethodTypeDesc.of(CD_int, CD_Object));
   }
 
+  /** Uses the static hashCode method of the wrapper type, so the result matches the boxed value. */
   private void loadPrimitiveValue(String propertyName, ClassDesc propertyDesc, CodeBuilder cob) {
-    cob.aload(0).getfield(params.classDesc(), propertyName, propertyDesc);
-  }
-
-  private void loadArrayValue(String propertyName, ClassDesc propertyDesc, CodeBuilder cob) {
     cob.aload(0)
         .getfield(params.classDesc(), propertyName, propertyDesc)
         .invokestatic(
-            ClassDesc.of(Arrays.class.getName()),
-            "deepHashcode",
-            MethodTypeDesc.of(CD_int, CD_Object.arrayType()))
-        ;
+            wrapperType(TypeKind.from(propertyDesc)),
+            "hashCode",
+            MethodTypeDesc.of(CD_int, propertyDesc));
+  }
+
+  private static ClassDesc wrapperType(TypeKind kind) {
+    return switch (kind) {
+      case BOOLEAN -> CD_Boolean;
+      case BYTE -> CD_Byte;
+      case CHAR -> CD_Character;
+      case SHORT -> CD_Short;
+      case INT -> CD_Integer;
+      case LONG -> CD_Long;
+      case FLOAT -> CD_Float;
+      case DOUBLE -> CD_Double;
+      default -> throw new IllegalArgumentException("Not a primitive type: %s".formatted(kind));
+    };
+  }
+
+  private void loadArrayValue(String propertyName, ClassDesc propertyDesc, CodeBuilder cob) {
+    cob.aload(0).getfield(params.classDesc(), propertyName, propertyDesc);
+    if (propertyDesc.componentType().isPrimitive()) {
+      // Arrays.hashCode(int[]), Arrays.hashCode(double[])...
+      cob.invokestatic(
+          ClassDesc.of(Arrays.class.getName()),
+          "hashCode",
+          MethodTypeDesc.of(CD_int, propertyDesc));
+      return;
+    }
+    cob.invokestatic(
+        ClassDesc.of(Arrays.class.getName()),
+        "deepHashCode",
+        MethodTypeDesc.of(CD_int, CD_Object.arrayType()));
   }
 }
@@ -0,0 +1,385 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain.generator;
+
+import static java.lang.classfile.ClassFile.ACC_PUBLIC;
+import static java.lang.classfile.ClassFile.ACC_STATIC;
+import static java.lang.constant.ConstantDescs.*;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import es.nachobrito.jsonschema.compiler.domain.Property;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.io.IOException;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.Label;
+import java.lang.classfile.TypeKind;
+import java.lang.classfile.attribute.ExceptionsAttribute;
+import java.lang.classfile.instruction.SwitchCase;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.net.InetAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Generates a static {@code fromJson(JsonParser)} method that reads an instance from a Jackson
+ * token stream and invokes the canonical constructor directly, without reflection.
+ *
+ * <p>Field names are dispatched with a switch on their hash code, the same way javac compiles a
+ * switch on strings. Unknown fields are skipped, missing fields are left as null (or zero, for
+ * primitive properties).
+ */
+record JsonDeserializerGenerator(
+    RuntimeConfiguration runtimeConfiguration, ClassGenerationParams params)
+    implements ModelGenerator {
+  static final String METHOD_NAME = "fromJson";
+
+  private static final ClassDesc CD_JsonParser = ClassDesc.of(JsonParser.class.getName());
+  private static final ClassDesc CD_JsonToken = ClassDesc.of(JsonToken.class.getName());
+  private static final ClassDesc CD_JsonParseException =
+      ClassDesc.of(JsonParseException.class.getName());
+  private static final ClassDesc CD_IOException = ClassDesc.of(IOException.class.getName());
+  private static final ClassDesc CD_ArrayList = ClassDesc.of(ArrayList.class.getName());
+  private static final ClassDesc CD_Arrays = ClassDesc.of(Arrays.class.getName());
+  private static final ClassDesc CD_InetAddress = ClassDesc.of(InetAddress.class.getName());
+  private static final ClassDesc CD_CharSequence = ClassDesc.of(CharSequence.class.getName());
+
+  /** Types built by a static factory method that takes the JSON string. */
+  private static final Map<ClassDesc, TextFactory> TEXT_FACTORIES =
+      Map.of(
+          ClassDesc.of(OffsetDateTime.class.getName()), new TextFactory("parse", CD_CharSequence),
+          ClassDesc.of(OffsetTime.class.getName()), new TextFactory("parse", CD_CharSequence),
+          ClassDesc.of(LocalDate.class.getName()), new TextFactory("parse", CD_CharSequence),
+          ClassDesc.of(Duration.class.getName()), new TextFactory("parse", CD_CharSequence),
+          ClassDesc.of(UUID.class.getName()), new TextFactory("fromString", CD_String),
+          ClassDesc.of(URI.class.getName()), new TextFactory("create", CD_String));
+
+  /** Wrapper types, and the primitive value read to build them. */
+  private static final Map<ClassDesc, ClassDesc> BOXED_TYPES =
+      Map.of(
+          CD_Byte, CD_byte,
+          CD_Short, CD_short,
+          CD_Integer, CD_int,
+          CD_Long, CD_long,
+          CD_Double, CD_double,
+          CD_Boolean, CD_boolean);
+
+  private record TextFactory(String methodName, ClassDesc parameterType) {}
+
+  private static final int PARSER_SLOT = 0;
+  private static final int INITIAL_ARRAY_CAPACITY = 16;
+
+  @Override
+  public void generatePart() {
+    params
+        .classBuilder()
+        .withMethod(
+            METHOD_NAME,
+            MethodTypeDesc.of(params.classDesc(), CD_JsonParser),
+            ACC_PUBLIC | ACC_STATIC,
+            methodBuilder ->
+                methodBuilder
+                    .withCode(this::buildMethodBody)
+                    .with(ExceptionsAttribute.ofSymbols(CD_IOException)));
+  }
+
+  private void buildMethodBody(CodeBuilder cob) {
+    var properties = new ArrayList<>(params.properties().values());
+
+    // Root documents are read from a fresh parser, nested ones start at their first token.
+    var started = cob.newLabel();
+    cob.aload(PARSER_SLOT)
+        .invokevirtual(CD_JsonParser, "currentToken", MethodTypeDesc.of(CD_JsonToken))
+        .ifnonnull(started)
+        .aload(PARSER_SLOT)
+        .invokevirtual(CD_JsonParser, "nextToken", MethodTypeDesc.of(CD_JsonToken))
+        .pop()
+        .labelBinding(started);
+
+    var notNull = cob.newLabel();
+    hasToken(cob, "VALUE_NULL");
+    cob.ifeq(notNull).aconst_null().areturn().labelBinding(notNull);
+    expectToken(cob, "START_OBJECT");
+
+    var slots = new int[properties.size()];
+    for (int i = 0; i < properties.size(); i++) {
+      var kind = TypeKind.from(properties.get(i).type());
+      slots[i] = cob.allocateLocal(kind);
+      loadDefaultValue(cob, kind);
+      cob.storeLocal(kind, slots[i]);
+    }
+    var nameSlot = cob.allocateLocal(TypeKind.REFERENCE);
+
+    var nextField = cob.newLabel();
+    var skipField = cob.newLabel();
+    var endObject = cob.newLabel();
+    cob.labelBinding(nextField)
+        .aload(PARSER_SLOT)
+        .invokevirtual(CD_JsonParser, "nextFieldName", MethodTypeDesc.of(CD_String))
+        .dup()
+        .astore(nameSlot)
+        .ifnull(endObject)
+        .aload(PARSER_SLOT)
+        .invokevirtual(CD_JsonParser, "nextToken", MethodTypeDesc.of(CD_JsonToken))
+        .pop();
+
+    var byHashCode = new TreeMap<Integer, List<Integer>>();
+    for (int i = 0; i < properties.size(); i++) {
+      byHashCode
+          .computeIfAbsent(properties.get(i).key().hashCode(), k -> new ArrayList<>())
+          .add(i);
+    }
+    var cases = new ArrayList<SwitchCase>();
+    var caseLabels = new TreeMap<Integer, Label>();
+    byHashCode.keySet().forEach(hash -> caseLabels.put(hash, cob.newLabel()));
+    caseLabels.forEach((hash, label) -> cases.add(SwitchCase.of(hash, label)));
+
+    cob.aload(nameSlot)
+        .invokevirtual(CD_String, "hashCode", MethodTypeDesc.of(CD_int))
+        .lookupswitch(skipField, cases);
+
+    byHashCode.forEach(
+        (hash, indexes) -> {
+          cob.labelBinding(caseLabels.get(hash));
+          for (var index : indexes) {
+            var property = properties.get(index);
+            var otherKey = cob.newLabel();
+            cob.aload(nameSlot)
+                .ldc(property.key())
+                .invokevirtual(CD_String, "equals", MethodTypeDesc.of(CD_boolean, CD_Object))
+                .ifeq(otherKey);
+            readValue(cob, property.type());
+            cob.storeLocal(TypeKind.from(property.type()), slots[index])
+                .goto_(nextField)
+                .labelBinding(otherKey);
+          }
+          cob.goto_(skipField);
+        });
+
+    cob.labelBinding(skipField)
+        .aload(PARSER_SLOT)
+        .invokevirtual(CD_JsonParser, "skipChildren", MethodTypeDesc.of(CD_JsonParser))
+        .pop()
+        .goto_(nextField);
+
+    cob.labelBinding(endObject).new_(params.classDesc()).dup();
+    for (int i = 0; i < properties.size(); i++) {
+      cob.loadLocal(TypeKind.from(properties.get(i).type()), slots[i]);
+    }
+    cob.invokespecial(
+            params.classDesc(),
+            INIT_NAME,
+            MethodTypeDesc.of(
+                CD_void, properties.stream().map(Property::type).toArray(ClassDesc[]::new)))
+        .areturn();
+  }
+
+  /**
+   * Reads the value at the current token, leaving it on the stack. The parser is left at the last
+   * token of the value.
+   */
+  private void readValue(CodeBuilder cob, ClassDesc type) {
+    if (type.isPrimitive()) {
+      readPrimitive(cob, type);
+      return;
+    }
+    var notNull = cob.newLabel();
+    var done = cob.newLabel();
+    hasToken(cob, "VALUE_NULL");
+    cob.ifeq(notNull).aconst_null().goto_(done).labelBinding(notNull);
+    readNonNullValue(cob, type);
+    cob.labelBinding(done);
+  }
+
+  private void readNonNullValue(CodeBuilder cob, ClassDesc type) {
+    if (type.isArray()) {
+      readArray(cob, type);
+      return;
+    }
+    if (type.equals(CD_String)) {
+      cob.aload(PARSER_SLOT).invokevirtual(CD_JsonParser, "getText", MethodTypeDesc.of(CD_String));
+      return;
+    }
+    if (BOXED_TYPES.containsKey(type)) {
+      var primitive = BOXED_TYPES.get(type);
+      readPrimitive(cob, primitive);
+      cob.invokestatic(type, "valueOf", MethodTypeDesc.of(type, primitive));
+      return;
+    }
+    if (TEXT_FACTORIES.containsKey(type)) {
+      var factory = TEXT_FACTORIES.get(type);
+      cob.aload(PARSER_SLOT)
+          .invokevirtual(CD_JsonParser, "getText", MethodTypeDesc.of(CD_String))
+          .invokestatic(
+              type, factory.methodName(), MethodTypeDesc.of(type, factory.parameterType()));
+      return;
+    }
+    if (type.packageName().equals("java.net")) {
+      // Inet4Address and Inet6Address
+      cob.aload(PARSER_SLOT)
+          .invokevirtual(CD_JsonParser, "getText", MethodTypeDesc.of(CD_String))
+          .invokestatic(CD_InetAddress, "getByName", MethodTypeDesc.of(CD_InetAddress, CD_String))
+          .checkcast(type);
+      return;
+    }
+    if (type.equals(CD_Object)) {
+      // Untyped values need the ObjectCodec configured in the parser, usually an ObjectMapper
+      cob.aload(PARSER_SLOT)
+          .ldc(CD_Object)
+          .invokevirtual(CD_JsonParser, "readValueAs", MethodTypeDesc.of(CD_Object, CD_Class));
+      return;
+    }
+    // Any other type is a class generated from the same schema
+    cob.aload(PARSER_SLOT).invokestatic(type, METHOD_NAME, MethodTypeDesc.of(type, CD_JsonParser));
+  }
+
+  private void readPrimitive(CodeBuilder cob, ClassDesc type) {
+    cob.aload(PARSER_SLOT);
+    switch (type.descriptorString()) {
+      case "B" -> cob.invokevirtual(CD_JsonParser, "getByteValue", MethodTypeDesc.of(CD_byte));
+      case "S" -> cob.invokevirtual(CD_JsonParser, "getShortValue", MethodTypeDesc.of(CD_short));
+      case "I" -> cob.invokevirtual(CD_JsonParser, "getIntValue", MethodTypeDesc.of(CD_int));
+      case "J" -> cob.invokevirtual(CD_JsonParser, "getLongValue", MethodTypeDesc.of(CD_long));
+      case "D" -> cob.invokevirtual(CD_JsonParser, "getDoubleValue", MethodTypeDesc.of(CD_double));
+      case "Z" ->
+          cob.invokevirtual(CD_JsonParser, "getBooleanValue", MethodTypeDesc.of(CD_boolean));
+      default ->
+          throw new IllegalArgumentException(
+              "Unsupported primitive type: %s".formatted(type.displayName()));
+    }
+  }
+
+  private void readArray(CodeBuilder cob, ClassDesc type) {
+    expectToken(cob, "START_ARRAY");
+    if (type.componentType().isPrimitive()) {
+      readPrimitiveArray(cob, type);
+      return;
+    }
+    var listSlot = cob.allocateLocal(TypeKind.REFERENCE);
+    var nextElement = cob.newLabel();
+    var endArray = cob.newLabel();
+    cob.new_(CD_ArrayList)
+        .dup()
+        .invokespecial(CD_ArrayList, INIT_NAME, MethodTypeDesc.of(CD_void))
+        .astore(listSlot)
+        .labelBinding(nextElement)
+        .aload(PARSER_SLOT)
+        .invokevirtual(CD_JsonParser, "nextToken", MethodTypeDesc.of(CD_JsonToken))
+        .getstatic(CD_JsonToken, "END_ARRAY", CD_JsonToken)
+        .if_acmpeq(endArray)
+        .aload(listSlot);
+    readValue(cob, type.componentType());
+    cob.invokevirtual(CD_ArrayList, "add", MethodTypeDesc.of(CD_boolean, CD_Object))
+        .pop()
+        .goto_(nextElement)
+        .labelBinding(endArray)
+        .aload(listSlot)
+        .iconst_0()
+        .anewarray(type.componentType())
+        .invokevirtual(
+            CD_ArrayList, "toArray", MethodTypeDesc.of(CD_Object.arrayType(), CD_Object.arrayType()))
+        .checkcast(type);
+  }
+
+  /**
+   * Reads the items straight into a primitive array that doubles its capacity when full, and is
+   * trimmed to size at the end, so no item is ever boxed.
+   */
+  private void readPrimitiveArray(CodeBuilder cob, ClassDesc type) {
+    var componentKind = TypeKind.from(type.componentType());
+    var arraySlot = cob.allocateLocal(TypeKind.REFERENCE);
+    var sizeSlot = cob.allocateLocal(TypeKind.INT);
+    var nextElement = cob.newLabel();
+    var hasCapacity = cob.newLabel();
+    var endArray = cob.newLabel();
+    var copyOf = MethodTypeDesc.of(type, type, CD_int);
+    cob.ldc(INITIAL_ARRAY_CAPACITY)
+        .newarray(componentKind)
+        .astore(arraySlot)
+        .iconst_0()
+        .istore(sizeSlot)
+        .labelBinding(nextElement)
+        .aload(PARSER_SLOT)
+        .invokevirtual(CD_JsonParser, "nextToken", MethodTypeDesc.of(CD_JsonToken))
+        .getstatic(CD_JsonToken, "END_ARRAY", CD_JsonToken)
+        .if_acmpeq(endArray)
+        .iload(sizeSlot)
+        .aload(arraySlot)
+        .arraylength()
+        .if_icmplt(hasCapacity)
+        .aload(arraySlot)
+        .iload(sizeSlot)
+        .iconst_2()
+        .imul()
+        .invokestatic(CD_Arrays, "copyOf", copyOf)
+        .astore(arraySlot)
+        .labelBinding(hasCapacity)
+        .aload(arraySlot)
+        .iload(sizeSlot);
+    readPrimitive(cob, type.componentType());
+    cob.arrayStore(componentKind)
+        .iinc(sizeSlot, 1)
+        .goto_(nextElement)
+        .labelBinding(endArray)
+        .aload(arraySlot)
+        .iload(sizeSlot)
+        .invokestatic(CD_Arrays, "copyOf", copyOf);
+  }
+
+  private void hasToken(CodeBuilder cob, String token) {
+    cob.aload(PARSER_SLOT)
+        .getstatic(CD_JsonToken, token, CD_JsonToken)
+        .invokevirtual(CD_JsonParser, "hasToken", MethodTypeDesc.of(CD_boolean, CD_JsonToken));
+  }
+
+  private void expectToken(CodeBuilder cob, String token) {
+    var found = cob.newLabel();
+    hasToken(cob, token);
+    cob.ifne(found)
+        .new_(CD_JsonParseException)
+        .dup()
+        .aload(PARSER_SLOT)
+        .ldc("Expected %s to read %s".formatted(token, params.classDesc().displayName()))
+        .invokespecial(
+            CD_JsonParseException,
+            INIT_NAME,
+            MethodTypeDesc.of(CD_void, CD_JsonParser, CD_String))
+        .athrow()
+        .labelBinding(found);
+  }
+
+  private static void loadDefaultValue(CodeBuilder cob, TypeKind kind) {
+    switch (kind) {
+      case LONG -> cob.lconst_0();
+      case FLOAT -> cob.fconst_0();
+      case DOUBLE -> cob.dconst_0();
+      case REFERENCE -> cob.aconst_null();
+      default -> cob.iconst_0();
+    }
+  }
+}
@@ -0,0 +1,299 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain.generator;
+
+import static java.lang.classfile.ClassFile.ACC_FINAL;
+import static java.lang.classfile.ClassFile.ACC_PRIVATE;
+import static java.lang.classfile.ClassFile.ACC_PUBLIC;
+import static java.lang.classfile.ClassFile.ACC_STATIC;
+import static java.lang.classfile.ClassFile.ACC_SYNTHETIC;
+import static java.lang.constant.ConstantDescs.*;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import es.nachobrito.jsonschema.compiler.domain.Property;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.io.IOException;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.TypeKind;
+import java.lang.classfile.attribute.ExceptionsAttribute;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.net.InetAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Generates a {@code writeTo(JsonGenerator)} method that writes the instance to a Jackson
+ * generator without reflection.
+ *
+ * <p>Field names are pre-encoded in static {@link SerializedString} fields, so the generator only
+ * copies their bytes. Null values are written as JSON nulls, the same way Jackson does by default.
+ * Dates and times are written as ISO-8601 strings, as required by their json schema formats.
+ */
+record JsonSerializerGenerator(
+    RuntimeConfiguration runtimeConfiguration, ClassGenerationParams params)
+    implements ModelGenerator {
+  static final String METHOD_NAME = "writeTo";
+
+  private static final ClassDesc CD_JsonGenerator = ClassDesc.of(JsonGenerator.class.getName());
+  private static final ClassDesc CD_SerializableString =
+      ClassDesc.of(SerializableString.class.getName());
+  private static final ClassDesc CD_SerializedString =
+      ClassDesc.of(SerializedString.class.getName());
+  private static final ClassDesc CD_IOException = ClassDesc.of(IOException.class.getName());
+  private static final ClassDesc CD_InetAddress = ClassDesc.of(InetAddress.class.getName());
+  private static final ClassDesc CD_DateTimeFormatter =
+      ClassDesc.of(DateTimeFormatter.class.getName());
+  private static final ClassDesc CD_TemporalAccessor =
+      ClassDesc.of(TemporalAccessor.class.getName());
+
+  /** Temporal types, and the {@link DateTimeFormatter} constant that writes them. */
+  private static final Map<ClassDesc, String> FORMATTERS =
+      Map.of(
+          ClassDesc.of(OffsetDateTime.class.getName()), "ISO_OFFSET_DATE_TIME",
+          ClassDesc.of(OffsetTime.class.getName()), "ISO_OFFSET_TIME",
+          ClassDesc.of(LocalDate.class.getName()), "ISO_LOCAL_DATE");
+
+  /** Types written as the result of their {@code toString()} method. */
+  private static final Set<ClassDesc> TO_STRING_TYPES =
+      Set.of(
+          ClassDesc.of(Duration.class.getName()),
+          ClassDesc.of(UUID.class.getName()),
+          ClassDesc.of(URI.class.getName()));
+
+  /** Primitive arrays that {@code JsonGenerator} can write in a single call. */
+  private static final Set<ClassDesc> BULK_ARRAY_TYPES = Set.of(CD_int, CD_long, CD_double);
+
+  private static final int THIS_SLOT = 0;
+  private static final int GENERATOR_SLOT = 1;
+
+  @Override
+  public void generatePart() {
+    params.properties().values().forEach(this::buildFieldName);
+    params
+        .classBuilder()
+        .withMethod(
+            METHOD_NAME,
+            MethodTypeDesc.of(CD_void, CD_JsonGenerator),
+            ACC_PUBLIC,
+            methodBuilder ->
+                methodBuilder
+                    .withCode(this::buildMethodBody)
+                    .with(ExceptionsAttribute.ofSymbols(CD_IOException)));
+  }
+
+  private void buildFieldName(Property property) {
+    var fieldName = fieldNameConstant(property);
+    params
+        .classBuilder()
+        .withField(
+            fieldName,
+            CD_SerializedString,
+            ACC_PRIVATE | ACC_STATIC | ACC_FINAL | ACC_SYNTHETIC);
+    params
+        .staticInitializer()
+        .add(
+            cob ->
+                cob.new_(CD_SerializedString)
+                    .dup()
+                    .ldc(property.key())
+                    .invokespecial(CD_SerializedString, INIT_NAME, MethodTypeDesc.of(CD_void, CD_String))
+                    .putstatic(params.classDesc(), fieldName, CD_SerializedString));
+  }
+
+  private static String fieldNameConstant(Property property) {
+    return "JSON_NAME_%s".formatted(property.formattedName());
+  }
+
+  private void buildMethodBody(CodeBuilder cob) {
+    var bitmap = PresenceBitmap.of(runtimeConfiguration, params);
+    generatorCall(cob, "writeStartObject");
+    for (var property : params.properties().values()) {
+      cob.aload(GENERATOR_SLOT)
+          .getstatic(params.classDesc(), fieldNameConstant(property), CD_SerializedString)
+          .invokevirtual(
+              CD_JsonGenerator, "writeFieldName", MethodTypeDesc.of(CD_void, CD_SerializableString));
+      if (bitmap.contains(property)) {
+        // the primitive field is written as is, without boxing it
+        var absent = cob.newLabel();
+        var done = cob.newLabel();
+        bitmap.loadPresence(cob, THIS_SLOT, property);
+        cob.ifeq(absent).aload(GENERATOR_SLOT);
+        bitmap.loadField(cob, THIS_SLOT, property);
+        writePrimitive(cob, bitmap.fieldType(property));
+        cob.goto_(done).labelBinding(absent);
+        generatorCall(cob, "writeNull");
+        cob.labelBinding(done);
+        continue;
+      }
+      var type = property.type();
+      var slot = cob.allocateLocal(TypeKind.from(type));
+      bitmap.loadValue(cob, THIS_SLOT, property);
+      cob.storeLocal(TypeKind.from(type), slot);
+      writeValue(cob, type, slot);
+    }
+    generatorCall(cob, "writeEndObject");
+    cob.return_();
+  }
+
+  /** Writes the value stored in the given local variable. */
+  private void writeValue(CodeBuilder cob, ClassDesc type, int slot) {
+    if (type.isPrimitive()) {
+      cob.aload(GENERATOR_SLOT).loadLocal(TypeKind.from(type), slot);
+      writePrimitive(cob, type);
+      return;
+    }
+    var notNull = cob.newLabel();
+    var done = cob.newLabel();
+    cob.aload(slot).ifnonnull(notNull);
+    generatorCall(cob, "writeNull");
+    cob.goto_(done).labelBinding(notNull);
+    writeNonNullValue(cob, type, slot);
+    cob.labelBinding(done);
+  }
+
+  private void writeNonNullValue(CodeBuilder cob, ClassDesc type, int slot) {
+    if (type.isArray()) {
+      writeArray(cob, type, slot);
+      return;
+    }
+    if (type.equals(CD_String)) {
+      cob.aload(GENERATOR_SLOT).aload(slot);
+      writeString(cob);
+      return;
+    }
+    var primitive = unboxedType(type);
+    if (primitive != null) {
+      cob.aload(GENERATOR_SLOT)
+          .aload(slot)
+          .invokevirtual(
+              type, "%sValue".formatted(primitive.displayName()), MethodTypeDesc.of(primitive));
+      writePrimitive(cob, primitive);
+      return;
+    }
+    if (FORMATTERS.containsKey(type)) {
+      cob.aload(GENERATOR_SLOT)
+          .getstatic(CD_DateTimeFormatter, FORMATTERS.get(type), CD_DateTimeFormatter)
+          .aload(slot)
+          .invokevirtual(
+              CD_DateTimeFormatter, "format", MethodTypeDesc.of(CD_String, CD_TemporalAccessor));
+      writeString(cob);
+      return;
+    }
+    if (TO_STRING_TYPES.contains(type)) {
+      cob.aload(GENERATOR_SLOT)
+          .aload(slot)
+          .invokevirtual(type, "toString", MethodTypeDesc.of(CD_String));
+      writeString(cob);
+      return;
+    }
+    if (type.packageName().equals("java.net")) {
+      // Inet4Address and Inet6Address
+      cob.aload(GENERATOR_SLOT)
+          .aload(slot)
+          .invokevirtual(CD_InetAddress, "getHostAddress", MethodTypeDesc.of(CD_String));
+      writeString(cob);
+      return;
+    }
+    if (type.equals(CD_Object)) {
+      // Untyped values need the ObjectCodec configured in the generator, usually an ObjectMapper
+      cob.aload(GENERATOR_SLOT).aload(slot);
+      generatorCall(cob, "writeObject", MethodTypeDesc.of(CD_void, CD_Object));
+      return;
+    }
+    // Any other type is a class generated from the same schema
+    cob.aload(slot)
+        .aload(GENERATOR_SLOT)
+        .invokevirtual(type, METHOD_NAME, MethodTypeDesc.of(CD_void, CD_JsonGenerator));
+  }
+
+  private void writeArray(CodeBuilder cob, ClassDesc type, int slot) {
+    var componentType = type.componentType();
+    if (BULK_ARRAY_TYPES.contains(componentType)) {
+      // writeArray(int[], offset, length) and friends write the whole array in a single call
+      cob.aload(GENERATOR_SLOT).aload(slot).iconst_0().aload(slot).arraylength();
+      generatorCall(cob, "writeArray", MethodTypeDesc.of(CD_void, type, CD_int, CD_int));
+      return;
+    }
+    var componentKind = TypeKind.from(componentType);
+    var index = cob.allocateLocal(TypeKind.INT);
+    var element = cob.allocateLocal(componentKind);
+    var nextElement = cob.newLabel();
+    var endArray = cob.newLabel();
+    generatorCall(cob, "writeStartArray");
+    cob.iconst_0()
+        .istore(index)
+        .labelBinding(nextElement)
+        .iload(index)
+        .aload(slot)
+        .arraylength()
+        .if_icmpge(endArray)
+        .aload(slot)
+        .iload(index)
+        .arrayLoad(componentKind)
+        .storeLocal(componentKind, element);
+    writeValue(cob, componentType, element);
+    cob.iinc(index, 1).goto_(nextElement).labelBinding(endArray);
+    generatorCall(cob, "writeEndArray");
+  }
+
+  private void writePrimitive(CodeBuilder cob, ClassDesc type) {
+    switch (type.descriptorString()) {
+      case "Z" -> generatorCall(cob, "writeBoolean", MethodTypeDesc.of(CD_void, CD_boolean));
+      case "I", "J", "D", "F", "S" ->
+          generatorCall(cob, "writeNumber", MethodTypeDesc.of(CD_void, type));
+      case "B" -> generatorCall(cob, "writeNumber", MethodTypeDesc.of(CD_void, CD_int));
+      default ->
+          throw new IllegalArgumentException(
+              "Unsupported primitive type: %s".formatted(type.displayName()));
+    }
+  }
+
+  private static void writeString(CodeBuilder cob) {
+    generatorCall(cob, "writeString", MethodTypeDesc.of(CD_void, CD_String));
+  }
+
+  /** Invokes a JsonGenerator method without arguments. */
+  private static void generatorCall(CodeBuilder cob, String name) {
+    cob.aload(GENERATOR_SLOT).invokevirtual(CD_JsonGenerator, name, MethodTypeDesc.of(CD_void));
+  }
+
+  /** Invokes a JsonGenerator method, the generator and the arguments are already in the stack. */
+  private static void generatorCall(CodeBuilder cob, String name, MethodTypeDesc type) {
+    cob.invokevirtual(CD_JsonGenerator, name, type);
+  }
+
+  private static ClassDesc unboxedType(ClassDesc type) {
+    if (type.equals(CD_Byte)) return CD_byte;
+    if (type.equals(CD_Short)) return CD_short;
+    if (type.equals(CD_Integer)) return CD_int;
+    if (type.equals(CD_Long)) return CD_long;
+    if (type.equals(CD_Double)) return CD_double;
+    if (type.equals(CD_Boolean)) return CD_boolean;
+    return null;
+  }
+}
@@ -20,20 +20,53 @@ import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConf
 import es.nachobrito.jsonschema.compiler.domain.Property;
 import java.lang.classfile.ClassBuilder;
 import java.lang.constant.ClassDesc;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.SortedMap;
 
 public interface ModelGenerator {
 
-  static Set<ModelGenerator> of(
+  static List<ModelGenerator> of(
       RuntimeConfiguration runtimeConfiguration,
       ClassGenerationParams params) {
-    return Set.of(
-        new ConstructorGenerator(runtimeConfiguration, params),
-        new PropertiesGenerator(runtimeConfiguration, params),
-        new EqualsGenerator(runtimeConfiguration, params),
-        new HashCodeGenerator(runtimeConfiguration, params),
-        new ToStringGenerator(runtimeConfiguration, params));
+    var generators =
+        new ArrayList<ModelGenerator>(
+            List.of(
+                new ConstructorGenerator(runtimeConfiguration, params),
+                new PropertiesGenerator(runtimeConfiguration, params)));
+    if (runtimeConfiguration.withJavacRecords()) {
+      generators.add(new ObjectMethodsGenerator(runtimeConfiguration, params));
+    } else {
+      generators.add(new EqualsGenerator(runtimeConfiguration, params));
+      generators.add(new HashCodeGenerator(runtimeConfiguration, params));
+      generators.add(new ToStringGenerator(runtimeConfiguration, params));
+    }
+    if (runtimeConfiguration.withJsonDeserializer()) {
+      generators.add(new JsonDeserializerGenerator(runtimeConfiguration, params));
+    }
+    if (runtimeConfiguration.withJsonSerializer()) {
+      generators.add(new JsonSerializerGenerator(runtimeConfiguration, params));
+    }
+    if (runtimeConfiguration.withValidation()) {
+      generators.add(new ValidationGenerator(runtimeConfiguration, params));
+    }
+    if (runtimeConfiguration.withBuilders()) {
+      generators.add(new WithersGenerator(runtimeConfiguration, params));
+    }
+    if (runtimeConfiguration.withBinaryCodec()) {
+      generators.add(new BinaryCodecGenerator(runtimeConfiguration, params));
+    }
+    return generators;
+  }
+
+  /**
+   * @return the generator of an enum class, with one constant per value
+   */
+  static ModelGenerator ofEnum(
+      RuntimeConfiguration runtimeConfiguration,
+      ClassGenerationParams params,
+      List<String> values) {
+    return new EnumGenerator(runtimeConfiguration, params, values);
   }
 
   void generatePart();
@@ -0,0 +1,131 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain.generator;
+
+import static java.lang.classfile.ClassFile.ACC_FINAL;
+import static java.lang.classfile.ClassFile.ACC_PUBLIC;
+import static java.lang.constant.ConstantDescs.*;
+
+import es.nachobrito.jsonschema.compiler.domain.Property;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.lang.classfile.attribute.RecordAttribute;
+import java.lang.classfile.attribute.RecordComponentInfo;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.ConstantDesc;
+import java.lang.constant.DirectMethodHandleDesc;
+import java.lang.constant.DynamicCallSiteDesc;
+import java.lang.constant.MethodHandleDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.lang.invoke.TypeDescriptor;
+import java.lang.runtime.ObjectMethods;
+import java.util.ArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the same record bytecode as javac: a {@code Record} attribute listing the components,
+ * so {@code Class.isRecord()} is true and frameworks use their record support, and {@code equals},
+ * {@code hashCode} and {@code toString} methods that delegate to the {@link ObjectMethods}
+ * bootstrap method.
+ *
+ * <p>Like in javac records, array properties are compared by reference. Properties stored in a
+ * {@link PresenceBitmap} use their accessor, instead of the field, so missing values are null.
+ */
+record ObjectMethodsGenerator(
+    RuntimeConfiguration runtimeConfiguration, ClassGenerationParams params)
+    implements ModelGenerator {
+  private static final DirectMethodHandleDesc BOOTSTRAP =
+      MethodHandleDesc.ofMethod(
+          DirectMethodHandleDesc.Kind.STATIC,
+          ClassDesc.of(ObjectMethods.class.getName()),
+          "bootstrap",
+          MethodTypeDesc.of(
+              CD_Object,
+              CD_MethodHandles_Lookup,
+              CD_String,
+              ClassDesc.of(TypeDescriptor.class.getName()),
+              CD_Class,
+              CD_String,
+              CD_MethodHandle.arrayType()));
+
+  @Override
+  public void generatePart() {
+    var classDesc = params.classDesc();
+    var bitmap = PresenceBitmap.of(runtimeConfiguration, params);
+    var components = new ArrayList<RecordComponentInfo>();
+    // the record class, the component names and one getter per component
+    var bootstrapArgs = new ArrayList<ConstantDesc>();
+    bootstrapArgs.add(classDesc);
+    bootstrapArgs.add(
+        params.properties().values().stream()
+            .map(Property::formattedName)
+            .collect(Collectors.joining(";")));
+    for (var property : params.properties().values()) {
+      components.add(RecordComponentInfo.of(property.formattedName(), property.type()));
+      bootstrapArgs.add(
+          bitmap.contains(property)
+              ? MethodHandleDesc.ofMethod(
+                  DirectMethodHandleDesc.Kind.VIRTUAL,
+                  classDesc,
+                  property.formattedName(),
+                  MethodTypeDesc.of(property.type()))
+              : MethodHandleDesc.ofField(
+                  DirectMethodHandleDesc.Kind.GETTER,
+                  classDesc,
+                  property.formattedName(),
+                  property.type()));
+    }
+    var args = bootstrapArgs.toArray(ConstantDesc[]::new);
+
+    params
+        .classBuilder()
+        .with(RecordAttribute.of(components))
+        .withMethodBody(
+            "equals",
+            MethodTypeDesc.of(CD_boolean, CD_Object),
+            ACC_PUBLIC | ACC_FINAL,
+            cob ->
+                cob.aload(0)
+                    .aload(1)
+                    .invokedynamic(
+                        DynamicCallSiteDesc.of(
+                            BOOTSTRAP,
+                            "equals",
+                            MethodTypeDesc.of(CD_boolean, classDesc, CD_Object),
+                            args))
+                    .ireturn())
+        .withMethodBody(
+            "hashCode",
+            MethodTypeDesc.of(CD_int),
+            ACC_PUBLIC | ACC_FINAL,
+            cob ->
+                cob.aload(0)
+                    .invokedynamic(
+                        DynamicCallSiteDesc.of(
+                            BOOTSTRAP, "hashCode", MethodTypeDesc.of(CD_int, classDesc), args))
+                    .ireturn())
+        .withMethodBody(
+            "toString",
+            MethodTypeDesc.of(CD_String),
+            ACC_PUBLIC | ACC_FINAL,
+            cob ->
+                cob.aload(0)
+                    .invokedynamic(
+                        DynamicCallSiteDesc.of(
+                            BOOTSTRAP, "toString", MethodTypeDesc.of(CD_String, classDesc), args))
+                    .areturn());
+  }
+}
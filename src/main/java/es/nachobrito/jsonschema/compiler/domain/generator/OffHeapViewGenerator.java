@@ -0,0 +1,455 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain.generator;
+
+import static java.lang.classfile.ClassFile.ACC_FINAL;
+import static java.lang.classfile.ClassFile.ACC_PRIVATE;
+import static java.lang.classfile.ClassFile.ACC_PUBLIC;
+import static java.lang.classfile.ClassFile.ACC_STATIC;
+import static java.lang.constant.ConstantDescs.*;
+
+import es.nachobrito.jsonschema.compiler.domain.Property;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.TypeKind;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Generates a {@code <Name>View} flyweight that reads and writes the properties of a record in a
+ * {@code java.lang.foreign.MemorySegment}, for schemas whose properties all have a fixed width:
+ * numbers, booleans, uuids and dates.
+ *
+ * <pre>{@code
+ * public final class ReadingView {
+ *   public static final StructLayout LAYOUT = MemoryLayout.structLayout(...);
+ *   public ReadingView(MemorySegment segment) {...}
+ *   public ReadingView moveTo(long index) {...}
+ *   public int count() {...}
+ *   public void count(int value) {...}
+ *   public void copyFrom(Reading reading) {...}
+ *   public Reading toRecord() {...}
+ * }
+ * }</pre>
+ *
+ * <p>One view can walk a whole segment of {@code LAYOUT}s with {@code moveTo}. Members are laid
+ * out from the widest to the narrowest, so they are naturally aligned without padding between them.
+ * Boxed properties are stored unboxed, so {@code copyFrom} fails on null values. Properties stored
+ * in a {@link PresenceBitmap} are copied from and to their primitive fields, without boxing them:
+ * the view is a nestmate of the record.
+ */
+record OffHeapViewGenerator(RuntimeConfiguration runtimeConfiguration)
+    implements CompanionGenerator {
+  static final String CLASS_NAME_SUFFIX = "View";
+
+  private static final ClassDesc CD_MemorySegment = ClassDesc.of("java.lang.foreign.MemorySegment");
+  private static final ClassDesc CD_MemoryLayout = ClassDesc.of("java.lang.foreign.MemoryLayout");
+  private static final ClassDesc CD_StructLayout = ClassDesc.of("java.lang.foreign.StructLayout");
+  private static final ClassDesc CD_PaddingLayout = ClassDesc.of("java.lang.foreign.PaddingLayout");
+  private static final ClassDesc CD_ValueLayout = ClassDesc.of("java.lang.foreign.ValueLayout");
+  private static final ClassDesc CD_PathElement =
+      ClassDesc.of("java.lang.foreign.MemoryLayout$PathElement");
+  private static final ClassDesc CD_UUID = ClassDesc.of(UUID.class.getName());
+  private static final ClassDesc CD_LocalDate = ClassDesc.of(LocalDate.class.getName());
+  private static final ClassDesc CD_NullPointerException =
+      ClassDesc.of(NullPointerException.class.getName());
+
+  /** Properties stored as a single primitive value, by the type of the property. */
+  private static final Map<ClassDesc, ClassDesc> CARRIERS =
+      Map.ofEntries(
+          Map.entry(CD_byte, CD_byte),
+          Map.entry(CD_short, CD_short),
+          Map.entry(CD_int, CD_int),
+          Map.entry(CD_long, CD_long),
+          Map.entry(CD_float, CD_float),
+          Map.entry(CD_double, CD_double),
+          Map.entry(CD_boolean, CD_boolean),
+          Map.entry(CD_Byte, CD_byte),
+          Map.entry(CD_Short, CD_short),
+          Map.entry(CD_Integer, CD_int),
+          Map.entry(CD_Long, CD_long),
+          Map.entry(CD_Float, CD_float),
+          Map.entry(CD_Double, CD_double),
+          Map.entry(CD_Boolean, CD_boolean),
+          Map.entry(CD_LocalDate, CD_long));
+
+  private static final String SEGMENT_FIELD = "segment";
+  private static final String OFFSET_FIELD = "offset";
+  private static final String LAYOUT_FIELD = "LAYOUT";
+
+  /**
+   * A value stored in the segment. Uuids take two members, every other property takes one.
+   *
+   * @param name the name of the member in the layout, and of the VarHandle field that accesses it
+   * @param carrier the primitive type stored
+   */
+  private record Member(String name, ClassDesc carrier) {
+    int byteSize() {
+      return switch (carrier.descriptorString()) {
+        case "B", "Z" -> 1;
+        case "S" -> 2;
+        case "I", "F" -> 4;
+        default -> 8;
+      };
+    }
+
+    String layoutConstant() {
+      return "JAVA_" + carrier.displayName().toUpperCase(Locale.ROOT);
+    }
+
+    ClassDesc layoutType() {
+      var simpleName = carrier.displayName();
+      return CD_ValueLayout.nested(
+          "Of" + Character.toUpperCase(simpleName.charAt(0)) + simpleName.substring(1));
+    }
+  }
+
+  @Override
+  public String classNameSuffix() {
+    return CLASS_NAME_SUFFIX;
+  }
+
+  @Override
+  public boolean supports(SortedMap<String, Property> properties) {
+    return !properties.isEmpty()
+        && properties.values().stream()
+            .map(Property::type)
+            .allMatch(type -> CARRIERS.containsKey(type) || type.equals(CD_UUID));
+  }
+
+  @Override
+  public void generate(ClassDesc recordDesc, ClassGenerationParams params) {
+    var classBuilder = params.classBuilder();
+    var viewDesc = params.classDesc();
+    classBuilder.withFlags(ACC_PUBLIC | ACC_FINAL).withSuperclass(CD_Object);
+
+    var members = new ArrayList<Member>();
+    params.properties().values().forEach(property -> members.addAll(members(property)));
+    members.sort(Comparator.comparingInt(Member::byteSize).reversed());
+    var byteSize = members.stream().mapToLong(Member::byteSize).sum();
+    var alignment = members.getFirst().byteSize();
+    var padding = (alignment - byteSize % alignment) % alignment;
+
+    classBuilder.withField(LAYOUT_FIELD, CD_StructLayout, ACC_PUBLIC | ACC_STATIC | ACC_FINAL);
+    members.forEach(
+        member ->
+            classBuilder.withField(
+                handleName(member), CD_VarHandle, ACC_PRIVATE | ACC_STATIC | ACC_FINAL));
+    params.staticInitializer().add(cob -> buildLayout(cob, viewDesc, members, padding));
+
+    classBuilder.withField(SEGMENT_FIELD, CD_MemorySegment, ACC_PRIVATE | ACC_FINAL);
+    classBuilder.withField(OFFSET_FIELD, CD_long, ACC_PRIVATE);
+    classBuilder.withMethodBody(
+        INIT_NAME,
+        MethodTypeDesc.of(CD_void, CD_MemorySegment),
+        ACC_PUBLIC,
+        cob ->
+            cob.aload(0)
+                .invokespecial(CD_Object, INIT_NAME, MTD_void)
+                .aload(0)
+                .aload(1)
+                .putfield(viewDesc, SEGMENT_FIELD, CD_MemorySegment)
+                .return_());
+    // moveTo(index): offset = index * LAYOUT.byteSize()
+    classBuilder.withMethodBody(
+        "moveTo",
+        MethodTypeDesc.of(viewDesc, CD_long),
+        ACC_PUBLIC | ACC_FINAL,
+        cob ->
+            cob.aload(0)
+                .lload(1)
+                .ldc(byteSize + padding)
+                .lmul()
+                .putfield(viewDesc, OFFSET_FIELD, CD_long)
+                .aload(0)
+                .areturn());
+
+    params.properties().values().forEach(property -> buildAccessors(params, property));
+    var bitmap = PresenceBitmap.of(runtimeConfiguration, recordDesc, params.properties());
+    buildCopyFrom(params, bitmap);
+    buildToRecord(params, bitmap);
+  }
+
+  private static List<Member> members(Property property) {
+    var type = property.type();
+    if (type.equals(CD_UUID)) {
+      return List.of(
+          new Member(property.formattedName() + "MostSignificantBits", CD_long),
+          new Member(property.formattedName() + "LeastSignificantBits", CD_long));
+    }
+    return List.of(new Member(property.formattedName(), CARRIERS.get(type)));
+  }
+
+  private static String handleName(Member member) {
+    return "VH_%s".formatted(member.name());
+  }
+
+  /** The type of the view accessors: the primitive type for numbers and booleans. */
+  private static ClassDesc viewType(ClassDesc type) {
+    return type.equals(CD_UUID) || type.equals(CD_LocalDate) ? type : CARRIERS.get(type);
+  }
+
+  /**
+   * LAYOUT = MemoryLayout.structLayout(ValueLayout.JAVA_LONG.withName("total"), ...), and one
+   * VarHandle per member, LAYOUT.varHandle(PathElement.groupElement("total"))
+   */
+  private static void buildLayout(
+      CodeBuilder cob, ClassDesc viewDesc, List<Member> members, long padding) {
+    var elements = members.size() + (padding > 0 ? 1 : 0);
+    cob.ldc(elements).anewarray(CD_MemoryLayout);
+    for (int i = 0; i < members.size(); i++) {
+      var member = members.get(i);
+      cob.dup()
+          .ldc(i)
+          .getstatic(CD_ValueLayout, member.layoutConstant(), member.layoutType())
+          .ldc(member.name())
+          .invokeinterface(
+              CD_MemoryLayout, "withName", MethodTypeDesc.of(CD_MemoryLayout, CD_String))
+          .aastore();
+    }
+    if (padding > 0) {
+      cob.dup()
+          .ldc(members.size())
+          .ldc(padding)
+          .invokestatic(
+              CD_MemoryLayout,
+              "paddingLayout",
+              MethodTypeDesc.of(CD_PaddingLayout, CD_long),
+              true)
+          .aastore();
+    }
+    cob.invokestatic(
+            CD_MemoryLayout,
+            "structLayout",
+            MethodTypeDesc.of(CD_StructLayout, CD_MemoryLayout.arrayType()),
+            true)
+        .putstatic(viewDesc, LAYOUT_FIELD, CD_StructLayout);
+    for (var member : members) {
+      cob.getstatic(viewDesc, LAYOUT_FIELD, CD_StructLayout)
+          .iconst_1()
+          .anewarray(CD_PathElement)
+          .dup()
+          .iconst_0()
+          .ldc(member.name())
+          .invokestatic(
+              CD_PathElement, "groupElement", MethodTypeDesc.of(CD_PathElement, CD_String), true)
+          .aastore()
+          .invokeinterface(
+              CD_MemoryLayout,
+              "varHandle",
+              MethodTypeDesc.of(CD_VarHandle, CD_PathElement.arrayType()))
+          .putstatic(viewDesc, handleName(member), CD_VarHandle);
+    }
+  }
+
+  private static void buildAccessors(ClassGenerationParams params, Property property) {
+    var viewDesc = params.classDesc();
+    var viewType = viewType(property.type());
+    var members = members(property);
+    params
+        .classBuilder()
+        .withMethodBody(
+            property.formattedName(),
+            MethodTypeDesc.of(viewType),
+            ACC_PUBLIC | ACC_FINAL,
+            cob -> {
+              loadValue(cob, viewDesc, property, members);
+              cob.return_(TypeKind.from(viewType));
+            })
+        .withMethodBody(
+            property.formattedName(),
+            MethodTypeDesc.of(CD_void, viewType),
+            ACC_PUBLIC | ACC_FINAL,
+            cob -> {
+              storeValue(cob, viewDesc, property, members);
+              cob.return_();
+            });
+  }
+
+  private static void loadValue(
+      CodeBuilder cob, ClassDesc viewDesc, Property property, List<Member> members) {
+    var type = property.type();
+    if (type.equals(CD_UUID)) {
+      cob.new_(CD_UUID).dup();
+      getMember(cob, viewDesc, members.get(0));
+      getMember(cob, viewDesc, members.get(1));
+      cob.invokespecial(CD_UUID, INIT_NAME, MethodTypeDesc.of(CD_void, CD_long, CD_long));
+      return;
+    }
+    getMember(cob, viewDesc, members.getFirst());
+    if (type.equals(CD_LocalDate)) {
+      cob.invokestatic(CD_LocalDate, "ofEpochDay", MethodTypeDesc.of(CD_LocalDate, CD_long));
+    }
+  }
+
+  /** Stores the value of the setter parameter, in slot 1. */
+  private static void storeValue(
+      CodeBuilder cob, ClassDesc viewDesc, Property property, List<Member> members) {
+    var type = property.type();
+    if (type.equals(CD_UUID)) {
+      setMember(
+          cob,
+          viewDesc,
+          members.get(0),
+          value ->
+              value
+                  .aload(1)
+                  .invokevirtual(CD_UUID, "getMostSignificantBits", MethodTypeDesc.of(CD_long)));
+      setMember(
+          cob,
+          viewDesc,
+          members.get(1),
+          value ->
+              value
+                  .aload(1)
+                  .invokevirtual(CD_UUID, "getLeastSignificantBits", MethodTypeDesc.of(CD_long)));
+      return;
+    }
+    if (type.equals(CD_LocalDate)) {
+      setMember(
+          cob,
+          viewDesc,
+          members.getFirst(),
+          value ->
+              value.aload(1).invokevirtual(CD_LocalDate, "toEpochDay", MethodTypeDesc.of(CD_long)));
+      return;
+    }
+    var member = members.getFirst();
+    setMember(cob, viewDesc, member, value -> value.loadLocal(TypeKind.from(member.carrier()), 1));
+  }
+
+  private static void getMember(CodeBuilder cob, ClassDesc viewDesc, Member member) {
+    cob.getstatic(viewDesc, handleName(member), CD_VarHandle)
+        .aload(0)
+        .getfield(viewDesc, SEGMENT_FIELD, CD_MemorySegment)
+        .aload(0)
+        .getfield(viewDesc, OFFSET_FIELD, CD_long)
+        .invokevirtual(
+            CD_VarHandle, "get", MethodTypeDesc.of(member.carrier(), CD_MemorySegment, CD_long));
+  }
+
+  private static void setMember(
+      CodeBuilder cob, ClassDesc viewDesc, Member member, Consumer<CodeBuilder> value) {
+    cob.getstatic(viewDesc, handleName(member), CD_VarHandle)
+        .aload(0)
+        .getfield(viewDesc, SEGMENT_FIELD, CD_MemorySegment)
+        .aload(0)
+        .getfield(viewDesc, OFFSET_FIELD, CD_long);
+    value.accept(cob);
+    cob.invokevirtual(
+        CD_VarHandle,
+        "set",
+        MethodTypeDesc.of(CD_void, CD_MemorySegment, CD_long, member.carrier()));
+  }
+
+  /**
+   * copyFrom(record) calls every setter with the value of the record accessor, or of the primitive
+   * field for properties in the bitmap, after checking their presence bit.
+   */
+  private static void buildCopyFrom(ClassGenerationParams params, PresenceBitmap bitmap) {
+    var viewDesc = params.classDesc();
+    var recordDesc = bitmap.owner();
+    params
+        .classBuilder()
+        .withMethodBody(
+            "copyFrom",
+            MethodTypeDesc.of(CD_void, recordDesc),
+            ACC_PUBLIC | ACC_FINAL,
+            cob -> {
+              for (var property : params.properties().values()) {
+                var type = property.type();
+                var viewType = viewType(type);
+                if (bitmap.contains(property)) {
+                  var present = cob.newLabel();
+                  bitmap.loadPresence(cob, 1, property);
+                  cob.ifne(present)
+                      .new_(CD_NullPointerException)
+                      .dup()
+                      .ldc("%s is null".formatted(property.formattedName()))
+                      .invokespecial(
+                          CD_NullPointerException, INIT_NAME, MethodTypeDesc.of(CD_void, CD_String))
+                      .athrow()
+                      .labelBinding(present)
+                      .aload(0);
+                  bitmap.loadField(cob, 1, property);
+                } else {
+                  cob.aload(0)
+                      .aload(1)
+                      .invokevirtual(recordDesc, property.formattedName(), MethodTypeDesc.of(type));
+                  if (isBoxed(type)) {
+                    cob.invokevirtual(
+                        type,
+                        "%sValue".formatted(viewType.displayName()),
+                        MethodTypeDesc.of(viewType));
+                  }
+                }
+                cob.invokevirtual(
+                    viewDesc, property.formattedName(), MethodTypeDesc.of(CD_void, viewType));
+              }
+              cob.return_();
+            });
+  }
+
+  /**
+   * toRecord() calls the canonical constructor with the value of every getter, or the raw
+   * constructor, with every presence bit set, if some properties are stored in the bitmap.
+   */
+  private void buildToRecord(ClassGenerationParams params, PresenceBitmap bitmap) {
+    var viewDesc = params.classDesc();
+    var recordDesc = bitmap.owner();
+    var raw = bitmap.hasRawConstructor(runtimeConfiguration);
+    var propertyTypes =
+        params.properties().values().stream().map(Property::type).toArray(ClassDesc[]::new);
+    var constructorType =
+        raw ? bitmap.rawConstructorType() : MethodTypeDesc.of(CD_void, propertyTypes);
+    params
+        .classBuilder()
+        .withMethodBody(
+            "toRecord",
+            MethodTypeDesc.of(recordDesc),
+            ACC_PUBLIC | ACC_FINAL,
+            cob -> {
+              cob.new_(recordDesc).dup();
+              for (var property : params.properties().values()) {
+                var type = property.type();
+                var viewType = viewType(type);
+                cob.aload(0)
+                    .invokevirtual(viewDesc, property.formattedName(), MethodTypeDesc.of(viewType));
+                if (isBoxed(type) && !bitmap.contains(property)) {
+                  cob.invokestatic(type, "valueOf", MethodTypeDesc.of(type, viewType));
+                }
+              }
+              if (raw) {
+                bitmap.wordNames().forEach(word -> bitmap.loadAllPresent(cob, word));
+              }
+              cob.invokespecial(recordDesc, INIT_NAME, constructorType).areturn();
+            });
+  }
+
+  private static boolean isBoxed(ClassDesc type) {
+    return !type.isPrimitive() && viewType(type).isPrimitive();
+  }
+}
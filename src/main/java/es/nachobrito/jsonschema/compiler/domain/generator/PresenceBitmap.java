@@ -0,0 +1,311 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain.generator;
+
+import static java.lang.constant.ConstantDescs.*;
+
+import es.nachobrito.jsonschema.compiler.domain.Property;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.TypeKind;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.stream.IntStream;
+
+/**
+ * Describes how the nullable numeric and boolean properties of a class are stored when {@link
+ * RuntimeConfiguration#withPresenceBitmaps()} is enabled: as a primitive field, plus one bit in an
+ * {@code int} (up to 32 properties) or {@code long} presence field, set when the value is not null.
+ * The primitive field of a missing value is always zero, so comparing the presence fields and the
+ * primitive fields is enough to compare two instances.
+ *
+ * <p>The boxed type is still used by the constructor and the accessors, so generators that don't
+ * read the fields directly are not affected. Generators that copy records, like the withX methods
+ * and the companion classes, use a private constructor that takes the fields as they are stored
+ * (see {@link #rawConstructorType()}), so they don't box the values either.
+ *
+ * @param owner the class that declares the fields
+ * @param properties the properties of the record
+ * @param bits the bit of every property stored in the bitmap, by json key
+ */
+record PresenceBitmap(
+    ClassDesc owner, SortedMap<String, Property> properties, Map<String, Integer> bits) {
+  private static final String WORD_FIELD = "$present%d";
+
+  private static final Map<ClassDesc, ClassDesc> PRIMITIVE_TYPES =
+      Map.of(
+          CD_Boolean, CD_boolean,
+          CD_Byte, CD_byte,
+          CD_Short, CD_short,
+          CD_Integer, CD_int,
+          CD_Long, CD_long,
+          CD_Double, CD_double);
+
+  static PresenceBitmap of(
+      RuntimeConfiguration runtimeConfiguration, ClassGenerationParams params) {
+    return of(runtimeConfiguration, params.classDesc(), params.properties());
+  }
+
+  /**
+   * @param owner the record, also when the bitmap is used by one of its companion classes
+   */
+  static PresenceBitmap of(
+      RuntimeConfiguration runtimeConfiguration,
+      ClassDesc owner,
+      SortedMap<String, Property> properties) {
+    var bits = new HashMap<String, Integer>();
+    if (runtimeConfiguration.withPresenceBitmaps()) {
+      for (var property : properties.values()) {
+        if (PRIMITIVE_TYPES.containsKey(property.type())) {
+          bits.put(property.key(), bits.size());
+        }
+      }
+    }
+    return new PresenceBitmap(owner, properties, bits);
+  }
+
+  /**
+   * @return the same bitmap, for fields declared by another class, like a builder that stores the
+   *     values of a record the same way the record does
+   */
+  PresenceBitmap withOwner(ClassDesc owner) {
+    return new PresenceBitmap(owner, properties, bits);
+  }
+
+  boolean isEmpty() {
+    return bits.isEmpty();
+  }
+
+  /**
+   * The raw constructor is only needed to copy records, by the withX methods and the companion
+   * classes, and only if some property is stored in the bitmap.
+   *
+   * @return true if the record declares a constructor of type {@link #rawConstructorType()}
+   */
+  boolean hasRawConstructor(RuntimeConfiguration runtimeConfiguration) {
+    return !isEmpty()
+        && (runtimeConfiguration.withBuilders()
+            || runtimeConfiguration.withBatches()
+            || runtimeConfiguration.withOffHeapViews());
+  }
+
+  /**
+   * @return the type of the private constructor that takes the value of every field, in the order
+   *     of the properties, followed by the presence fields. Companion classes can call it because
+   *     they are nestmates of the record.
+   */
+  MethodTypeDesc rawConstructorType() {
+    var types = new ArrayList<ClassDesc>();
+    properties.values().forEach(property -> types.add(fieldType(property)));
+    wordNames().forEach(word -> types.add(wordType()));
+    return MethodTypeDesc.of(CD_void, types);
+  }
+
+  /**
+   * @return true if the property is stored as a primitive field and a presence bit
+   */
+  boolean contains(Property property) {
+    return bits.containsKey(property.key());
+  }
+
+  /**
+   * @return the type of the field that stores the property
+   */
+  ClassDesc fieldType(Property property) {
+    return contains(property) ? PRIMITIVE_TYPES.get(property.type()) : property.type();
+  }
+
+  /**
+   * @return the type of the presence fields, {@code int} or {@code long}
+   */
+  ClassDesc wordType() {
+    return bits.size() <= Integer.SIZE ? CD_int : CD_long;
+  }
+
+  /**
+   * @return the names of the presence fields
+   */
+  List<String> wordNames() {
+    var wordCount = (bits.size() + Long.SIZE - 1) / Long.SIZE;
+    return IntStream.range(0, wordCount).mapToObj(WORD_FIELD::formatted).toList();
+  }
+
+  /**
+   * @return the name of the presence field that stores the bit of the property
+   */
+  String wordName(Property property) {
+    return WORD_FIELD.formatted(bits.get(property.key()) / Long.SIZE);
+  }
+
+  /** Pushes the presence field {@code word} of the object in the given slot. */
+  void loadWord(CodeBuilder cob, int objectSlot, String word) {
+    cob.aload(objectSlot).getfield(owner, word, wordType());
+  }
+
+  /** Pushes a presence field with the bits of every property in {@code word} set. */
+  void loadAllPresent(CodeBuilder cob, String word) {
+    var mask = 0L;
+    for (var bit : bits.values()) {
+      if (WORD_FIELD.formatted(bit / Long.SIZE).equals(word)) {
+        mask |= 1L << (bit % Long.SIZE);
+      }
+    }
+    if (wordType().equals(CD_int)) {
+      cob.ldc((int) mask);
+    } else {
+      cob.ldc(mask);
+    }
+  }
+
+  /** Pushes the bit of the property in its presence field, as an int or a long. */
+  void loadMask(CodeBuilder cob, Property property) {
+    var bit = bits.get(property.key()) % Long.SIZE;
+    if (wordType().equals(CD_int)) {
+      cob.ldc(1 << bit);
+    } else {
+      cob.ldc(1L << bit);
+    }
+  }
+
+  /** Pushes an int that is not zero if the property of the object in the given slot is present. */
+  void loadPresence(CodeBuilder cob, int objectSlot, Property property) {
+    cob.aload(objectSlot).getfield(owner, wordName(property), wordType());
+    loadMask(cob, property);
+    if (wordType().equals(CD_int)) {
+      cob.iand();
+    } else {
+      cob.land().lconst_0().lcmp();
+    }
+  }
+
+  /**
+   * Pushes the primitive field of a property in the bitmap, without checking its presence bit. Use
+   * it after {@link #loadPresence(CodeBuilder, int, Property)} to avoid boxing the value.
+   */
+  void loadField(CodeBuilder cob, int objectSlot, Property property) {
+    cob.aload(objectSlot).getfield(owner, property.formattedName(), fieldType(property));
+  }
+
+  /** Pushes the value of the property of the object in the given slot, boxing it if needed. */
+  void loadValue(CodeBuilder cob, int objectSlot, Property property) {
+    if (!contains(property)) {
+      cob.aload(objectSlot).getfield(owner, property.formattedName(), property.type());
+      return;
+    }
+    var absent = cob.newLabel();
+    var end = cob.newLabel();
+    var fieldType = fieldType(property);
+    loadPresence(cob, objectSlot, property);
+    cob.ifeq(absent);
+    loadField(cob, objectSlot, property);
+    cob.invokestatic(property.type(), "valueOf", MethodTypeDesc.of(property.type(), fieldType))
+        .goto_(end)
+        .labelBinding(absent)
+        .aconst_null()
+        .labelBinding(end);
+  }
+
+  /**
+   * Stores the value of the property, in the local variable {@code valueSlot}, in the object in
+   * {@code objectSlot}. Values in the bitmap are unboxed, and set their presence bit if not null.
+   */
+  void storeValue(CodeBuilder cob, int objectSlot, int valueSlot, Property property) {
+    var kind = TypeKind.from(property.type());
+    if (!contains(property)) {
+      cob.aload(objectSlot)
+          .loadLocal(kind, valueSlot)
+          .putfield(owner, property.formattedName(), property.type());
+      return;
+    }
+    var absent = cob.newLabel();
+    var fieldType = fieldType(property);
+    var word = wordName(property);
+    cob.aload(valueSlot).ifnull(absent).aload(objectSlot);
+    unbox(cob, valueSlot, property);
+    cob.putfield(owner, property.formattedName(), fieldType)
+        .aload(objectSlot)
+        .dup()
+        .getfield(owner, word, wordType());
+    setBit(cob, property);
+    cob.putfield(owner, word, wordType()).labelBinding(absent);
+  }
+
+  /**
+   * Sets the primitive field of a property in the bitmap to zero, and clears its presence bit, in
+   * the object in {@code objectSlot}. Use it before {@link #storeValue(CodeBuilder, int, int,
+   * Property)} outside constructors, so a null value does not leave the previous one behind.
+   */
+  void clearValue(CodeBuilder cob, int objectSlot, Property property) {
+    var fieldType = fieldType(property);
+    var word = wordName(property);
+    cob.aload(objectSlot);
+    loadZero(cob, property);
+    cob.putfield(owner, property.formattedName(), fieldType).aload(objectSlot);
+    loadWordWithout(cob, objectSlot, property);
+    cob.putfield(owner, word, wordType());
+  }
+
+  /**
+   * Pushes the presence field of the property, of the object in the given slot, with the bit of the
+   * property cleared.
+   */
+  void loadWordWithout(CodeBuilder cob, int objectSlot, Property property) {
+    loadWord(cob, objectSlot, wordName(property));
+    loadMask(cob, property);
+    if (wordType().equals(CD_int)) {
+      cob.iconst_m1().ixor().iand();
+    } else {
+      cob.ldc(-1L).lxor().land();
+    }
+  }
+
+  /** Sets the bit of the property in the presence field on top of the stack. */
+  void setBit(CodeBuilder cob, Property property) {
+    loadMask(cob, property);
+    if (wordType().equals(CD_int)) {
+      cob.ior();
+    } else {
+      cob.lor();
+    }
+  }
+
+  /**
+   * Pushes the primitive value of the boxed property in {@code valueSlot}, which must not be null.
+   */
+  void unbox(CodeBuilder cob, int valueSlot, Property property) {
+    var fieldType = fieldType(property);
+    cob.aload(valueSlot)
+        .invokevirtual(
+            property.type(),
+            "%sValue".formatted(fieldType.displayName()),
+            MethodTypeDesc.of(fieldType));
+  }
+
+  /** Pushes the zero value of the primitive field of a property in the bitmap. */
+  void loadZero(CodeBuilder cob, Property property) {
+    switch (TypeKind.from(fieldType(property))) {
+      case LONG -> cob.lconst_0();
+      case DOUBLE -> cob.dconst_0();
+      default -> cob.iconst_0();
+    }
+  }
+}
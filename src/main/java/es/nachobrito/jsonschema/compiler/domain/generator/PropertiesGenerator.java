@@ -17,6 +17,10 @@
 package es.nachobrito.jsonschema.compiler.domain.generator;
 
 import static java.lang.classfile.ClassFile.*;
+import static java.lang.constant.ConstantDescs.CD_boolean;
+import static java.lang.constant.ConstantDescs.CD_double;
+import static java.lang.constant.ConstantDescs.CD_int;
+import static java.lang.constant.ConstantDescs.CD_long;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import es.nachobrito.jsonschema.compiler.domain.Property;
@@ -24,43 +28,127 @@ import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConf
 import java.lang.classfile.Annotation;
 import java.lang.classfile.AnnotationElement;
 import java.lang.classfile.ClassBuilder;
+import java.lang.classfile.TypeKind;
 import java.lang.classfile.attribute.RuntimeInvisibleAnnotationsAttribute;
+import java.lang.classfile.attribute.RuntimeVisibleAnnotationsAttribute;
 import java.lang.constant.ClassDesc;
 import java.lang.constant.MethodTypeDesc;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.SortedMap;
 
 record PropertiesGenerator(
     RuntimeConfiguration runtimeConfiguration,
     ClassGenerationParams params)
     implements ModelGenerator {
+  private static final Map<ClassDesc, ClassDesc> OPTIONAL_TYPES =
+      Map.of(
+          CD_int, ClassDesc.of(OptionalInt.class.getName()),
+          CD_long, ClassDesc.of(OptionalLong.class.getName()),
+          CD_double, ClassDesc.of(OptionalDouble.class.getName()));
+
   @Override
   public void generatePart() {
+    var bitmap = PresenceBitmap.of(runtimeConfiguration, params);
     params.properties()
         .entrySet()
-        .forEach(entry -> buildProperty(entry.getValue()));
+        .forEach(entry -> buildProperty(entry.getValue(), bitmap));
+    bitmap
+        .wordNames()
+        .forEach(
+            name ->
+                params.classBuilder()
+                    .withField(name, bitmap.wordType(), ACC_PRIVATE | ACC_FINAL | ACC_SYNTHETIC));
   }
 
-  private void buildProperty(Property property) {
-    buildField(property);
-    buildAccessor(property);
+  private void buildProperty(Property property, PresenceBitmap bitmap) {
+    buildField(property, bitmap.fieldType(property));
+    buildAccessor(property, bitmap);
+    if (bitmap.contains(property)) {
+      buildPresenceMethods(property, bitmap);
+    }
   }
 
-  private void buildAccessor(Property property) {
+  private void buildAccessor(Property property, PresenceBitmap bitmap) {
     var name = property.formattedName();
     var type = property.type();
-    params.classBuilder().withMethodBody(
+    params.classBuilder().withMethod(
         name,
         MethodTypeDesc.of(type),
         ACC_PUBLIC,
-        builder -> builder.aload(0).getfield(params.classDesc(), name, type).areturn());
+        methodBuilder -> {
+          methodBuilder.withCode(
+              builder -> {
+                bitmap.loadValue(builder, 0, property);
+                builder.return_(TypeKind.from(type));
+              });
+          // the field no longer holds the boxed value, so Jackson must serialize the accessor
+          if (bitmap.contains(property) && runtimeConfiguration.withJacksonAnnotations()) {
+            methodBuilder.with(
+                RuntimeVisibleAnnotationsAttribute.of(
+                    Annotation.of(
+                        ClassDesc.of(JsonProperty.class.getName()),
+                        AnnotationElement.ofString("value", property.key()))));
+          }
+        });
+  }
+
+  /**
+   * hasX() tests the presence bit of the property, and optionalX() returns an {@link OptionalInt},
+   * {@link OptionalLong} or {@link OptionalDouble} without boxing the value.
+   */
+  private void buildPresenceMethods(Property property, PresenceBitmap bitmap) {
+    var name = property.formattedName();
+    var capitalized = name.substring(0, 1).toUpperCase() + name.substring(1);
+    var fieldType = bitmap.fieldType(property);
+    params.classBuilder().withMethodBody(
+        "has" + capitalized,
+        MethodTypeDesc.of(CD_boolean),
+        ACC_PUBLIC | ACC_FINAL,
+        cob -> {
+          var absent = cob.newLabel();
+          bitmap.loadPresence(cob, 0, property);
+          cob.ifeq(absent).iconst_1().ireturn().labelBinding(absent).iconst_0().ireturn();
+        });
+
+    // byte and short values are ints in the operand stack
+    var valueType =
+        switch (TypeKind.from(fieldType)) {
+          case BYTE, SHORT, INT -> CD_int;
+          case LONG -> CD_long;
+          case DOUBLE -> CD_double;
+          default -> null;
+        };
+    if (valueType == null) {
+      return;
+    }
+    var optionalType = OPTIONAL_TYPES.get(valueType);
+    params.classBuilder().withMethodBody(
+        "optional" + capitalized,
+        MethodTypeDesc.of(optionalType),
+        ACC_PUBLIC | ACC_FINAL,
+        cob -> {
+          var absent = cob.newLabel();
+          bitmap.loadPresence(cob, 0, property);
+          cob.ifeq(absent)
+              .aload(0)
+              .getfield(params.classDesc(), name, fieldType)
+              .invokestatic(optionalType, "of", MethodTypeDesc.of(optionalType, valueType))
+              .areturn()
+              .labelBinding(absent)
+              .invokestatic(optionalType, "empty", MethodTypeDesc.of(optionalType))
+              .areturn();
+        });
   }
 
-  private void buildField(Property property) {
+  private void buildField(Property property, ClassDesc fieldType) {
 
     params.classBuilder().withField(
         property.formattedName(),
-        property.type(),
+        fieldType,
         fieldBuilder -> {
           fieldBuilder.withFlags(ACC_PRIVATE | ACC_FINAL);
 
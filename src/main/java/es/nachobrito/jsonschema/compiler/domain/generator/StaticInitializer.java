@@ -0,0 +1,59 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain.generator;
+
+import static java.lang.classfile.ClassFile.ACC_STATIC;
+import static java.lang.constant.ConstantDescs.CLASS_INIT_NAME;
+import static java.lang.constant.ConstantDescs.MTD_void;
+
+import java.lang.classfile.ClassBuilder;
+import java.lang.classfile.CodeBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Collects the code that generators need to run in the static initializer of a class. A class can
+ * only have one {@code <clinit>} method, so generators register their parts here and the method is
+ * written once, after all of them have run.
+ */
+public final class StaticInitializer {
+  private final List<Consumer<CodeBuilder>> parts = new ArrayList<>();
+
+  public void add(Consumer<CodeBuilder> part) {
+    parts.add(part);
+  }
+
+  /**
+   * Writes the static initializer, if any generator registered code for it.
+   *
+   * @param classBuilder the builder of the class being generated
+   */
+  public void generate(ClassBuilder classBuilder) {
+    if (parts.isEmpty()) {
+      return;
+    }
+    classBuilder.withMethodBody(
+        CLASS_INIT_NAME,
+        MTD_void,
+        ACC_STATIC,
+        cob -> {
+          parts.forEach(part -> part.accept(cob));
+          cob.return_();
+        });
+  }
+}
@@ -0,0 +1,604 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain.generator;
+
+import static java.lang.classfile.ClassFile.ACC_FINAL;
+import static java.lang.classfile.ClassFile.ACC_PRIVATE;
+import static java.lang.classfile.ClassFile.ACC_PUBLIC;
+import static java.lang.classfile.ClassFile.ACC_STATIC;
+import static java.lang.classfile.ClassFile.ACC_SYNTHETIC;
+import static java.lang.constant.ConstantDescs.*;
+
+import es.nachobrito.jsonschema.compiler.domain.Property;
+import es.nachobrito.jsonschema.compiler.domain.PropertyConstraints;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.Label;
+import java.lang.classfile.TypeKind;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.MethodTypeDesc;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generates a {@code validate(BiConsumer<String, String>)} method that checks the validation
+ * keywords of the schema ({@code required}, {@code minimum}, {@code maxLength}, {@code pattern},
+ * {@code enum}, {@code minItems}...) and returns true if the instance is valid. Enums are checked
+ * for string properties only. Items of arrays of numbers and strings are checked with the keywords
+ * of {@code items}, and integer values are compared as longs.
+ *
+ * <p>Failures are reported to the given collector, as the path of the property and a message,
+ * instead of throwing. Nested objects, and arrays of objects, are validated recursively.
+ * Patterns are compiled once, into static fields.
+ */
+record ValidationGenerator(RuntimeConfiguration runtimeConfiguration, ClassGenerationParams params)
+    implements ModelGenerator {
+  static final String METHOD_NAME = "validate";
+
+  private static final ClassDesc CD_BiConsumer = ClassDesc.of(BiConsumer.class.getName());
+  private static final ClassDesc CD_Pattern = ClassDesc.of(Pattern.class.getName());
+  private static final ClassDesc CD_Matcher = ClassDesc.of(Matcher.class.getName());
+  private static final ClassDesc CD_CharSequence = ClassDesc.of(CharSequence.class.getName());
+  private static final Set<ClassDesc> NUMERIC_TYPES =
+      Set.of(
+          CD_Byte, CD_Short, CD_Integer, CD_Long, CD_Double, CD_byte, CD_short, CD_int, CD_long,
+          CD_double);
+  private static final Set<ClassDesc> INTEGRAL_TYPES =
+      Set.of(CD_Byte, CD_Short, CD_Integer, CD_Long, CD_byte, CD_short, CD_int, CD_long);
+
+  private static final int THIS_SLOT = 0;
+  private static final int PREFIX_SLOT = 1;
+  private static final int ERRORS_SLOT = 2;
+
+  @Override
+  public void generatePart() {
+    params.properties().values().stream()
+        .filter(property -> property.constraints().pattern() != null)
+        .forEach(
+            property -> buildPattern(patternConstant(property), property.constraints().pattern()));
+    params.properties().values().stream()
+        .filter(ValidationGenerator::hasItemsPattern)
+        .forEach(
+            property ->
+                buildPattern(
+                    itemsPatternConstant(property), property.constraints().items().pattern()));
+
+    params
+        .classBuilder()
+        .withMethodBody(
+            METHOD_NAME,
+            MethodTypeDesc.of(CD_boolean, CD_BiConsumer),
+            ACC_PUBLIC | ACC_FINAL,
+            cob ->
+                cob.aload(THIS_SLOT)
+                    .ldc("")
+                    .aload(1)
+                    .invokevirtual(params.classDesc(), METHOD_NAME, validateWithPrefix())
+                    .ireturn());
+    params
+        .classBuilder()
+        .withMethodBody(
+            METHOD_NAME, validateWithPrefix(), ACC_PUBLIC | ACC_FINAL, this::buildMethodBody);
+  }
+
+  /** The overload used by nested objects, with the path of the object as prefix. */
+  private static MethodTypeDesc validateWithPrefix() {
+    return MethodTypeDesc.of(CD_boolean, CD_String, CD_BiConsumer);
+  }
+
+  private void buildPattern(String fieldName, String pattern) {
+    params
+        .classBuilder()
+        .withField(fieldName, CD_Pattern, ACC_PRIVATE | ACC_STATIC | ACC_FINAL | ACC_SYNTHETIC);
+    params
+        .staticInitializer()
+        .add(
+            cob ->
+                cob.ldc(pattern)
+                    .invokestatic(CD_Pattern, "compile", MethodTypeDesc.of(CD_Pattern, CD_String))
+                    .putstatic(params.classDesc(), fieldName, CD_Pattern));
+  }
+
+  private static String patternConstant(Property property) {
+    return "PATTERN_%s".formatted(property.formattedName());
+  }
+
+  private static boolean hasItemsPattern(Property property) {
+    return property.type().equals(CD_String.arrayType())
+        && property.constraints().items() != null
+        && property.constraints().items().pattern() != null;
+  }
+
+  private static String itemsPatternConstant(Property property) {
+    return "ITEMS_PATTERN_%s".formatted(property.formattedName());
+  }
+
+  private void buildMethodBody(CodeBuilder cob) {
+    var bitmap = PresenceBitmap.of(runtimeConfiguration, params);
+    var validSlot = cob.allocateLocal(TypeKind.INT);
+    cob.iconst_1().istore(validSlot);
+    for (var property : params.properties().values()) {
+      var type = property.type();
+      var kind = TypeKind.from(type);
+      var slot = cob.allocateLocal(kind);
+      var next = cob.newLabel();
+      bitmap.loadValue(cob, THIS_SLOT, property);
+      cob.storeLocal(kind, slot);
+      if (!type.isPrimitive()) {
+        var notNull = cob.newLabel();
+        cob.aload(slot).ifnonnull(notNull);
+        if (property.constraints().required()) {
+          report(cob, it -> path(it, property.key()), "is required", validSlot);
+        }
+        cob.goto_(next).labelBinding(notNull);
+      }
+      validateValue(cob, property, slot, validSlot);
+      cob.labelBinding(next);
+    }
+    cob.iload(validSlot).ireturn();
+  }
+
+  private void validateValue(CodeBuilder cob, Property property, int slot, int validSlot) {
+    var type = property.type();
+    var constraints = property.constraints();
+    Consumer<CodeBuilder> path = it -> path(it, property.key());
+    if (NUMERIC_TYPES.contains(type)) {
+      validateNumber(cob, type, constraints, slot, path, validSlot);
+    } else if (type.equals(CD_String)) {
+      validateString(cob, constraints, patternConstant(property), slot, path, validSlot);
+    } else if (type.isArray()) {
+      validateArray(cob, property, slot, validSlot);
+    } else if (isGeneratedClass(type)) {
+      // nested.validate(prefix + "key.", errors)
+      cob.aload(slot);
+      path(cob, property.key() + ".");
+      cob.aload(ERRORS_SLOT)
+          .invokevirtual(type, METHOD_NAME, validateWithPrefix())
+          .iload(validSlot)
+          .iand()
+          .istore(validSlot);
+    }
+  }
+
+  private static boolean hasBounds(PropertyConstraints constraints) {
+    return constraints.minimum() != null
+        || constraints.exclusiveMinimum() != null
+        || constraints.maximum() != null
+        || constraints.exclusiveMaximum() != null;
+  }
+
+  private void validateNumber(
+      CodeBuilder cob,
+      ClassDesc type,
+      PropertyConstraints constraints,
+      int slot,
+      Consumer<CodeBuilder> path,
+      int validSlot) {
+    if (!hasBounds(constraints)) {
+      return;
+    }
+    if (INTEGRAL_TYPES.contains(type)) {
+      validateLong(cob, type, constraints, slot, path, validSlot);
+    } else {
+      validateDouble(cob, type, constraints, slot, path, validSlot);
+    }
+  }
+
+  /**
+   * Integer values are compared as longs, with the bounds rounded to the nearest integer they
+   * allow, so bounds beyond 2^53 are not rounded to a double.
+   */
+  private void validateLong(
+      CodeBuilder cob,
+      ClassDesc type,
+      PropertyConstraints constraints,
+      int slot,
+      Consumer<CodeBuilder> path,
+      int validSlot) {
+    var value = cob.allocateLocal(TypeKind.LONG);
+    switch (type.descriptorString()) {
+      case "B", "S", "I" -> cob.iload(slot).i2l();
+      case "J" -> cob.lload(slot);
+      default -> cob.aload(slot).invokevirtual(type, "longValue", MethodTypeDesc.of(CD_long));
+    }
+    cob.lstore(value);
+
+    if (constraints.minimum() != null) {
+      checkLongLimit(
+          cob,
+          value,
+          constraints.minimum().setScale(0, RoundingMode.CEILING),
+          true,
+          path,
+          "must be greater than or equal to %s".formatted(format(constraints.minimum())),
+          validSlot);
+    }
+    if (constraints.exclusiveMinimum() != null) {
+      checkLongLimit(
+          cob,
+          value,
+          constraints.exclusiveMinimum().setScale(0, RoundingMode.FLOOR).add(BigDecimal.ONE),
+          true,
+          path,
+          "must be greater than %s".formatted(format(constraints.exclusiveMinimum())),
+          validSlot);
+    }
+    if (constraints.maximum() != null) {
+      checkLongLimit(
+          cob,
+          value,
+          constraints.maximum().setScale(0, RoundingMode.FLOOR),
+          false,
+          path,
+          "must be less than or equal to %s".formatted(format(constraints.maximum())),
+          validSlot);
+    }
+    if (constraints.exclusiveMaximum() != null) {
+      checkLongLimit(
+          cob,
+          value,
+          constraints.exclusiveMaximum().setScale(0, RoundingMode.CEILING).subtract(BigDecimal.ONE),
+          false,
+          path,
+          "must be less than %s".formatted(format(constraints.exclusiveMaximum())),
+          validSlot);
+    }
+  }
+
+  /**
+   * Reports the value unless it is greater than or equal to a lower limit, or less than or equal to
+   * an upper one. Limits out of the range of long are decided here, without comparing.
+   */
+  private static void checkLongLimit(
+      CodeBuilder cob,
+      int value,
+      BigDecimal limit,
+      boolean lower,
+      Consumer<CodeBuilder> path,
+      String message,
+      int validSlot) {
+    var belowRange = limit.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) < 0;
+    var aboveRange = limit.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0;
+    if (lower ? belowRange : aboveRange) {
+      return;
+    }
+    if (lower ? aboveRange : belowRange) {
+      report(cob, path, message, validSlot);
+      return;
+    }
+    var ok = cob.newLabel();
+    cob.lload(value).ldc(limit.longValueExact()).lcmp();
+    if (lower) {
+      cob.ifge(ok);
+    } else {
+      cob.ifle(ok);
+    }
+    report(cob, path, message, validSlot);
+    cob.labelBinding(ok);
+  }
+
+  private void validateDouble(
+      CodeBuilder cob,
+      ClassDesc type,
+      PropertyConstraints constraints,
+      int slot,
+      Consumer<CodeBuilder> path,
+      int validSlot) {
+    var value = cob.allocateLocal(TypeKind.DOUBLE);
+    if (type.equals(CD_double)) {
+      cob.dload(slot);
+    } else {
+      cob.aload(slot).invokevirtual(type, "doubleValue", MethodTypeDesc.of(CD_double));
+    }
+    cob.dstore(value);
+
+    if (constraints.minimum() != null) {
+      var ok = cob.newLabel();
+      cob.dload(value).ldc(constraints.minimum().doubleValue()).dcmpg().ifge(ok);
+      report(
+          cob,
+          path,
+          "must be greater than or equal to %s".formatted(format(constraints.minimum())),
+          validSlot);
+      cob.labelBinding(ok);
+    }
+    if (constraints.exclusiveMinimum() != null) {
+      var ok = cob.newLabel();
+      cob.dload(value).ldc(constraints.exclusiveMinimum().doubleValue()).dcmpg().ifgt(ok);
+      report(
+          cob,
+          path,
+          "must be greater than %s".formatted(format(constraints.exclusiveMinimum())),
+          validSlot);
+      cob.labelBinding(ok);
+    }
+    if (constraints.maximum() != null) {
+      var ok = cob.newLabel();
+      cob.dload(value).ldc(constraints.maximum().doubleValue()).dcmpl().ifle(ok);
+      report(
+          cob,
+          path,
+          "must be less than or equal to %s".formatted(format(constraints.maximum())),
+          validSlot);
+      cob.labelBinding(ok);
+    }
+    if (constraints.exclusiveMaximum() != null) {
+      var ok = cob.newLabel();
+      cob.dload(value).ldc(constraints.exclusiveMaximum().doubleValue()).dcmpl().iflt(ok);
+      report(
+          cob,
+          path,
+          "must be less than %s".formatted(format(constraints.exclusiveMaximum())),
+          validSlot);
+      cob.labelBinding(ok);
+    }
+  }
+
+  /**
+   * @param patternField the static field with the compiled {@code pattern}
+   */
+  private void validateString(
+      CodeBuilder cob,
+      PropertyConstraints constraints,
+      String patternField,
+      int slot,
+      Consumer<CodeBuilder> path,
+      int validSlot) {
+    if (constraints.minLength() != null || constraints.maxLength() != null) {
+      var length = cob.allocateLocal(TypeKind.INT);
+      cob.aload(slot)
+          .iconst_0()
+          .aload(slot)
+          .invokevirtual(CD_String, "length", MethodTypeDesc.of(CD_int))
+          .invokevirtual(CD_String, "codePointCount", MethodTypeDesc.of(CD_int, CD_int, CD_int))
+          .istore(length);
+      if (constraints.minLength() != null) {
+        checkMinimum(
+            cob,
+            path,
+            length,
+            constraints.minLength(),
+            "must be at least %d characters long",
+            validSlot);
+      }
+      if (constraints.maxLength() != null) {
+        checkMaximum(
+            cob,
+            path,
+            length,
+            constraints.maxLength(),
+            "must be at most %d characters long",
+            validSlot);
+      }
+    }
+    if (constraints.pattern() != null) {
+      var ok = cob.newLabel();
+      cob.getstatic(params.classDesc(), patternField, CD_Pattern)
+          .aload(slot)
+          .invokevirtual(CD_Pattern, "matcher", MethodTypeDesc.of(CD_Matcher, CD_CharSequence))
+          .invokevirtual(CD_Matcher, "find", MethodTypeDesc.of(CD_boolean))
+          .ifne(ok);
+      report(cob, path, "must match %s".formatted(constraints.pattern()), validSlot);
+      cob.labelBinding(ok);
+    }
+    if (!constraints.enumValues().isEmpty()) {
+      validateEnum(cob, constraints.enumValues(), slot, path, validSlot);
+    }
+  }
+
+  private void validateEnum(
+      CodeBuilder cob, List<String> values, int slot, Consumer<CodeBuilder> path, int validSlot) {
+    var ok = cob.newLabel();
+    for (var value : values) {
+      cob.ldc(value)
+          .aload(slot)
+          .invokevirtual(CD_String, "equals", MethodTypeDesc.of(CD_boolean, CD_Object))
+          .ifne(ok);
+    }
+    report(cob, path, "must be one of %s".formatted(values), validSlot);
+    cob.labelBinding(ok);
+  }
+
+  private void validateArray(CodeBuilder cob, Property property, int slot, int validSlot) {
+    var constraints = property.constraints();
+    Consumer<CodeBuilder> path = it -> path(it, property.key());
+    if (constraints.minItems() != null || constraints.maxItems() != null) {
+      var length = cob.allocateLocal(TypeKind.INT);
+      cob.aload(slot).arraylength().istore(length);
+      if (constraints.minItems() != null) {
+        checkMinimum(
+            cob, path, length, constraints.minItems(), "must have at least %d items", validSlot);
+      }
+      if (constraints.maxItems() != null) {
+        checkMaximum(
+            cob, path, length, constraints.maxItems(), "must have at most %d items", validSlot);
+      }
+    }
+    var componentType = property.type().componentType();
+    if (isGeneratedClass(componentType)) {
+      validateItems(cob, property, slot, validSlot);
+    } else if (hasItemChecks(property)) {
+      validateScalarItems(cob, property, slot, validSlot);
+    }
+  }
+
+  /** Validates every non-null item of an array of objects, with the item index in its path. */
+  private void validateItems(CodeBuilder cob, Property property, int slot, int validSlot) {
+    var componentType = property.type().componentType();
+    var index = cob.allocateLocal(TypeKind.INT);
+    var item = cob.allocateLocal(TypeKind.REFERENCE);
+    var nextItem = cob.newLabel();
+    var skipItem = cob.newLabel();
+    var end = cob.newLabel();
+    cob.iconst_0()
+        .istore(index)
+        .labelBinding(nextItem)
+        .iload(index)
+        .aload(slot)
+        .arraylength()
+        .if_icmpge(end)
+        .aload(slot)
+        .iload(index)
+        .aaload()
+        .dup()
+        .astore(item)
+        .ifnull(skipItem)
+        .aload(item);
+    // prefix + "key[" + index + "]."
+    itemPath(cob, property, index);
+    cob.ldc(".")
+        .invokevirtual(CD_String, "concat", MethodTypeDesc.of(CD_String, CD_String))
+        .aload(ERRORS_SLOT)
+        .invokevirtual(componentType, METHOD_NAME, validateWithPrefix())
+        .iload(validSlot)
+        .iand()
+        .istore(validSlot)
+        .labelBinding(skipItem)
+        .iinc(index, 1)
+        .goto_(nextItem)
+        .labelBinding(end);
+  }
+
+  /**
+   * @return true if the items of an array of numbers or strings have keywords to check
+   */
+  private static boolean hasItemChecks(Property property) {
+    var items = property.constraints().items();
+    if (items == null) {
+      return false;
+    }
+    var componentType = property.type().componentType();
+    if (NUMERIC_TYPES.contains(componentType)) {
+      return hasBounds(items);
+    }
+    return componentType.equals(CD_String)
+        && (items.minLength() != null
+            || items.maxLength() != null
+            || items.pattern() != null
+            || !items.enumValues().isEmpty());
+  }
+
+  /**
+   * Validates every non-null item of an array of numbers or strings with the keywords of its
+   * {@code items}, like a property of the same type, with the item index in its path.
+   */
+  private void validateScalarItems(CodeBuilder cob, Property property, int slot, int validSlot) {
+    var componentType = property.type().componentType();
+    var kind = TypeKind.from(componentType);
+    var index = cob.allocateLocal(TypeKind.INT);
+    var item = cob.allocateLocal(kind);
+    var nextItem = cob.newLabel();
+    var skipItem = cob.newLabel();
+    var end = cob.newLabel();
+    cob.iconst_0()
+        .istore(index)
+        .labelBinding(nextItem)
+        .iload(index)
+        .aload(slot)
+        .arraylength()
+        .if_icmpge(end)
+        .aload(slot)
+        .iload(index)
+        .arrayLoad(kind)
+        .storeLocal(kind, item);
+    if (!componentType.isPrimitive()) {
+      cob.aload(item).ifnull(skipItem);
+    }
+    var items = property.constraints().items();
+    Consumer<CodeBuilder> path = it -> itemPath(it, property, index);
+    if (componentType.equals(CD_String)) {
+      validateString(cob, items, itemsPatternConstant(property), item, path, validSlot);
+    } else {
+      validateNumber(cob, componentType, items, item, path, validSlot);
+    }
+    cob.labelBinding(skipItem).iinc(index, 1).goto_(nextItem).labelBinding(end);
+  }
+
+  private void checkMinimum(
+      CodeBuilder cob,
+      Consumer<CodeBuilder> path,
+      int slot,
+      int minimum,
+      String message,
+      int validSlot) {
+    var ok = cob.newLabel();
+    cob.iload(slot).ldc(minimum).if_icmpge(ok);
+    report(cob, path, message.formatted(minimum), validSlot);
+    cob.labelBinding(ok);
+  }
+
+  private void checkMaximum(
+      CodeBuilder cob,
+      Consumer<CodeBuilder> path,
+      int slot,
+      int maximum,
+      String message,
+      int validSlot) {
+    var ok = cob.newLabel();
+    cob.iload(slot).ldc(maximum).if_icmple(ok);
+    report(cob, path, message.formatted(maximum), validSlot);
+    cob.labelBinding(ok);
+  }
+
+  /**
+   * errors.accept(path, message); valid = false;
+   *
+   * @param path pushes the path of the value that failed
+   */
+  private static void report(
+      CodeBuilder cob, Consumer<CodeBuilder> path, String message, int validSlot) {
+    cob.aload(ERRORS_SLOT);
+    path.accept(cob);
+    cob.ldc(message)
+        .invokeinterface(
+            CD_BiConsumer, "accept", MethodTypeDesc.of(CD_void, CD_Object, CD_Object))
+        .iconst_0()
+        .istore(validSlot);
+  }
+
+  /** prefix + "key[" + index + "]" */
+  private static void itemPath(CodeBuilder cob, Property property, int index) {
+    cob.aload(PREFIX_SLOT)
+        .ldc(property.key() + "[")
+        .invokevirtual(CD_String, "concat", MethodTypeDesc.of(CD_String, CD_String))
+        .iload(index)
+        .invokestatic(CD_String, "valueOf", MethodTypeDesc.of(CD_String, CD_int))
+        .invokevirtual(CD_String, "concat", MethodTypeDesc.of(CD_String, CD_String))
+        .ldc("]")
+        .invokevirtual(CD_String, "concat", MethodTypeDesc.of(CD_String, CD_String));
+  }
+
+  private static void path(CodeBuilder cob, String suffix) {
+    cob.aload(PREFIX_SLOT)
+        .ldc(suffix)
+        .invokevirtual(CD_String, "concat", MethodTypeDesc.of(CD_String, CD_String));
+  }
+
+  private static boolean isGeneratedClass(ClassDesc type) {
+    return !type.isPrimitive() && !type.isArray() && !type.packageName().startsWith("java.");
+  }
+
+  private static String format(BigDecimal number) {
+    return number.stripTrailingZeros().toPlainString();
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.domain.generator;
+
+import static java.lang.classfile.ClassFile.ACC_FINAL;
+import static java.lang.classfile.ClassFile.ACC_PUBLIC;
+import static java.lang.constant.ConstantDescs.*;
+
+import es.nachobrito.jsonschema.compiler.domain.Property;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.lang.classfile.CodeBuilder;
+import java.lang.classfile.Label;
+import java.lang.classfile.TypeKind;
+import java.lang.constant.ClassDesc;
+import java.lang.constant.MethodTypeDesc;
+
+/**
+ * Generates a {@code withX(value)} method for every property, that returns a copy of the record
+ * with a new value for the property. The copy reads the fields directly, and the method returns
+ * {@code this} when the new value is the current one: the same reference, or the same primitive
+ * value. Properties stored in a {@link PresenceBitmap} are compared by their presence bit and their
+ * primitive field, and the copy is made with the raw constructor, so no value is boxed.
+ */
+record WithersGenerator(RuntimeConfiguration runtimeConfiguration, ClassGenerationParams params)
+    implements ModelGenerator {
+  private static final int THIS_SLOT = 0;
+  private static final int VALUE_SLOT = 1;
+
+  @Override
+  public void generatePart() {
+    var classDesc = params.classDesc();
+    var bitmap = PresenceBitmap.of(runtimeConfiguration, params);
+    for (var property : params.properties().values()) {
+      var type = property.type();
+      params
+          .classBuilder()
+          .withMethodBody(
+              methodName(property),
+              MethodTypeDesc.of(classDesc, type),
+              ACC_PUBLIC | ACC_FINAL,
+              cob -> {
+                var copy = cob.newLabel();
+                if (bitmap.contains(property)) {
+                  compareStored(cob, bitmap, property, copy);
+                } else {
+                  cob.loadLocal(TypeKind.from(type), VALUE_SLOT);
+                  bitmap.loadField(cob, THIS_SLOT, property);
+                  compare(cob, type, copy);
+                }
+                cob.aload(THIS_SLOT).areturn().labelBinding(copy);
+                if (bitmap.hasRawConstructor(runtimeConfiguration)) {
+                  copyRaw(cob, bitmap, property);
+                } else {
+                  copy(cob, property);
+                }
+              });
+    }
+  }
+
+  /**
+   * Compares the value parameter of a property stored in the bitmap with the current one, jumping
+   * to {@code different} unless both are null, or both are present with the same primitive value.
+   */
+  private static void compareStored(
+      CodeBuilder cob, PresenceBitmap bitmap, Property property, Label different) {
+    var present = cob.newLabel();
+    var same = cob.newLabel();
+    cob.aload(VALUE_SLOT).ifnonnull(present);
+    bitmap.loadPresence(cob, THIS_SLOT, property);
+    cob.ifne(different).goto_(same).labelBinding(present);
+    bitmap.loadPresence(cob, THIS_SLOT, property);
+    cob.ifeq(different);
+    bitmap.unbox(cob, VALUE_SLOT, property);
+    bitmap.loadField(cob, THIS_SLOT, property);
+    compare(cob, bitmap.fieldType(property), different);
+    cob.labelBinding(same);
+  }
+
+  /** Calls the canonical constructor with the value parameter and the other fields. */
+  private void copy(CodeBuilder cob, Property property) {
+    var classDesc = params.classDesc();
+    var propertyTypes =
+        params.properties().values().stream().map(Property::type).toArray(ClassDesc[]::new);
+    cob.new_(classDesc).dup();
+    for (var other : params.properties().values()) {
+      if (other == property) {
+        cob.loadLocal(TypeKind.from(other.type()), VALUE_SLOT);
+      } else {
+        cob.aload(THIS_SLOT).getfield(classDesc, other.formattedName(), other.type());
+      }
+    }
+    cob.invokespecial(classDesc, INIT_NAME, MethodTypeDesc.of(CD_void, propertyTypes)).areturn();
+  }
+
+  /**
+   * Calls the raw constructor with the other fields and presence fields as they are stored, and the
+   * value parameter, unboxed if the property is stored in the bitmap.
+   */
+  private void copyRaw(CodeBuilder cob, PresenceBitmap bitmap, Property property) {
+    var classDesc = params.classDesc();
+    var fieldKind = TypeKind.from(bitmap.fieldType(property));
+    var wordKind = TypeKind.from(bitmap.wordType());
+    var valueSlot = VALUE_SLOT;
+    var wordSlot = -1;
+    String word = null;
+    if (bitmap.contains(property)) {
+      var absent = cob.newLabel();
+      valueSlot = cob.allocateLocal(fieldKind);
+      wordSlot = cob.allocateLocal(wordKind);
+      word = bitmap.wordName(property);
+      bitmap.loadWordWithout(cob, THIS_SLOT, property);
+      cob.storeLocal(wordKind, wordSlot);
+      bitmap.loadZero(cob, property);
+      cob.storeLocal(fieldKind, valueSlot).aload(VALUE_SLOT).ifnull(absent);
+      bitmap.unbox(cob, VALUE_SLOT, property);
+      cob.storeLocal(fieldKind, valueSlot).loadLocal(wordKind, wordSlot);
+      bitmap.setBit(cob, property);
+      cob.storeLocal(wordKind, wordSlot).labelBinding(absent);
+    }
+    cob.new_(classDesc).dup();
+    for (var other : params.properties().values()) {
+      if (other == property) {
+        cob.loadLocal(fieldKind, valueSlot);
+      } else {
+        bitmap.loadField(cob, THIS_SLOT, other);
+      }
+    }
+    for (var name : bitmap.wordNames()) {
+      if (name.equals(word)) {
+        cob.loadLocal(wordKind, wordSlot);
+      } else {
+        bitmap.loadWord(cob, THIS_SLOT, name);
+      }
+    }
+    cob.invokespecial(classDesc, INIT_NAME, bitmap.rawConstructorType()).areturn();
+  }
+
+  /**
+   * @return the name of the method, like {@code withFirstName} for {@code firstName}
+   */
+  static String methodName(Property property) {
+    var name = property.formattedName();
+    return "with" + name.substring(0, 1).toUpperCase() + name.substring(1);
+  }
+
+  /**
+   * Compares the two values on top of the stack, jumping to {@code different} unless they are
+   * identical. Floating point values are compared by their bits, so 0.0 and -0.0 are different.
+   */
+  private static void compare(CodeBuilder cob, ClassDesc type, Label different) {
+    switch (TypeKind.from(type)) {
+      case REFERENCE -> cob.if_acmpne(different);
+      case LONG -> cob.lcmp().ifne(different);
+      case DOUBLE -> {
+        var toBits = MethodTypeDesc.of(CD_long, CD_double);
+        var value = cob.allocateLocal(TypeKind.LONG);
+        cob.invokestatic(CD_Double, "doubleToRawLongBits", toBits)
+            .lstore(value)
+            .invokestatic(CD_Double, "doubleToRawLongBits", toBits)
+            .lload(value)
+            .lcmp()
+            .ifne(different);
+      }
+      case FLOAT -> {
+        var toBits = MethodTypeDesc.of(CD_int, CD_float);
+        var value = cob.allocateLocal(TypeKind.INT);
+        cob.invokestatic(CD_Float, "floatToRawIntBits", toBits)
+            .istore(value)
+            .invokestatic(CD_Float, "floatToRawIntBits", toBits)
+            .iload(value)
+            .if_icmpne(different);
+      }
+      default -> cob.if_icmpne(different);
+    }
+  }
+}
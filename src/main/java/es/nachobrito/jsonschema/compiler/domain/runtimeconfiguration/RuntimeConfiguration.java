@@ -17,10 +17,14 @@
 package es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration;
 
 import es.nachobrito.jsonschema.compiler.domain.GeneratedClassesHandler;
+import es.nachobrito.jsonschema.compiler.domain.cache.ClassCache;
+import es.nachobrito.jsonschema.compiler.infrastructure.FileSystemClassCache;
 import es.nachobrito.jsonschema.compiler.infrastructure.IndividualFilesHandler;
 import es.nachobrito.jsonschema.compiler.infrastructure.JarFileHandler;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
+import java.util.zip.Deflater;
 
 public interface RuntimeConfiguration {
   /**
@@ -41,6 +45,13 @@ public interface RuntimeConfiguration {
     return Optional.empty();
   }
 
+  /**
+   * @return all the json schema files to compile together, into the same output
+   */
+  default List<Path> getJsonSchemaFiles() {
+    return getJsonSchemaFile().stream().toList();
+  }
+
   default Optional<String> getJsonSchemaCode() {
     return Optional.empty();
   }
@@ -49,10 +60,155 @@ public interface RuntimeConfiguration {
     return true;
   }
 
+  /**
+   * @return true to use primitive types ({@code int}, {@code double}, {@code boolean}...) for
+   *     numeric and boolean properties that are required and not nullable, instead of their boxed
+   *     counterparts
+   */
+  default boolean withPrimitiveTypes() {
+    return false;
+  }
+
+  /**
+   * @return true to choose {@code byte}, {@code short}, {@code int} or {@code long} for integer
+   *     properties, and the items of integer arrays, from their {@code minimum} and {@code maximum}
+   *     keywords. Integers without both bounds are generated as {@code long}.
+   */
+  default boolean withIntegerSizing() {
+    return false;
+  }
+
+  /**
+   * @return true to store nullable numbers and booleans as primitive fields, plus one bit of a
+   *     presence field per property, instead of boxed objects. Accessors still return the boxed
+   *     value, and {@code hasX()} methods test the presence bits.
+   */
+  default boolean withPresenceBitmaps() {
+    return false;
+  }
+
+  /**
+   * @return true to use primitive arrays ({@code int[]}, {@code double[]}, {@code boolean[]}...)
+   *     for arrays of numbers and booleans. Null items are not supported by these arrays.
+   */
+  default boolean withPrimitiveArrays() {
+    return false;
+  }
+
+  /**
+   * @return true to generate a java enum for every string property with an {@code enum} keyword,
+   *     instead of using a String
+   */
+  default boolean withEnums() {
+    return false;
+  }
+
+  /**
+   * @return true to generate a single class for object schemas that are structurally identical
+   *     (same properties, types and constraints), even if they are declared in different places
+   */
+  default boolean withStructuralDeduplication() {
+    return false;
+  }
+
+  /**
+   * @return true to generate records like javac does: with a {@code Record} attribute, so {@code
+   *     Class.isRecord()} is true, and with {@code equals}, {@code hashCode} and {@code toString}
+   *     methods bootstrapped by {@code java.lang.runtime.ObjectMethods}
+   */
+  default boolean withJavacRecords() {
+    return false;
+  }
+
+  /**
+   * @return true to generate, next to every record whose properties all have a fixed width
+   *     (numbers, booleans, uuids and dates), a {@code <Name>View} class that reads and writes them
+   *     in a {@code MemorySegment}
+   */
+  default boolean withOffHeapViews() {
+    return false;
+  }
+
+  /**
+   * @return true to generate, next to every record, a {@code <Name>Batch} class that stores rows
+   *     as one array per property
+   */
+  default boolean withBatches() {
+    return false;
+  }
+
+  /**
+   * @return true to generate a {@code <Name>Builder} class for every record, and a {@code
+   *     withX(value)} method for every property
+   */
+  default boolean withBuilders() {
+    return false;
+  }
+
+  /**
+   * @return true to generate a static {@code fromJson(JsonParser)} method in every class, that reads
+   *     instances from a Jackson token stream without reflection
+   */
+  default boolean withJsonDeserializer() {
+    return false;
+  }
+
+  /**
+   * @return true to generate a {@code writeTo(JsonGenerator)} method in every class, that writes
+   *     instances to a Jackson generator without reflection
+   */
+  default boolean withJsonSerializer() {
+    return false;
+  }
+
+  /**
+   * @return true to generate a {@code validate(BiConsumer<String, String>)} method in every class,
+   *     that checks the validation keywords of the schema
+   */
+  default boolean withValidation() {
+    return false;
+  }
+
+  /**
+   * @return true to generate {@code writeBinary(ByteBuffer)} and {@code readBinary(ByteBuffer)}
+   *     methods in every class, that encode instances in a compact binary format
+   */
+  default boolean withBinaryCodec() {
+    return false;
+  }
+
+  /**
+   * @return the number of threads used to generate the bytecode of the compiled schemas. A value of
+   *     1 (the default) compiles every schema sequentially in the calling thread.
+   */
+  default int getThreads() {
+    return 1;
+  }
+
+  /**
+   * @return the folder where generated classes are cached between compilations. Caching is
+   *     disabled when empty (the default).
+   */
+  default Optional<Path> getCacheFolder() {
+    return Optional.empty();
+  }
+
+  default Optional<ClassCache> getClassCache() {
+    return getCacheFolder().map(FileSystemClassCache::new);
+  }
+
+  /**
+   * @return the deflate level used for jar entries, from 0 (entries are stored without compression)
+   *     to 9, or {@link Deflater#DEFAULT_COMPRESSION}
+   */
+  default int getJarCompressionLevel() {
+    return Deflater.DEFAULT_COMPRESSION;
+  }
+
   default GeneratedClassesHandler getGeneratedClassesHandler(){
     var path = getOutputPath().toAbsolutePath();
     if (path.toString().endsWith(".jar")) {
-      return new JarFileHandler(path);
+      return new JarFileHandler(path, getJarCompressionLevel());
     }
     return new IndividualFilesHandler(path);
   }
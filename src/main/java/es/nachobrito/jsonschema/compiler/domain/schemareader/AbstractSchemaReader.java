@@ -22,9 +22,12 @@ import static java.util.stream.Collectors.toMap;
 import es.nachobrito.jsonschema.compiler.domain.CompilerException;
 import es.nachobrito.jsonschema.compiler.domain.JavaName;
 import es.nachobrito.jsonschema.compiler.domain.Property;
+import es.nachobrito.jsonschema.compiler.domain.PropertyConstraints;
 import es.nachobrito.jsonschema.compiler.domain.Schema;
 import java.io.IOException;
 import java.lang.constant.ClassDesc;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -33,6 +36,22 @@ import java.util.*;
 public abstract class AbstractSchemaReader implements SchemaReader {
   private Map<String, Object> models;
   private final Map<String, Schema> schemas = new HashMap<>();
+  private final Map<Map<String, ?>, ClassDesc> objectTypes = new IdentityHashMap<>();
+  private final Map<Map<String, ?>, Set<String>> queuedNames = new IdentityHashMap<>();
+  private final Map<String, Map<String, ?>> definitionsByName = new HashMap<>();
+  private final Map<Map<?, ?>, List<PendingSchema>> pendingByProperties = new IdentityHashMap<>();
+  private final Map<Map<String, ?>, Map<String, String>> uniqueNames = new IdentityHashMap<>();
+  private final Map<String, Integer> nextSuffixes = new HashMap<>();
+  private final Deque<PendingSchema> pendingSchemas = new ArrayDeque<>();
+
+  /**
+   * An object definition found while reading a schema, whose class has not been created yet.
+   *
+   * @param parent the definition of the object containing it, null for the root object
+   * @param depth the number of objects containing it
+   */
+  private record PendingSchema(
+      String className, Map<String, ?> definition, PendingSchema parent, int depth) {}
 
   @Override
   public List<Schema> read(URI uri) {
@@ -46,54 +65,187 @@ public abstract class AbstractSchemaReader implements SchemaReader {
     return createSchemas();
   }
 
+  /**
+   * Creates the schema of the root object and of every object nested in it. Nested objects are
+   * queued when a property refers to them and processed one after the other, instead of
+   * recursively, so the depth of the json schema is not limited by the stack size. Each
+   * definition is processed once per class name, and a definition found again inside itself
+   * reuses the class of its ancestor, which keeps the work linear in the size of the schema and
+   * makes recursive definitions terminate.
+   */
   private List<Schema> createSchemas() {
     schemas.clear();
-    registerSchema(new Schema(getRootClassName(), processProperties(getRootProperties())));
+    objectTypes.clear();
+    queuedNames.clear();
+    definitionsByName.clear();
+    pendingByProperties.clear();
+    uniqueNames.clear();
+    nextSuffixes.clear();
+    pendingSchemas.clear();
+    getDefinitionType(getRootClassName(), models, null);
+    while (!pendingSchemas.isEmpty()) {
+      var pending = pendingSchemas.poll();
+      var definition = pending.definition();
+      registerSchema(
+          new Schema(
+              pending.className(),
+              processProperties(pending, getProperties(definition), getRequired(definition))));
+    }
     return schemas.values().stream().toList();
   }
 
   private void registerSchema(Schema schema) {
-    schemas.put(schema.className(), schema);
+    var existing = schemas.putIfAbsent(schema.className(), schema);
+    if (existing != null && !existing.equals(schema)) {
+      throw new CompilerException(
+          "Found different definitions for class %s".formatted(schema.className()));
+    }
   }
 
   private String getRootClassName() {
     return String.valueOf(models.getOrDefault("title", "UnknownClassName"));
   }
 
-  private SortedMap<String, Property> processProperties(Map<String, Map<String, ?>> definitions) {
+  private SortedMap<String, Property> processProperties(
+      PendingSchema parent, Map<String, Map<String, ?>> definitions, Collection<String> required) {
     return definitions.entrySet().stream()
         .collect(
             toMap(
                 Map.Entry::getKey,
-                entry -> createProperty(entry.getKey(), definitions),
+                entry ->
+                    createProperty(
+                        parent,
+                        entry.getKey(),
+                        definitions,
+                        required.contains(entry.getKey())),
                 (v1, v2) -> {
                   throw new CompilerException("Duplicate property found!");
                 },
                 TreeMap::new));
   }
 
-  private Property createProperty(String key, Map<String, Map<String, ?>> propertyDefinitions) {
-    return new Property(key, getJavaType(key, propertyDefinitions));
+  private Property createProperty(
+      PendingSchema parent,
+      String key,
+      Map<String, Map<String, ?>> propertyDefinitions,
+      boolean required) {
+    return new Property(
+        key,
+        getJavaType(parent, key, propertyDefinitions),
+        getConstraints(getModelPropertyDefinition(key, propertyDefinitions), required));
+  }
+
+  private PropertyConstraints getConstraints(Map<String, ?> definition, boolean required) {
+    var minimum = getNumber(definition, "minimum");
+    var exclusiveMinimum = getNumber(definition, "exclusiveMinimum");
+    var maximum = getNumber(definition, "maximum");
+    var exclusiveMaximum = getNumber(definition, "exclusiveMaximum");
+    // Draft 4 style: exclusiveMinimum and exclusiveMaximum are booleans modifying the bounds
+    if (Boolean.TRUE.equals(definition.get("exclusiveMinimum"))) {
+      exclusiveMinimum = minimum;
+      minimum = null;
+    }
+    if (Boolean.TRUE.equals(definition.get("exclusiveMaximum"))) {
+      exclusiveMaximum = maximum;
+      maximum = null;
+    }
+    var enumValues =
+        definition.get("enum") instanceof List<?> values
+            ? values.stream().filter(String.class::isInstance).map(String.class::cast).toList()
+            : List.<String>of();
+    @SuppressWarnings("unchecked")
+    var items =
+        definition.get("items") instanceof Map<?, ?> itemsDefinition
+            ? getConstraints((Map<String, ?>) itemsDefinition, false)
+            : null;
+    return new PropertyConstraints(
+        required,
+        isNullable(definition),
+        minimum,
+        exclusiveMinimum,
+        maximum,
+        exclusiveMaximum,
+        getInteger(definition, "minLength"),
+        getInteger(definition, "maxLength"),
+        definition.get("pattern") instanceof String pattern ? pattern : null,
+        enumValues,
+        getInteger(definition, "minItems"),
+        getInteger(definition, "maxItems"),
+        items);
+  }
+
+  /**
+   * @return the type of the definition. When several types are allowed, like in {@code ["integer",
+   *     "null"]}, the first one that is not {@code null}
+   */
+  private static String getTypeName(Map<String, ?> definition) {
+    var type = definition.get("type");
+    if (type instanceof List<?> types) {
+      return types.stream()
+          .filter(it -> !"null".equals(it))
+          .map(String::valueOf)
+          .findFirst()
+          .orElse("null");
+    }
+    return type == null ? "" : String.valueOf(type);
+  }
+
+  private static boolean isNullable(Map<String, ?> definition) {
+    return Boolean.TRUE.equals(definition.get("nullable"))
+        || (definition.get("type") instanceof List<?> types && types.contains("null"));
+  }
+
+  private static BigDecimal getNumber(Map<String, ?> definition, String keyword) {
+    return definition.get(keyword) instanceof Number number ? toBigDecimal(number) : null;
+  }
+
+  /**
+   * @return the exact value of the number. Integers are not converted to double, which cannot hold
+   *     every long.
+   */
+  private static BigDecimal toBigDecimal(Number number) {
+    if (number instanceof BigDecimal decimal) {
+      return decimal;
+    }
+    if (number instanceof BigInteger integer) {
+      return new BigDecimal(integer);
+    }
+    if (number instanceof Long || number instanceof Integer || number instanceof Short) {
+      return BigDecimal.valueOf(number.longValue());
+    }
+    return BigDecimal.valueOf(number.doubleValue());
+  }
+
+  private static Integer getInteger(Map<String, ?> definition, String keyword) {
+    return definition.get(keyword) instanceof Number number ? number.intValue() : null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Collection<String> getRequired(Map<String, ?> definition) {
+    return definition.get("required") instanceof List<?> required
+        ? (Collection<String>) required
+        : List.of();
   }
 
   private ClassDesc getJavaType(
-      String propertyKey, Map<String, Map<String, ?>> propertyDefinitions) {
+      PendingSchema parent, String propertyKey, Map<String, Map<String, ?>> propertyDefinitions) {
     var property = getModelPropertyDefinition(propertyKey, propertyDefinitions);
-    var jsonSchemaType = (String) property.get("type");
+    var jsonSchemaType = getTypeName(property);
     var jsonSchemaFormat = (String) property.get("format");
     return switch (jsonSchemaType) {
       case "integer" -> CD_Integer;
       case "number" -> CD_Double;
       case "boolean" -> CD_Boolean;
-      case "array" -> getArrayType(propertyKey);
-      case "object" -> getJavaObjectType(propertyKey);
+      case "array" -> getArrayType(parent, propertyKey, propertyDefinitions);
+      case "object" -> getJavaObjectType(parent, propertyKey, propertyDefinitions);
       case "string" -> StringFormat.toClassDesc(jsonSchemaFormat);
       default -> CD_Object;
     };
   }
 
-  private ClassDesc getArrayType(String propertyKey) {
-    var definition = getModelPropertyDefinition(propertyKey, getRootProperties());
+  private ClassDesc getArrayType(
+      PendingSchema parent, String propertyKey, Map<String, Map<String, ?>> propertyDefinitions) {
+    var definition = getModelPropertyDefinition(propertyKey, propertyDefinitions);
     @SuppressWarnings("unchecked")
     var items = (Map<String, ?>) definition.get("items");
 
@@ -104,42 +256,129 @@ public abstract class AbstractSchemaReader implements SchemaReader {
       return CD_Object.arrayType();
     }
 
-    var itemsTypeDefinition = (String) items.get("type");
+    var itemsTypeDefinition = getTypeName(items);
     var itemsTypeFormat = (String) items.get("format");
-    var properties = (Map<String, Map<String, ?>>) items.get("properties");
+    var itemsName =
+        preservesReferences() && items.get("title") instanceof String title
+            ? title
+            : getUniqueName(
+                JavaName.classFromJsonIdentifier("%s_item".formatted(propertyKey)), items);
 
     return switch (itemsTypeDefinition) {
       case "integer" -> CD_Integer.arrayType();
       case "number" -> CD_Double.arrayType();
       case "boolean" -> CD_Boolean.arrayType();
       // case "array" -> getArrayType(propertyKey);
-      case "object" ->
-          getJavaObjectType(
-                  JavaName.classFromJsonIdentifier("%s_item".formatted(propertyKey)), properties)
-              .arrayType();
+      case "object" -> getDefinitionType(itemsName, items, parent).arrayType();
       case "string" -> StringFormat.toClassDesc(itemsTypeFormat).arrayType();
       default -> CD_Object;
     };
   }
 
-  private ClassDesc getJavaObjectType(String propertyKey) {
-    var definition = getModelPropertyDefinition(propertyKey, getRootProperties());
-    var properties = definition.get("properties");
-    var name = getPropertyName(propertyKey, definition);
-    return getJavaObjectType(name, (Map<String, Map<String, ?>>) properties);
+  private ClassDesc getJavaObjectType(
+      PendingSchema parent, String propertyKey, Map<String, Map<String, ?>> propertyDefinitions) {
+    var definition = getModelPropertyDefinition(propertyKey, propertyDefinitions);
+    return getDefinitionType(getPropertyName(propertyKey, definition), definition, parent);
+  }
+
+  /**
+   * Queues the definition to create its schema later. When references are preserved, a definition
+   * used by several properties is compiled once, with the name given by the first of them.
+   * Otherwise, a definition found inside itself, or an inlined copy of it sharing its properties,
+   * uses the class of that ancestor. Only the definitions queued with the same properties are
+   * candidates, so the ancestors are not visited for definitions that are not shared.
+   */
+  private ClassDesc getDefinitionType(
+      String name, Map<String, ?> definition, PendingSchema parent) {
+    if (preservesReferences()) {
+      var known = objectTypes.putIfAbsent(definition, ClassDesc.of(name));
+      if (known != null) {
+        return known;
+      }
+    } else {
+      var ancestor = findAncestor(parent, definition);
+      if (ancestor != null) {
+        return ClassDesc.of(ancestor.className());
+      }
+    }
+    definitionsByName.putIfAbsent(name, definition);
+    if (queuedNames.computeIfAbsent(definition, it -> new HashSet<>()).add(name)) {
+      var pending =
+          new PendingSchema(name, definition, parent, parent == null ? 0 : parent.depth() + 1);
+      pendingSchemas.add(pending);
+      if (definition.get("properties") instanceof Map<?, ?> properties) {
+        pendingByProperties.computeIfAbsent(properties, it -> new ArrayList<>()).add(pending);
+      }
+    }
+    return ClassDesc.of(name);
   }
 
-  private ClassDesc getJavaObjectType(String name, Map<String, Map<String, ?>> properties) {
-    var schema = schemas.computeIfAbsent(name, it -> new Schema(it, processProperties(properties)));
-    return ClassDesc.of(schema.className());
+  /**
+   * @return the ancestor of the definition with its same properties and required properties, or
+   *     null if it has none. An object without properties cannot contain itself.
+   */
+  private PendingSchema findAncestor(PendingSchema parent, Map<String, ?> definition) {
+    if (parent == null || !(definition.get("properties") instanceof Map<?, ?> properties)) {
+      return null;
+    }
+    for (var candidate : pendingByProperties.getOrDefault(properties, List.of())) {
+      if (isAncestor(candidate, parent)
+          && getRequired(candidate.definition()).equals(getRequired(definition))) {
+        return candidate;
+      }
+    }
+    return null;
+  }
+
+  private static boolean isAncestor(PendingSchema candidate, PendingSchema schema) {
+    var ancestor = schema;
+    while (ancestor.depth() > candidate.depth()) {
+      ancestor = ancestor.parent();
+    }
+    return ancestor == candidate;
   }
 
+  /**
+   * @return the title of the definition or, if it has none, the name of the root class followed by
+   *     the property key, with a numeric suffix if another definition already uses that name
+   */
   private String getPropertyName(String propertyKey, Map<String, ?> definition) {
     if (definition.containsKey("title")) {
       return (String) definition.get("title");
     }
 
-    return JavaName.variableFromJsonIdentifier("%s_%s".formatted(getRootClassName(), propertyKey));
+    return getUniqueName(
+        JavaName.variableFromJsonIdentifier("%s_%s".formatted(getRootClassName(), propertyKey)),
+        definition);
+  }
+
+  /**
+   * @return the name, or the name followed by the next number from 2 that no other definition
+   *     uses, so objects nested at different depths under the same key get different classes
+   *     without their names growing with the depth. A definition keeps the name it got the first
+   *     time, and the search for every name resumes from the first number that was not taken yet.
+   */
+  private String getUniqueName(String name, Map<String, ?> definition) {
+    return uniqueNames
+        .computeIfAbsent(definition, it -> new HashMap<>())
+        .computeIfAbsent(name, it -> nextUniqueName(it, definition));
+  }
+
+  private String nextUniqueName(String name, Map<String, ?> definition) {
+    if (!isUsedByOtherDefinition(name, definition)) {
+      return name;
+    }
+    int suffix = nextSuffixes.getOrDefault(name, 2);
+    while (isUsedByOtherDefinition(name + suffix, definition)) {
+      suffix++;
+    }
+    nextSuffixes.put(name, suffix);
+    return name + suffix;
+  }
+
+  private boolean isUsedByOtherDefinition(String name, Map<String, ?> definition) {
+    var existing = definitionsByName.get(name);
+    return existing != null && existing != definition;
   }
 
   private Map<String, ?> getModelPropertyDefinition(
@@ -151,10 +390,19 @@ public abstract class AbstractSchemaReader implements SchemaReader {
     return definition;
   }
 
-  private Map<String, Map<String, ?>> getRootProperties() {
-    //noinspection unchecked
-    return ((Map<String, Map<String, ?>>)
-        models.getOrDefault("properties", Collections.emptyMap()));
+  @SuppressWarnings("unchecked")
+  private static Map<String, Map<String, ?>> getProperties(Map<String, ?> definition) {
+    return definition.get("properties") instanceof Map<?, ?> properties
+        ? (Map<String, Map<String, ?>>) properties
+        : Collections.emptyMap();
+  }
+
+  /**
+   * @return true if a definition shared by several properties (the same {@code Map} instance in
+   *     the loaded models) has to be compiled into a single class
+   */
+  protected boolean preservesReferences() {
+    return false;
   }
 
   protected abstract Map<String, Object> loadModels(String jsonSchema);
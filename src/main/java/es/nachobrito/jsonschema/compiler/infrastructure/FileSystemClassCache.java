@@ -0,0 +1,82 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.infrastructure;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import es.nachobrito.jsonschema.compiler.domain.CompilerException;
+import es.nachobrito.jsonschema.compiler.domain.cache.ClassCache;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Keeps cached classes as individual files under a cache folder, named after their fingerprint.
+ * Entries are written to a temporary file first and then atomically moved into place, so
+ * concurrent compilations sharing the same folder never see partially written classes.
+ */
+public class FileSystemClassCache implements ClassCache {
+  private final Path cacheFolder;
+
+  public FileSystemClassCache(Path cacheFolder) {
+    this.cacheFolder = cacheFolder;
+  }
+
+  /**
+   * @return {@code $XDG_CACHE_HOME/json-schema-compiler} if the variable is defined, {@code
+   *     ~/.cache/json-schema-compiler} otherwise.
+   */
+  public static Path defaultFolder() {
+    var xdgCacheHome = System.getenv("XDG_CACHE_HOME");
+    var base =
+        (xdgCacheHome == null || xdgCacheHome.isBlank())
+            ? Path.of(System.getProperty("user.home"), ".cache")
+            : Path.of(xdgCacheHome);
+    return base.resolve("json-schema-compiler");
+  }
+
+  @Override
+  public Optional<byte[]> get(String key) {
+    try {
+      return Optional.of(Files.readAllBytes(entryPath(key)));
+    } catch (NoSuchFileException e) {
+      return Optional.empty();
+    } catch (IOException e) {
+      throw new CompilerException(e);
+    }
+  }
+
+  @Override
+  public void put(String key, byte[] bytes) {
+    var destination = entryPath(key);
+    try {
+      Files.createDirectories(destination.getParent());
+      var temporary = Files.createTempFile(destination.getParent(), key, ".tmp");
+      Files.write(temporary, bytes);
+      Files.move(temporary, destination, ATOMIC_MOVE, REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new CompilerException(e);
+    }
+  }
+
+  private Path entryPath(String key) {
+    return cacheFolder.resolve(key.substring(0, 2)).resolve("%s.class".formatted(key));
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.infrastructure;
+
+import es.nachobrito.jsonschema.compiler.domain.CompilerException;
+import es.nachobrito.jsonschema.compiler.domain.GeneratedClassesHandler;
+import java.lang.invoke.MethodHandles;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the generated classes in memory, so they can be defined in the running JVM without writing
+ * them to disk.
+ */
+public class InMemoryClassesHandler implements GeneratedClassesHandler {
+  private final Map<String, byte[]> classes = new ConcurrentHashMap<>();
+
+  @Override
+  public void handleGeneratedClass(String className, byte[] bytes) {
+    classes.put(className, bytes);
+  }
+
+  /**
+   * Defines the generated classes. When all of them belong to the package of the lookup class, and
+   * the lookup has package access, they are defined through {@link
+   * MethodHandles.Lookup#defineClass(byte[])}, becoming part of the lookup class' package.
+   * Otherwise a dedicated class loader, child of the lookup class' one, is created for them.
+   *
+   * <p>Classes defined through the lookup cannot be replaced: defining them again, for instance
+   * after compiling the same schema twice, fails with a {@link CompilerException}. Classes are
+   * defined one by one, so when one of them fails (already defined, or rejected by the verifier)
+   * the ones defined before it stay defined in the lookup class' package.
+   *
+   * @param lookup the lookup used to define the classes
+   * @return the defined classes, by fully qualified name
+   */
+  public Map<String, Class<?>> defineClasses(MethodHandles.Lookup lookup) {
+    var lookupPackage = lookup.lookupClass().getPackageName();
+    var samePackage =
+        classes.keySet().stream().allMatch(name -> packageName(name).equals(lookupPackage));
+    var packageAccess = (lookup.lookupModes() & MethodHandles.Lookup.PACKAGE) != 0;
+
+    var defined = new HashMap<String, Class<?>>();
+    if (samePackage && packageAccess) {
+      for (var entry : classes.entrySet()) {
+        try {
+          defined.put(entry.getKey(), lookup.defineClass(entry.getValue()));
+        } catch (IllegalAccessException e) {
+          throw new CompilerException(
+              "Cannot define class %s: %s".formatted(entry.getKey(), e.getMessage()));
+        } catch (LinkageError e) {
+          // duplicate definitions throw LinkageError itself, other failures throw a subclass
+          if (e.getClass() == LinkageError.class) {
+            throw new CompilerException(
+                "Cannot define class %s: it is already defined in %s, use another package (%s)"
+                    .formatted(entry.getKey(), lookupPackage, e.getMessage()),
+                e);
+          }
+          throw new CompilerException(
+              "Cannot define class %s: %s".formatted(entry.getKey(), e.getMessage()), e);
+        }
+      }
+      return Map.copyOf(defined);
+    }
+
+    var classLoader = new GeneratedClassLoader(lookup.lookupClass().getClassLoader(), classes);
+    for (var className : classes.keySet()) {
+      try {
+        defined.put(className, classLoader.loadClass(className));
+      } catch (ClassNotFoundException e) {
+        throw new CompilerException("Cannot define class %s".formatted(className));
+      }
+    }
+    return Map.copyOf(defined);
+  }
+
+  private static String packageName(String className) {
+    var lastDot = className.lastIndexOf('.');
+    return lastDot < 0 ? "" : className.substring(0, lastDot);
+  }
+
+  /**
+   * Defines the generated classes on demand, delegating everything else to its parent. Generated
+   * classes are looked up here first, so a class with the same name visible to the parent does
+   * not hide them.
+   */
+  private static class GeneratedClassLoader extends ClassLoader {
+    private final Map<String, byte[]> classes;
+
+    private GeneratedClassLoader(ClassLoader parent, Map<String, byte[]> classes) {
+      super(parent);
+      this.classes = Map.copyOf(classes);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      if (!classes.containsKey(name)) {
+        return super.loadClass(name, resolve);
+      }
+      synchronized (getClassLoadingLock(name)) {
+        var loaded = findLoadedClass(name);
+        if (loaded == null) {
+          loaded = findClass(name);
+        }
+        if (resolve) {
+          resolveClass(loaded);
+        }
+        return loaded;
+      }
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+      var bytes = classes.get(name);
+      if (bytes == null) {
+        throw new ClassNotFoundException(name);
+      }
+      return defineClass(name, bytes, 0, bytes.length);
+    }
+  }
+}
@@ -23,6 +23,10 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
+/**
+ * Writes every generated class to its own file under the output folder. Each class goes to a
+ * different file, so classes can be received concurrently without further synchronization.
+ */
 public class IndividualFilesHandler implements GeneratedClassesHandler {
 
 
@@ -41,6 +45,7 @@ public class IndividualFilesHandler implements GeneratedClassesHandler {
     public void handleGeneratedClass(String className, byte[] classBytes) {
         var destinationPath = buildDestinationPath(className);
         try {
+            Files.createDirectories(destinationPath.getParent());
             Files.write(destinationPath, classBytes);
         } catch (IOException e) {
             throw new CompilerException(e);
@@ -23,23 +23,64 @@ import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
 
 import static java.util.jar.Attributes.Name.MANIFEST_VERSION;
 
+/**
+ * Packs the generated classes in a jar file, sorted by name so the jar does not depend on the
+ * order in which they were generated. Every class is written as soon as all the classes announced
+ * before it have been received; classes that arrive early are kept in memory until then, so memory
+ * usage stays low when they arrive mostly in order. Writes are synchronized, which makes the
+ * handler safe to use with parallel compilation.
+ *
+ * <p>Entries are compressed with the given deflate level. Level 0 stores them without compression
+ * ({@link ZipEntry#STORED}), which is the fastest option for jars that are only used locally.
+ */
 public class JarFileHandler implements GeneratedClassesHandler {
-  private final Path jarFilePath;
+  private static final int BUFFER_SIZE = 64 * 1024;
 
-  private record Entry(String name, byte[] bytes) {}
+  private final Path jarFilePath;
+  private final int compressionLevel;
 
-  private List<Entry> entries = new ArrayList<>();
+  private JarOutputStream outputStream;
+  private final Deque<String> expectedClasses = new ArrayDeque<>();
+  private final SortedMap<String, byte[]> pendingClasses = new TreeMap<>();
 
   public JarFileHandler(Path jarFilePath) {
+    this(jarFilePath, Deflater.DEFAULT_COMPRESSION);
+  }
+
+  /**
+   * @param jarFilePath the jar file to create
+   * @param compressionLevel the deflate level, from 0 (no compression) to 9, or {@link
+   *     Deflater#DEFAULT_COMPRESSION}
+   */
+  public JarFileHandler(Path jarFilePath, int compressionLevel) {
+    if (compressionLevel != Deflater.DEFAULT_COMPRESSION
+        && (compressionLevel < Deflater.NO_COMPRESSION
+            || compressionLevel > Deflater.BEST_COMPRESSION)) {
+      throw new IllegalArgumentException(
+          "Invalid compression level: %d".formatted(compressionLevel));
+    }
     this.jarFilePath = jarFilePath;
+    this.compressionLevel = compressionLevel;
+  }
+
+  @Override
+  public void beforeCompile(SortedSet<String> classNames) {
+    beforeCompile();
+    expectedClasses.addAll(classNames);
   }
 
   @Override
@@ -48,28 +89,75 @@ public class JarFileHandler implements GeneratedClassesHandler {
       throw new CompilerException(
           "Cannot overwrite existing Jar file! -> %s".formatted(jarFilePath.toString()));
     }
+    var manifest = new Manifest();
+    manifest.getMainAttributes().put(MANIFEST_VERSION, "1.0");
+    try {
+      outputStream =
+          new JarOutputStream(
+              new BufferedOutputStream(Files.newOutputStream(jarFilePath), BUFFER_SIZE),
+              manifest);
+      if (compressionLevel != Deflater.NO_COMPRESSION) {
+        outputStream.setLevel(compressionLevel);
+      }
+    } catch (IOException e) {
+      throw new CompilerException(e);
+    }
+  }
+
+  @Override
+  public synchronized void handleGeneratedClass(String className, byte[] bytes) {
+    pendingClasses.put(className, bytes);
+    while (!expectedClasses.isEmpty() && pendingClasses.containsKey(expectedClasses.peek())) {
+      var next = expectedClasses.poll();
+      writeEntry(next, pendingClasses.remove(next));
+    }
+  }
+
+  private void writeEntry(String className, byte[] bytes) {
+    var entry = new JarEntry("%s.class".formatted(className.replace('.', '/')));
+    if (compressionLevel == Deflater.NO_COMPRESSION) {
+      var crc = new CRC32();
+      crc.update(bytes);
+      entry.setMethod(ZipEntry.STORED);
+      entry.setSize(bytes.length);
+      entry.setCompressedSize(bytes.length);
+      entry.setCrc(crc.getValue());
+    }
+    try {
+      outputStream.putNextEntry(entry);
+      outputStream.write(bytes);
+      outputStream.closeEntry();
+    } catch (IOException e) {
+      throw new CompilerException(e);
+    }
   }
 
   @Override
   public void afterCompile() {
-    var manifest = new Manifest();
-    manifest.getMainAttributes().put(MANIFEST_VERSION, "1.0");
-    try (var os =
-        new JarOutputStream(
-            new BufferedOutputStream(Files.newOutputStream(jarFilePath)), manifest)) {
-      for (Entry entry : entries) {
-        os.putNextEntry(new JarEntry(entry.name()));
-        os.write(entry.bytes());
-        os.closeEntry();
-      }
+    // classes that were not announced, or all of them if beforeCompile() was used
+    pendingClasses.forEach(this::writeEntry);
+    pendingClasses.clear();
+    expectedClasses.clear();
+    try {
+      outputStream.close();
     } catch (IOException e) {
       throw new CompilerException(e);
     }
   }
 
   @Override
-  public void handleGeneratedClass(String className, byte[] bytes) {
-    var name = "%s.class".formatted(className.replace('.', '/'));
-    entries.add(new Entry(name, bytes));
+  public void abortCompile() {
+    pendingClasses.clear();
+    expectedClasses.clear();
+    try (var ignored = outputStream) {
+      // just close the stream
+    } catch (IOException e) {
+      // the file is being discarded anyway
+    }
+    try {
+      Files.deleteIfExists(jarFilePath);
+    } catch (IOException e) {
+      throw new CompilerException(e);
+    }
   }
 }
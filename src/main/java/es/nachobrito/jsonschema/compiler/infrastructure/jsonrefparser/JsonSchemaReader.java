@@ -24,10 +24,21 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.*;
 
+/**
+ * Reads schemas with {@code $RefParser}, which loads the whole document and dereferences it.
+ *
+ * <p>The dereferenced document of every uri is kept by the reader, so a batch compiled with one
+ * reader parses and dereferences each file once, however many times it is read.
+ */
 public class JsonSchemaReader extends AbstractSchemaReader {
+  private final Map<URI, Map<String, Object>> documents = new HashMap<>();
 
   @Override
   protected Map<String, Object> loadModels(URI uri) {
+    return documents.computeIfAbsent(uri.normalize(), this::parse);
+  }
+
+  private Map<String, Object> parse(URI uri) {
     try {
       $RefParser parser = new $RefParser(uri);
       $Refs refs = parser.parse().dereference().mergeAllOf().getRefs();
@@ -0,0 +1,198 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.infrastructure.streaming;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import es.nachobrito.jsonschema.compiler.domain.CompilerException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+
+/**
+ * A local folder with the documents referenced from other schemas, so they are read from disk
+ * instead of being fetched again on every compilation.
+ *
+ * <p>Documents are stored under their content hash, in {@code <sha-256>.json} files, and {@code
+ * index.properties} maps the uri of every document (its {@code $id} or the url it was fetched
+ * from) to its hash. Documents are checked against their hash when they are read. An optional
+ * {@code mappings.properties} file maps uris to files, relative to the store folder, for documents
+ * kept along with the sources.
+ *
+ * <p>Documents that are not in the store are fetched from their uri and added to it, unless the
+ * store is offline, in which case they cannot be resolved.
+ */
+public class SchemaStore {
+  private static final String INDEX = "index.properties";
+  private static final String MAPPINGS = "mappings.properties";
+
+  private final Path folder;
+  private final boolean offline;
+  private final Properties index;
+  private final Properties mappings;
+
+  /**
+   * @param folder the folder of the store, created when the first document is added
+   * @param offline true to fail instead of fetching the documents that are not in the store
+   */
+  public SchemaStore(Path folder, boolean offline) {
+    this.folder = folder;
+    this.offline = offline;
+    this.index = load(folder.resolve(INDEX));
+    this.mappings = load(folder.resolve(MAPPINGS));
+  }
+
+  /**
+   * @param uri the absolute uri of the document, without fragment
+   * @return the contents of the document
+   * @throws CompilerException if the document is not in the store and cannot be fetched, or its
+   *     contents do not match their hash
+   */
+  public synchronized byte[] get(URI uri) {
+    var key = uri.toString();
+    var mapping = mappings.getProperty(key);
+    if (mapping != null) {
+      return read(folder.resolve(mapping));
+    }
+    var hash = index.getProperty(key);
+    if (hash != null) {
+      var contents = read(documentPath(hash));
+      if (!hash.equals(hash(contents))) {
+        throw new CompilerException(
+            "The stored copy of %s does not match its hash %s".formatted(uri, hash));
+      }
+      return contents;
+    }
+    if (offline) {
+      throw new CompilerException(
+          "%s is not in the schema store %s, and the store is offline".formatted(uri, folder));
+    }
+    var contents = fetch(uri);
+    put(key, contents);
+    return contents;
+  }
+
+  /**
+   * Indexes the document stored for {@code uri} under its {@code $id} too, if it is not indexed
+   * yet.
+   *
+   * @param id the {@code $id} of the document
+   * @param uri the uri the document was read from
+   */
+  synchronized void alias(URI id, URI uri) {
+    var hash = index.getProperty(uri.toString());
+    if (hash != null && index.putIfAbsent(id.toString(), hash) == null) {
+      writeIndex();
+    }
+  }
+
+  private void put(String key, byte[] contents) {
+    var hash = hash(contents);
+    index.setProperty(key, hash);
+    try {
+      Files.createDirectories(folder);
+      var document = documentPath(hash);
+      if (Files.notExists(document)) {
+        write(document, out -> out.write(contents));
+      }
+    } catch (IOException e) {
+      throw new CompilerException(e);
+    }
+    writeIndex();
+  }
+
+  private void writeIndex() {
+    try {
+      write(
+          folder.resolve(INDEX),
+          out -> {
+            try (Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+              index.store(writer, null);
+            }
+          });
+    } catch (IOException e) {
+      throw new CompilerException(e);
+    }
+  }
+
+  /** Writes to a temporary file and then moves it into place, like {@code FileSystemClassCache}. */
+  private void write(Path destination, OutputConsumer contents) throws IOException {
+    var temporary = Files.createTempFile(folder, destination.getFileName().toString(), ".tmp");
+    try (var out = Files.newOutputStream(temporary)) {
+      contents.accept(out);
+    }
+    Files.move(temporary, destination, ATOMIC_MOVE, REPLACE_EXISTING);
+  }
+
+  private Path documentPath(String hash) {
+    return folder.resolve("%s.json".formatted(hash));
+  }
+
+  private static byte[] fetch(URI uri) {
+    try (InputStream in = uri.toURL().openStream()) {
+      return in.readAllBytes();
+    } catch (IOException | IllegalArgumentException e) {
+      throw new CompilerException("Cannot fetch %s: %s".formatted(uri, e.getMessage()));
+    }
+  }
+
+  private static byte[] read(Path path) {
+    try {
+      return Files.readAllBytes(path);
+    } catch (IOException e) {
+      throw new CompilerException(e);
+    }
+  }
+
+  private static Properties load(Path path) {
+    var properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      properties.load(reader);
+    } catch (NoSuchFileException e) {
+      // an empty store, or a store without mappings
+    } catch (IOException e) {
+      throw new CompilerException(e);
+    }
+    return properties;
+  }
+
+  private static String hash(byte[] contents) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(contents));
+    } catch (NoSuchAlgorithmException e) {
+      throw new CompilerException("SHA-256 is not available in this runtime");
+    }
+  }
+
+  @FunctionalInterface
+  private interface OutputConsumer {
+    void accept(OutputStream out) throws IOException;
+  }
+}
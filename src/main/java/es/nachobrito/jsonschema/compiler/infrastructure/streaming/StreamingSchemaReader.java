@@ -0,0 +1,416 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.infrastructure.streaming;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import es.nachobrito.jsonschema.compiler.domain.CompilerException;
+import es.nachobrito.jsonschema.compiler.domain.JavaName;
+import es.nachobrito.jsonschema.compiler.domain.schemareader.AbstractSchemaReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reads schemas with the Jackson streaming API, in a single pass, instead of loading and
+ * dereferencing the whole document like {@code JsonSchemaReader}.
+ *
+ * <p>Only the keywords used to generate classes are kept, everything else (descriptions, examples,
+ * unsupported keywords...) is skipped without building it. Local references ({@code
+ * "#/$defs/name"}, {@code "#/components/schemas/name"}...) are resolved when the document has been
+ * read, sharing the referenced definition instead of copying it, and {@code allOf} subschemas are
+ * merged. References to other documents are read from a {@link SchemaStore}, relative to the
+ * {@code $id} of the document or its uri. Each of them is read once by a reader, and shared by all
+ * the schemas it reads. Without a store, references to other documents are not supported.
+ *
+ * <p>When references are preserved, a property whose schema is only a {@code $ref} points to the
+ * referenced definition itself, so every use of a definition shares one class, named after the
+ * definition unless it has a title, and recursive definitions can be compiled.
+ */
+public class StreamingSchemaReader extends AbstractSchemaReader {
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  /** Keywords read as a json value: a string, number, boolean or array of them. */
+  private static final Set<String> VALUE_KEYWORDS =
+      Set.of(
+          "$id",
+          "$ref",
+          "title",
+          "type",
+          "format",
+          "required",
+          "nullable",
+          "enum",
+          "minimum",
+          "exclusiveMinimum",
+          "maximum",
+          "exclusiveMaximum",
+          "minLength",
+          "maxLength",
+          "pattern",
+          "minItems",
+          "maxItems");
+
+  /** Keywords whose value is an object with one schema per key. */
+  private static final Set<String> SCHEMA_MAP_KEYWORDS =
+      Set.of("properties", "$defs", "definitions");
+
+  private static final String REF = "$ref";
+  private static final String ALL_OF = "allOf";
+  private static final String TITLE = "title";
+  private static final String ID = "$id";
+
+  private final boolean preserveReferences;
+  private final Optional<SchemaStore> schemaStore;
+  private final Map<URI, Document> externalDocuments = new HashMap<>();
+
+  public StreamingSchemaReader() {
+    this(false);
+  }
+
+  public StreamingSchemaReader(boolean preserveReferences) {
+    this(preserveReferences, Optional.empty());
+  }
+
+  /**
+   * @param preserveReferences whether referenced definitions are compiled once, into a shared class
+   * @param schemaStore the store the documents referenced by the schemas are read from
+   */
+  public StreamingSchemaReader(boolean preserveReferences, Optional<SchemaStore> schemaStore) {
+    this.preserveReferences = preserveReferences;
+    this.schemaStore = schemaStore;
+  }
+
+  @Override
+  protected boolean preservesReferences() {
+    return preserveReferences;
+  }
+
+  @Override
+  protected Map<String, Object> loadModels(String jsonSchema) {
+    try (var parser = JSON_FACTORY.createParser(jsonSchema)) {
+      return new Document(null).read(parser);
+    } catch (IOException e) {
+      throw new CompilerException(e);
+    }
+  }
+
+  @Override
+  protected Map<String, Object> loadModels(URI uri) {
+    try (var in = open(uri);
+        var parser = JSON_FACTORY.createParser(in)) {
+      return new Document(uri).read(parser);
+    } catch (IOException e) {
+      throw new CompilerException(e);
+    }
+  }
+
+  /**
+   * @return the document at the given absolute uri, read from the schema store the first time it is
+   *     referenced
+   */
+  private Document externalDocument(URI uri) {
+    var document = externalDocuments.get(uri);
+    if (document == null) {
+      // registered before reading it, so references back to this document find it
+      document = new Document(uri);
+      externalDocuments.put(uri, document);
+      var store = schemaStore.orElseThrow();
+      try (var parser = JSON_FACTORY.createParser(store.get(uri))) {
+        document.read(parser);
+      } catch (IOException e) {
+        throw new CompilerException(e);
+      }
+      // documents are also found by their $id, in this read and in the next ones
+      if (!uri.equals(document.base) && document.base.isAbsolute()) {
+        externalDocuments.putIfAbsent(document.base, document);
+        store.alias(document.base, uri);
+      }
+    }
+    return document;
+  }
+
+  private static InputStream open(URI uri) throws IOException {
+    if ("classpath".equals(uri.getScheme())) {
+      var resource = uri.getSchemeSpecificPart().replaceFirst("^/", "");
+      var in = Thread.currentThread().getContextClassLoader().getResourceAsStream(resource);
+      if (in == null) {
+        throw new CompilerException("Schema not found: %s".formatted(uri));
+      }
+      return in;
+    }
+    return uri.toURL().openStream();
+  }
+
+  /** The state of the read of a single document: every schema found, by json pointer. */
+  private final class Document {
+    private URI base;
+    private final Map<String, Map<String, Object>> schemas = new HashMap<>();
+    private final Map<Map<String, Object>, String> definitions = new IdentityHashMap<>();
+    private final Set<Map<String, Object>> resolved =
+        Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * @param uri the uri of the document, or null if it was not read from one
+     */
+    Document(URI uri) {
+      this.base = uri;
+    }
+
+    Map<String, Object> read(JsonParser parser) throws IOException {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new CompilerException("The schema must be a json object");
+      }
+      var root = readSchema(parser, "");
+      if (root.get(ID) instanceof String id) {
+        base = base == null ? URI.create(id) : base.resolve(id);
+      }
+      if (preserveReferences) {
+        nameDefinitions(root);
+        schemas.values().forEach(this::linkReferences);
+      }
+      schemas.values().forEach(this::resolve);
+      return root;
+    }
+
+    /** Reads the object the parser is positioned at, keeping only the supported keywords. */
+    private Map<String, Object> readSchema(JsonParser parser, String pointer) throws IOException {
+      var schema = new HashMap<String, Object>();
+      schemas.put(pointer, schema);
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        var keyword = parser.currentName();
+        var token = parser.nextToken();
+        var child = "%s/%s".formatted(pointer, escape(keyword));
+        if (SCHEMA_MAP_KEYWORDS.contains(keyword) && token == JsonToken.START_OBJECT) {
+          schema.put(keyword, readSchemaMap(parser, child, !keyword.equals("properties")));
+        } else if (keyword.equals("components") && token == JsonToken.START_OBJECT) {
+          readComponents(parser, child);
+        } else if (keyword.equals("items") && token == JsonToken.START_OBJECT) {
+          schema.put(keyword, readSchema(parser, child));
+        } else if (keyword.equals(ALL_OF) && token == JsonToken.START_ARRAY) {
+          var subschemas = new ArrayList<Map<String, Object>>();
+          while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+              subschemas.add(readSchema(parser, "%s/%d".formatted(child, subschemas.size())));
+            } else {
+              parser.skipChildren();
+            }
+          }
+          schema.put(keyword, subschemas);
+        } else if (VALUE_KEYWORDS.contains(keyword)) {
+          schema.put(keyword, readValue(parser));
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return schema;
+    }
+
+    private Map<String, Object> readSchemaMap(
+        JsonParser parser, String pointer, boolean reusable) throws IOException {
+      var schemaMap = new LinkedHashMap<String, Object>();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        var name = parser.currentName();
+        if (parser.nextToken() == JsonToken.START_OBJECT) {
+          var schema = readSchema(parser, "%s/%s".formatted(pointer, escape(name)));
+          schemaMap.put(name, schema);
+          if (reusable) {
+            definitions.put(schema, name);
+          }
+        } else {
+          parser.skipChildren();
+        }
+      }
+      return schemaMap;
+    }
+
+    /** OpenAPI documents keep their schemas in {@code components.schemas}. */
+    private void readComponents(JsonParser parser, String pointer) throws IOException {
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        var name = parser.currentName();
+        if (parser.nextToken() == JsonToken.START_OBJECT && name.equals("schemas")) {
+          readSchemaMap(parser, "%s/%s".formatted(pointer, name), true);
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+
+    private static Object readValue(JsonParser parser) throws IOException {
+      return switch (parser.currentToken()) {
+        case VALUE_STRING -> parser.getText();
+        case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+        case VALUE_TRUE -> Boolean.TRUE;
+        case VALUE_FALSE -> Boolean.FALSE;
+        case START_ARRAY -> {
+          var values = new ArrayList<>();
+          while (parser.nextToken() != JsonToken.END_ARRAY) {
+            values.add(readValue(parser));
+          }
+          yield values;
+        }
+        default -> {
+          parser.skipChildren();
+          yield null;
+        }
+      };
+    }
+
+    /**
+     * Replaces the {@code $ref} of the schema with the keywords of the referenced one, and merges
+     * its {@code allOf} subschemas, like {@code $RefParser.dereference().mergeAllOf()}. Nested
+     * schemas are shared, not copied. Recursive references are resolved only once.
+     */
+    @SuppressWarnings("unchecked")
+    private void resolve(Map<String, Object> schema) {
+      if (!resolved.add(schema)) {
+        return;
+      }
+      if (schema.remove(REF) instanceof String ref) {
+        var document = documentOf(ref);
+        var target = document == null ? null : document.schemas.get(pointerOf(ref));
+        if (target == null) {
+          throw new CompilerException(
+              "Cannot resolve %s: %s"
+                  .formatted(
+                      ref,
+                      schemaStore.isPresent()
+                          ? "the schema was not found"
+                          : "only references to schemas in the same document are supported"));
+        }
+        document.resolve(target);
+        target.forEach(schema::putIfAbsent);
+      }
+      if (schema.remove(ALL_OF) instanceof List<?> subschemas) {
+        for (var subschema : (List<Map<String, Object>>) subschemas) {
+          resolve(subschema);
+          merge(schema, subschema);
+        }
+      }
+    }
+
+    /**
+     * Gives the definitions without a title the name of their key, in the package of the root
+     * schema, so the class shared by all their uses does not depend on which one is found first.
+     */
+    private void nameDefinitions(Map<String, Object> root) {
+      var title = String.valueOf(root.getOrDefault(TITLE, ""));
+      var packagePrefix = title.substring(0, title.lastIndexOf('.') + 1);
+      definitions.forEach(
+          (schema, name) ->
+              schema.putIfAbsent(TITLE, packagePrefix + JavaName.classFromJsonIdentifier(name)));
+    }
+
+    /**
+     * Replaces the nested schemas that are only a {@code $ref} (property values, {@code items} and
+     * {@code allOf} subschemas) with the referenced schema itself, so the reference is kept as an
+     * edge of the schema graph instead of a copy of the target.
+     */
+    @SuppressWarnings("unchecked")
+    private void linkReferences(Map<String, Object> schema) {
+      if (schema.get("properties") instanceof Map<?, ?> properties) {
+        ((Map<String, Object>) properties).replaceAll((name, value) -> link(value));
+      }
+      if (schema.containsKey("items")) {
+        schema.put("items", link(schema.get("items")));
+      }
+      if (schema.get(ALL_OF) instanceof List<?> subschemas) {
+        ((List<Object>) subschemas).replaceAll(this::link);
+      }
+    }
+
+    /** Follows a chain of references to the schema at its end. */
+    private Object link(Object value) {
+      var visited = Collections.newSetFromMap(new IdentityHashMap<>());
+      while (value instanceof Map<?, ?> schema
+          && schema.size() == 1
+          && schema.get(REF) instanceof String ref
+          && visited.add(schema)) {
+        var document = documentOf(ref);
+        var target = document == null ? null : document.schemas.get(pointerOf(ref));
+        if (target == null) {
+          return value;
+        }
+        value = target;
+      }
+      return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void merge(Map<String, Object> schema, Map<String, Object> subschema) {
+      subschema.forEach(
+          (keyword, value) -> {
+            var current = schema.get(keyword);
+            if (keyword.equals("properties") && current instanceof Map<?, ?> properties) {
+              var merged = new LinkedHashMap<>((Map<String, Object>) properties);
+              ((Map<String, Object>) value).forEach(merged::putIfAbsent);
+              schema.put(keyword, merged);
+            } else if (keyword.equals("required") && current instanceof List<?> required) {
+              var merged = new LinkedHashSet<Object>(required);
+              merged.addAll((List<?>) value);
+              schema.put(keyword, new ArrayList<>(merged));
+            } else {
+              schema.putIfAbsent(keyword, value);
+            }
+          });
+    }
+
+    /**
+     * @return the document the reference points to, or null if it is another document and it
+     *     cannot be read from the schema store
+     */
+    private Document documentOf(String ref) {
+      var hash = ref.indexOf('#');
+      var documentRef = hash < 0 ? ref : ref.substring(0, hash);
+      if (documentRef.isEmpty()) {
+        return this;
+      }
+      if (schemaStore.isEmpty()) {
+        return null;
+      }
+      try {
+        var uri = base == null ? new URI(documentRef) : base.resolve(new URI(documentRef));
+        return uri.isAbsolute() ? externalDocument(uri) : null;
+      } catch (URISyntaxException e) {
+        return null;
+      }
+    }
+
+    /** The json pointer of the referenced schema inside its document. */
+    private static String pointerOf(String ref) {
+      var hash = ref.indexOf('#');
+      return hash < 0 ? "" : ref.substring(hash + 1);
+    }
+
+    /** Escapes a json pointer token, see RFC 6901. */
+    private static String escape(String token) {
+      return token.replace("~", "~0").replace("/", "~1");
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler.infrastructure.streaming;
+
+import es.nachobrito.jsonschema.compiler.domain.schemareader.SchemaReader;
+import es.nachobrito.jsonschema.compiler.domain.schemareader.SchemaReaderFactory;
+import java.util.Optional;
+
+public class StreamingSchemaReaderFactory implements SchemaReaderFactory {
+  private final boolean preserveReferences;
+  private final Optional<SchemaStore> schemaStore;
+
+  public StreamingSchemaReaderFactory() {
+    this(false);
+  }
+
+  /**
+   * @param preserveReferences whether referenced definitions are compiled once, into a shared class
+   */
+  public StreamingSchemaReaderFactory(boolean preserveReferences) {
+    this(preserveReferences, Optional.empty());
+  }
+
+  /**
+   * @param preserveReferences whether referenced definitions are compiled once, into a shared class
+   * @param schemaStore the store the documents referenced by the schemas are read from
+   */
+  public StreamingSchemaReaderFactory(
+      boolean preserveReferences, Optional<SchemaStore> schemaStore) {
+    this.preserveReferences = preserveReferences;
+    this.schemaStore = schemaStore;
+  }
+
+  @Override
+  public SchemaReader makeSchemaReader() {
+    return new StreamingSchemaReader(preserveReferences, schemaStore);
+  }
+}
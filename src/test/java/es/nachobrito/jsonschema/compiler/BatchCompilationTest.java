@@ -0,0 +1,79 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import es.nachobrito.jsonschema.compiler.domain.Compiler;
+import es.nachobrito.jsonschema.compiler.domain.CompilerException;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfigurationRecord;
+import es.nachobrito.jsonschema.compiler.infrastructure.jsonrefparser.JsonSchemaReaderFactory;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BatchCompilationTest extends CompilerTest {
+
+  @DisplayName("Several schema files are compiled together, sharing identical classes")
+  @Test
+  void expectSeveralSchemasCompiledTogether()
+      throws IOException, ClassNotFoundException, NoSuchFieldException {
+    var destPath = Path.of(TARGET_GENERATED_CLASSES);
+    var compiler =
+        new Compiler(new RuntimeConfigurationRecord(destPath, ""), new JsonSchemaReaderFactory());
+    compiler.compile(
+        List.of(
+            URI.create("classpath:test-schemas/batch/Customer.json"),
+            URI.create("classpath:test-schemas/batch/Order.json")));
+
+    assertTrue(Files.exists(destPath.resolve("Customer.class")));
+    assertTrue(Files.exists(destPath.resolve("Order.class")));
+    assertTrue(Files.exists(destPath.resolve("Address.class")));
+
+    var classLoader = new URLClassLoader(new URL[] {destPath.toAbsolutePath().toUri().toURL()});
+    var customer = classLoader.loadClass("Customer");
+    var order = classLoader.loadClass("Order");
+    assertEquals(
+        customer.getDeclaredField("address").getType(),
+        order.getDeclaredField("shippingAddress").getType());
+  }
+
+  @DisplayName("Different classes with the same name make the compilation fail")
+  @Test
+  void expectNameCollisionsDetected() {
+    var destPath = Path.of(TARGET_GENERATED_CLASSES);
+    var compiler =
+        new Compiler(new RuntimeConfigurationRecord(destPath, ""), new JsonSchemaReaderFactory());
+    var exception =
+        assertThrows(
+            CompilerException.class,
+            () ->
+                compiler.compile(
+                    List.of(
+                        URI.create("classpath:test-schemas/batch/Customer.json"),
+                        URI.create("classpath:test-schemas/batch-conflict/Shipment.json"))));
+    assertTrue(exception.getMessage().contains("Address"));
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BatchTest extends CompilerTest {
+  private static final String SCHEMA =
+      """
+      {
+        "title": "Trade",
+        "type": "object",
+        "properties": {
+          "price": { "type": "number" },
+          "quantity": { "type": "integer" },
+          "symbol": { "type": "string" }
+        },
+        "required": ["price", "quantity"]
+      }
+      """;
+
+  private final RuntimeConfiguration runtimeConfiguration =
+      new RuntimeConfiguration() {
+        @Override
+        public Path getOutputPath() {
+          return Path.of(TARGET_GENERATED_CLASSES);
+        }
+
+        @Override
+        public boolean withPrimitiveTypes() {
+          return true;
+        }
+
+        @Override
+        public boolean withBatches() {
+          return true;
+        }
+      };
+
+  @DisplayName("Batches store rows as one column per property")
+  @Test
+  void expectRowsStoredAsColumns()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          InstantiationException,
+          IllegalAccessException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Trade", runtimeConfiguration);
+    var batchClass = cls.getClassLoader().loadClass("TradeBatch");
+    var batch = batchClass.getConstructor(int.class).newInstance(2);
+    var add = batchClass.getMethod("add", cls);
+    var get = batchClass.getMethod("get", int.class);
+
+    // more rows than the initial capacity
+    var rows = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      var row = cls.getDeclaredConstructors()[0].newInstance(i * 1.5, i, "S" + i);
+      rows.add(row);
+      add.invoke(batch, row);
+    }
+
+    assertEquals(5, batchClass.getMethod("size").invoke(batch));
+    for (int i = 0; i < 5; i++) {
+      assertEquals(rows.get(i), get.invoke(batch, i));
+    }
+    var quantities = (int[]) batchClass.getMethod("quantityColumn").invoke(batch);
+    assertArrayEquals(new int[] {0, 1, 2, 3, 4}, Arrays.copyOf(quantities, 5));
+    assertEquals(double[].class, batchClass.getMethod("priceColumn").getReturnType());
+    assertThrows(InvocationTargetException.class, () -> get.invoke(batch, 5));
+
+    batchClass.getMethod("clear").invoke(batch);
+    assertEquals(0, batchClass.getMethod("size").invoke(batch));
+    assertNull(((String[]) batchClass.getMethod("symbolColumn").invoke(batch))[0]);
+  }
+
+  @DisplayName("Nullable numbers and booleans get primitive columns and a presence bitset")
+  @Test
+  void expectNullableValuesInPrimitiveColumns()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          InstantiationException,
+          IllegalAccessException {
+    for (var presenceBitmaps : new boolean[] {false, true}) {
+      var configuration =
+          new RuntimeConfiguration() {
+            @Override
+            public Path getOutputPath() {
+              return Path.of(TARGET_GENERATED_CLASSES);
+            }
+
+            @Override
+            public boolean withPresenceBitmaps() {
+              return presenceBitmaps;
+            }
+
+            @Override
+            public boolean withBatches() {
+              return true;
+            }
+          };
+      var cls = compileSampleSchemaFromString(SCHEMA, "Trade", configuration);
+      var constructor = cls.getDeclaredConstructor(Double.class, Integer.class, String.class);
+      var batchClass = cls.getClassLoader().loadClass("TradeBatch");
+      var batch = batchClass.getConstructor().newInstance();
+      var add = batchClass.getMethod("add", cls);
+      var get = batchClass.getMethod("get", int.class);
+
+      var rows = new ArrayList<>();
+      for (int i = 0; i < 70; i++) {
+        var row = constructor.newInstance(i % 2 == 0 ? i * 0.5 : null, i, null);
+        rows.add(row);
+        add.invoke(batch, row);
+      }
+
+      assertEquals(double[].class, batchClass.getMethod("priceColumn").getReturnType());
+      assertEquals(int[].class, batchClass.getMethod("quantityColumn").getReturnType());
+      var present = (long[]) batchClass.getMethod("pricePresence").invoke(batch);
+      assertEquals(0x5555555555555555L, present[0]);
+      assertEquals(0x15L, present[1]);
+      assertEquals(0.0, ((double[]) batchClass.getMethod("priceColumn").invoke(batch))[1]);
+      for (int i = 0; i < rows.size(); i++) {
+        assertEquals(rows.get(i), get.invoke(batch, i));
+      }
+
+      batchClass.getMethod("clear").invoke(batch);
+      add.invoke(batch, constructor.newInstance(null, 1, null));
+      assertEquals(0L, ((long[]) batchClass.getMethod("pricePresence").invoke(batch))[0]);
+      assertEquals(constructor.newInstance(null, 1, null), get.invoke(batch, 0));
+    }
+  }
+}
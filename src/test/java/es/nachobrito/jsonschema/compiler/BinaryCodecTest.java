@@ -0,0 +1,190 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import es.nachobrito.jsonschema.compiler.domain.Compiler;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import es.nachobrito.jsonschema.compiler.infrastructure.jsonrefparser.JsonSchemaReaderFactory;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BinaryCodecTest extends CompilerTest {
+  private static final String SCHEMA =
+      """
+      {
+        "title": "Shipment",
+        "type": "object",
+        "properties": {
+          "id": { "type": "string", "format": "uuid" },
+          "reference": { "type": "string" },
+          "weight": { "type": "number" },
+          "units": { "type": "integer" },
+          "fragile": { "type": "boolean" },
+          "shippedOn": { "type": "string", "format": "date" },
+          "status": { "type": "string", "enum": ["pending", "sent"] },
+          "tags": { "type": "array", "items": { "type": "string" } },
+          "sizes": { "type": "array", "items": { "type": "integer" } },
+          "origin": {
+            "type": "object",
+            "properties": {
+              "city": { "type": "string" },
+              "zip": { "type": "integer" }
+            }
+          }
+        }
+      }
+      """;
+
+  private final RuntimeConfiguration runtimeConfiguration =
+      new RuntimeConfiguration() {
+        @Override
+        public Path getOutputPath() {
+          return Path.of(TARGET_GENERATED_CLASSES);
+        }
+
+        @Override
+        public boolean withEnums() {
+          return true;
+        }
+
+        @Override
+        public boolean withBinaryCodec() {
+          return true;
+        }
+      };
+
+  @DisplayName("Records are written and read back with the binary codec")
+  @Test
+  void expectBinaryRoundTrip()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          IllegalAccessException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Shipment", runtimeConfiguration);
+    var json =
+        """
+        {"id": "5f0c6f8e-3c1b-4c57-9d5c-0c4e3f1d2a77", "reference": "Añejo-42", "weight": 12.5,
+         "units": -300, "fragile": true, "shippedOn": "2025-03-14", "status": "sent",
+         "tags": ["a", null, "ccc"], "sizes": [1, -1, 1000000],
+         "origin": {"city": "Madrid", "zip": 28001}}
+        """;
+    var mapper = createObjectMapper();
+    var shipment = mapper.readValue(json, cls);
+
+    var buffer = ByteBuffer.allocate(256);
+    cls.getMethod("writeBinary", ByteBuffer.class).invoke(shipment, buffer);
+    buffer.flip();
+    var read = cls.getMethod("readBinary", ByteBuffer.class).invoke(null, buffer);
+    assertEquals(shipment, read);
+    assertEquals(0, buffer.remaining());
+
+    // null properties are only one bit in the presence bitmap
+    var empty = mapper.readValue("{}", cls);
+    buffer.clear();
+    cls.getMethod("writeBinary", ByteBuffer.class).invoke(empty, buffer);
+    assertEquals(8 + 2, buffer.position());
+    buffer.flip();
+    assertEquals(empty, cls.getMethod("readBinary", ByteBuffer.class).invoke(null, buffer));
+  }
+
+  @DisplayName("Reading binary data with a different fingerprint fails")
+  @Test
+  void expectFingerprintChecked()
+      throws IOException, ClassNotFoundException, NoSuchMethodException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Shipment", runtimeConfiguration);
+    var buffer = ByteBuffer.allocate(16).putLong(42L).putShort((short) 0).flip();
+    var readBinary = cls.getMethod("readBinary", ByteBuffer.class);
+
+    var exception =
+        assertThrows(InvocationTargetException.class, () -> readBinary.invoke(null, buffer));
+    assertEquals(IllegalArgumentException.class, exception.getCause().getClass());
+    assertTrue(exception.getCause().getMessage().contains("Shipment"));
+  }
+
+  @DisplayName("The fingerprint changes when a nested class changes")
+  @Test
+  void expectNestedShapesInFingerprint()
+      throws NoSuchMethodException,
+          InvocationTargetException,
+          InstantiationException,
+          IllegalAccessException {
+    var compiler =
+        new Compiler(
+            new RuntimeConfiguration() {
+              @Override
+              public Path getOutputPath() {
+                return Path.of(TARGET_GENERATED_CLASSES);
+              }
+
+              @Override
+              public Optional<String> getPackageName() {
+                return Optional.of("com.example.binary");
+              }
+
+              @Override
+              public boolean withBinaryCodec() {
+                return true;
+              }
+            },
+            new JsonSchemaReaderFactory());
+    var schema =
+        """
+        {
+          "title": "Parcel",
+          "type": "object",
+          "properties": {
+            "origin": {
+              "title": "ParcelOrigin",
+              "type": "object",
+              "properties": { %s }
+            }
+          }
+        }
+        """;
+    // without package access, every compilation gets its own class loader
+    var lookup = MethodHandles.lookup().dropLookupMode(MethodHandles.Lookup.PACKAGE);
+    var v1 =
+        compiler
+            .compileToClasses(schema.formatted("\"city\": { \"type\": \"string\" }"), lookup)
+            .get("com.example.binary.Parcel");
+    var v2 =
+        compiler
+            .compileToClasses(schema.formatted("\"zip\": { \"type\": \"integer\" }"), lookup)
+            .get("com.example.binary.Parcel");
+
+    var buffer = ByteBuffer.allocate(16);
+    var parcel = v1.getDeclaredConstructors()[0].newInstance((Object) null);
+    v1.getMethod("writeBinary", ByteBuffer.class).invoke(parcel, buffer);
+    buffer.flip();
+    var readBinary = v2.getMethod("readBinary", ByteBuffer.class);
+
+    var exception =
+        assertThrows(InvocationTargetException.class, () -> readBinary.invoke(null, buffer));
+    assertEquals(IllegalArgumentException.class, exception.getCause().getClass());
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class BuilderTest extends CompilerTest {
+  private static final String SCHEMA =
+      """
+      {
+        "title": "Event",
+        "type": "object",
+        "properties": {
+          "score": { "type": "number" },
+          "count": { "type": "integer" },
+          "source": { "type": "string" }
+        },
+        "required": ["score", "count"]
+      }
+      """;
+
+  private final RuntimeConfiguration runtimeConfiguration =
+      new RuntimeConfiguration() {
+        @Override
+        public Path getOutputPath() {
+          return Path.of(TARGET_GENERATED_CLASSES);
+        }
+
+        @Override
+        public boolean withPrimitiveTypes() {
+          return true;
+        }
+
+        @Override
+        public boolean withBuilders() {
+          return true;
+        }
+      };
+
+  @DisplayName("Builders create records, and can be reused")
+  @Test
+  void expectReusableBuilders()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          InstantiationException,
+          IllegalAccessException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Event", runtimeConfiguration);
+    var builderClass = cls.getClassLoader().loadClass("EventBuilder");
+    var builder = builderClass.getConstructor().newInstance();
+    var build = builderClass.getMethod("build");
+
+    builderClass.getMethod("score", double.class).invoke(builder, 1.5);
+    builderClass.getMethod("count", int.class).invoke(builder, 3);
+    assertSame(builder, builderClass.getMethod("source", String.class).invoke(builder, "web"));
+    var event = build.invoke(builder);
+    assertEquals(cls.getDeclaredConstructors()[0].newInstance(3, 1.5, "web"), event);
+
+    builderClass.getMethod("reset").invoke(builder);
+    assertEquals(cls.getDeclaredConstructors()[0].newInstance(0, 0.0, null), build.invoke(builder));
+
+    builderClass.getMethod("from", cls).invoke(builder, event);
+    builderClass.getMethod("count", int.class).invoke(builder, 4);
+    assertEquals(
+        cls.getDeclaredConstructors()[0].newInstance(4, 1.5, "web"), build.invoke(builder));
+  }
+
+  @DisplayName("withX methods copy the record, unless the value does not change")
+  @Test
+  void expectWithers()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          InstantiationException,
+          IllegalAccessException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Event", runtimeConfiguration);
+    var event = cls.getDeclaredConstructors()[0].newInstance(3, 1.5, "web");
+    var withCount = cls.getMethod("withCount", int.class);
+    var withScore = cls.getMethod("withScore", double.class);
+    var withSource = cls.getMethod("withSource", String.class);
+
+    var updated = withCount.invoke(event, 4);
+    assertEquals(cls.getDeclaredConstructors()[0].newInstance(4, 1.5, "web"), updated);
+    assertEquals(cls.getDeclaredConstructors()[0].newInstance(3, 1.5, "web"), event);
+    assertEquals(
+        cls.getDeclaredConstructors()[0].newInstance(3, 1.5, null),
+        withSource.invoke(event, (Object) null));
+
+    assertSame(event, withCount.invoke(event, 3));
+    assertSame(event, withScore.invoke(event, 1.5));
+    assertSame(event, withSource.invoke(event, cls.getMethod("source").invoke(event)));
+    assertNotSame(event, withSource.invoke(event, new String("web")));
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import es.nachobrito.jsonschema.compiler.domain.Compiler;
+import es.nachobrito.jsonschema.compiler.domain.cache.CacheStatistics;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import es.nachobrito.jsonschema.compiler.infrastructure.jsonrefparser.JsonSchemaReaderFactory;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class CacheTest extends CompilerTest {
+
+  @DisplayName("Classes generated in previous runs are served from the cache")
+  @Test
+  void expectUnchangedSchemasServedFromCache() {
+    var runtimeConfiguration =
+        new RuntimeConfiguration() {
+          @Override
+          public Path getOutputPath() {
+            return Path.of(TARGET_GENERATED_CLASSES, "classes");
+          }
+
+          @Override
+          public Optional<Path> getCacheFolder() {
+            return Optional.of(Path.of(TARGET_GENERATED_CLASSES, "cache"));
+          }
+        };
+    var uri = URI.create("classpath:test-schemas/Nested.json");
+
+    var compiler = new Compiler(runtimeConfiguration, new JsonSchemaReaderFactory());
+    compiler.compile(uri);
+    assertEquals(new CacheStatistics(0, 2), compiler.getCacheStatistics());
+
+    compiler = new Compiler(runtimeConfiguration, new JsonSchemaReaderFactory());
+    compiler.compile(uri);
+    assertEquals(new CacheStatistics(2, 0), compiler.getCacheStatistics());
+    assertTrue(Files.exists(Path.of(TARGET_GENERATED_CLASSES, "classes", "Product.class")));
+  }
+
+  @DisplayName("Changing the generator options invalidates cached classes")
+  @Test
+  void expectOptionsChangesInvalidateCache() {
+    var cacheFolder = Path.of(TARGET_GENERATED_CLASSES, "cache");
+    var uri = URI.create("classpath:test-schemas/Person.json");
+
+    var compiler =
+        new Compiler(
+            new RuntimeConfiguration() {
+              @Override
+              public Path getOutputPath() {
+                return Path.of(TARGET_GENERATED_CLASSES);
+              }
+
+              @Override
+              public Optional<Path> getCacheFolder() {
+                return Optional.of(cacheFolder);
+              }
+            },
+            new JsonSchemaReaderFactory());
+    compiler.compile(uri);
+    assertEquals(new CacheStatistics(0, 1), compiler.getCacheStatistics());
+
+    compiler =
+        new Compiler(
+            new RuntimeConfiguration() {
+              @Override
+              public Path getOutputPath() {
+                return Path.of(TARGET_GENERATED_CLASSES);
+              }
+
+              @Override
+              public Optional<Path> getCacheFolder() {
+                return Optional.of(cacheFolder);
+              }
+
+              @Override
+              public boolean withJacksonAnnotations() {
+                return false;
+              }
+            },
+            new JsonSchemaReaderFactory());
+    compiler.compile(uri);
+    assertEquals(new CacheStatistics(0, 1), compiler.getCacheStatistics());
+  }
+}
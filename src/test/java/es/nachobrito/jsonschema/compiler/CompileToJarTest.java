@@ -16,12 +16,27 @@
 
 package es.nachobrito.jsonschema.compiler;
 
+import es.nachobrito.jsonschema.compiler.domain.Compiler;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import es.nachobrito.jsonschema.compiler.infrastructure.JarFileHandler;
+import es.nachobrito.jsonschema.compiler.infrastructure.jsonrefparser.JsonSchemaReaderFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class CompileToJarTest extends CompilerTest{
@@ -31,6 +46,77 @@ public class CompileToJarTest extends CompilerTest{
     void expectJarFilesGenerated() throws IOException, ClassNotFoundException {
         var jar = compileSampleSchemaFromFileToJar("classpath:test-schemas/Nested.json", "com.example");
         assertTrue(Files.exists(jar));
+        try (var jarFile = new JarFile(jar.toFile())) {
+            var entry = jarFile.getEntry("com/example/Nested.class");
+            assertEquals(ZipEntry.DEFLATED, entry.getMethod());
+        }
+    }
+
+    @DisplayName("With compression level 0, the classes are stored in the jar without compression.")
+    @Test
+    void expectStoredJarEntries() throws IOException, ClassNotFoundException {
+        var jar = Path.of(TARGET_GENERATED_CLASSES + "/stored.jar");
+        var compiler = new Compiler(jarConfiguration(jar, 0), new JsonSchemaReaderFactory());
+        compiler.compile(URI.create("classpath:test-schemas/Nested.json"));
+
+        try (var jarFile = new JarFile(jar.toFile())) {
+            var entry = jarFile.getEntry("com/example/Nested.class");
+            assertEquals(ZipEntry.STORED, entry.getMethod());
+            assertEquals(entry.getSize(), entry.getCompressedSize());
+        }
+        try (var loader = new URLClassLoader(new URL[] {jar.toUri().toURL()})) {
+            assertTrue(loader.loadClass("com.example.Nested").isRecord());
+        }
+    }
+
+    @DisplayName("If the compilation is aborted, no partial jar file is left behind.")
+    @Test
+    void expectNoJarFileWhenCompilationIsAborted() {
+        var jar = Path.of(TARGET_GENERATED_CLASSES + "/aborted.jar");
+        var handler = new JarFileHandler(jar);
+        handler.beforeCompile();
+        handler.handleGeneratedClass("com.example.Partial", new byte[] {1, 2, 3});
+        assertTrue(Files.exists(jar));
+
+        handler.abortCompile();
+        assertFalse(Files.exists(jar));
+    }
+
+    @DisplayName("Jar entries are sorted by name, whatever the order in which classes are generated.")
+    @Test
+    void expectSortedJarEntries() throws IOException {
+        var jar = Path.of(TARGET_GENERATED_CLASSES + "/sorted.jar");
+        Files.deleteIfExists(jar);
+        var handler = new JarFileHandler(jar);
+        handler.beforeCompile(new TreeSet<>(List.of("com.example.A", "com.example.B", "com.example.C")));
+        handler.handleGeneratedClass("com.example.C", new byte[] {3});
+        handler.handleGeneratedClass("com.example.A", new byte[] {1});
+        handler.handleGeneratedClass("com.example.B", new byte[] {2});
+        handler.afterCompile();
+
+        try (var jarFile = new JarFile(jar.toFile())) {
+            var classes = jarFile.stream().map(ZipEntry::getName).filter(it -> it.endsWith(".class")).toList();
+            assertEquals(List.of("com/example/A.class", "com/example/B.class", "com/example/C.class"), classes);
+        }
+    }
+
+    private static RuntimeConfiguration jarConfiguration(Path jar, int compressionLevel) {
+        return new RuntimeConfiguration() {
+            @Override
+            public Path getOutputPath() {
+                return jar;
+            }
+
+            @Override
+            public Optional<String> getPackageName() {
+                return Optional.of("com.example");
+            }
+
+            @Override
+            public int getJarCompressionLevel() {
+                return compressionLevel;
+            }
+        };
     }
 
 }
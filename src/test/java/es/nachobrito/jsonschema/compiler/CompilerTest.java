@@ -20,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import es.nachobrito.jsonschema.compiler.domain.Compiler;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
 import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfigurationRecord;
 import es.nachobrito.jsonschema.compiler.infrastructure.jsonrefparser.JsonSchemaReader;
 import java.io.File;
@@ -64,6 +65,31 @@ public class CompilerTest {
     return new URLClassLoader(new URL[] {destURL}).loadClass(expectedName);
   }
 
+  protected static Class<?> compileSampleSchemaFromFile(
+      String filePath, String expectedName, RuntimeConfiguration runtimeConfiguration)
+      throws IOException, ClassNotFoundException {
+    var uri = URI.create(filePath);
+    Path destPath = runtimeConfiguration.getOutputPath();
+    var destURL = destPath.toAbsolutePath().toFile().toURI().toURL();
+    var compiler = new Compiler(runtimeConfiguration, new JsonSchemaReaderFactory());
+    compiler.compile(uri);
+    assertTrue(Files.exists(destPath));
+
+    return new URLClassLoader(new URL[] {destURL}).loadClass(expectedName);
+  }
+
+  protected static Class<?> compileSampleSchemaFromString(
+      String jsonSchema, String expectedName, RuntimeConfiguration runtimeConfiguration)
+      throws IOException, ClassNotFoundException {
+    Path destPath = runtimeConfiguration.getOutputPath();
+    var destURL = destPath.toAbsolutePath().toFile().toURI().toURL();
+    var compiler = new Compiler(runtimeConfiguration, new JsonSchemaReaderFactory());
+    compiler.compile(jsonSchema);
+    assertTrue(Files.exists(destPath));
+
+    return new URLClassLoader(new URL[] {destURL}).loadClass(expectedName);
+  }
+
   protected static Class<?> compileSampleSchemaFromString(String jsonSchema, String expectedName)
       throws IOException, ClassNotFoundException {
     Path destPath = Path.of(CompilerSmokeTest.TARGET_GENERATED_CLASSES);
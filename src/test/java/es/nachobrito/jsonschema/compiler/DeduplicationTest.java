@@ -0,0 +1,127 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import es.nachobrito.jsonschema.compiler.domain.Compiler;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfigurationRecord;
+import es.nachobrito.jsonschema.compiler.infrastructure.jsonrefparser.JsonSchemaReaderFactory;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class DeduplicationTest extends CompilerTest {
+  private static final String SCHEMA =
+      """
+      {
+        "title": "Route",
+        "type": "object",
+        "properties": {
+          "origin": {
+            "type": "object",
+            "properties": { "lat": { "type": "number" }, "lon": { "type": "number" } }
+          },
+          "destination": {
+            "type": "object",
+            "properties": { "lat": { "type": "number" }, "lon": { "type": "number" } }
+          },
+          "stops": {
+            "type": "array",
+            "items": {
+              "type": "object",
+              "properties": { "lat": { "type": "number" }, "lon": { "type": "number" } }
+            }
+          },
+          "start": {
+            "type": "object",
+            "properties": {
+              "point": {
+                "title": "StartPoint",
+                "type": "object",
+                "properties": { "lat": { "type": "number" }, "lon": { "type": "number" } }
+              }
+            }
+          },
+          "end": {
+            "type": "object",
+            "properties": {
+              "point": {
+                "title": "EndPoint",
+                "type": "object",
+                "properties": { "lat": { "type": "number" }, "lon": { "type": "number" } }
+              }
+            }
+          }
+        }
+      }
+      """;
+
+  private final RuntimeConfiguration runtimeConfiguration =
+      new RuntimeConfiguration() {
+        @Override
+        public Path getOutputPath() {
+          return Path.of(TARGET_GENERATED_CLASSES);
+        }
+
+        @Override
+        public boolean withStructuralDeduplication() {
+          return true;
+        }
+      };
+
+  @DisplayName("Structurally identical objects are generated as a single class")
+  @Test
+  void expectIdenticalObjectsMerged() throws NoSuchFieldException {
+    var compiler = new Compiler(runtimeConfiguration, new JsonSchemaReaderFactory());
+    var classes = compiler.compileToClasses(SCHEMA, MethodHandles.lookup());
+
+    assertEquals(Set.of("Route", "RouteEnd", "EndPoint"), classes.keySet());
+    var route = classes.get("Route");
+    var point = classes.get("EndPoint");
+    assertEquals(point, route.getDeclaredField("origin").getType());
+    assertEquals(point, route.getDeclaredField("destination").getType());
+    assertEquals(point.arrayType(), route.getDeclaredField("stops").getType());
+    // start and end only differed in the class of their point, so they are merged too
+    assertEquals(classes.get("RouteEnd"), route.getDeclaredField("start").getType());
+    assertEquals(
+        Map.of(
+            "RouteDestination", "EndPoint",
+            "RouteOrigin", "EndPoint",
+            "RouteStart", "RouteEnd",
+            "StartPoint", "EndPoint",
+            "StopsItem", "EndPoint"),
+        compiler.getMergedClasses());
+  }
+
+  @DisplayName("Identical objects are kept apart unless deduplication is enabled")
+  @Test
+  void expectNoMergesByDefault() {
+    var compiler =
+        new Compiler(
+            new RuntimeConfigurationRecord(Path.of(TARGET_GENERATED_CLASSES), ""),
+            new JsonSchemaReaderFactory());
+    var classes = compiler.compileToClasses(SCHEMA, MethodHandles.lookup());
+
+    assertEquals(8, classes.size());
+    assertEquals(Map.of(), compiler.getMergedClasses());
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class EnumTest extends CompilerTest {
+  private static final String SCHEMA =
+      """
+      {
+        "title": "Task",
+        "type": "object",
+        "properties": {
+          "status": { "type": "string", "enum": ["in-progress", "done", "onHold"] },
+          "previousStatus": { "type": "string", "enum": ["in-progress", "done", "onHold"] },
+          "labels": {
+            "type": "array",
+            "items": { "type": "string", "enum": ["bug", "feature"] }
+          },
+          "title": { "type": "string" }
+        }
+      }
+      """;
+
+  private final RuntimeConfiguration runtimeConfiguration =
+      new RuntimeConfiguration() {
+        @Override
+        public Path getOutputPath() {
+          return Path.of(TARGET_GENERATED_CLASSES);
+        }
+
+        @Override
+        public boolean withEnums() {
+          return true;
+        }
+
+        @Override
+        public boolean withJsonDeserializer() {
+          return true;
+        }
+
+        @Override
+        public boolean withJsonSerializer() {
+          return true;
+        }
+      };
+
+  @DisplayName("String properties with an enum keyword are generated as java enums")
+  @Test
+  void expectEnumTypes()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchFieldException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          IllegalAccessException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Task", runtimeConfiguration);
+    var statusType = cls.getDeclaredField("status").getType();
+
+    assertTrue(statusType.isEnum());
+    // properties with the same values share the enum
+    assertSame(statusType, cls.getDeclaredField("previousStatus").getType());
+    assertEquals(
+        List.of("IN_PROGRESS", "DONE", "ON_HOLD"),
+        Arrays.stream(statusType.getEnumConstants()).map(it -> ((Enum<?>) it).name()).toList());
+    assertEquals("TaskLabels[]", cls.getDeclaredField("labels").getType().getSimpleName());
+    assertEquals(String.class, cls.getDeclaredField("title").getType());
+
+    var fromValue = statusType.getMethod("fromValue", String.class);
+    assertSame(statusType.getEnumConstants()[2], fromValue.invoke(null, "onHold"));
+    assertEquals("onHold", statusType.getEnumConstants()[2].toString());
+    assertThrows(InvocationTargetException.class, () -> fromValue.invoke(null, "onhold"));
+    assertThrows(InvocationTargetException.class, () -> fromValue.invoke(null, ""));
+  }
+
+  @DisplayName("Enums are read and written with their json values")
+  @Test
+  void expectEnumsSerialized()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          IllegalAccessException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Task", runtimeConfiguration);
+    var json =
+        """
+        {"status": "in-progress", "previousStatus": null, "labels": ["bug", "feature"],
+         "title": "Fix it"}
+        """;
+    var mapper = createObjectMapper();
+    var task = mapper.readValue(json, cls);
+    assertEquals(mapper.readTree(json), mapper.readTree(mapper.writeValueAsString(task)));
+
+    Object parsed;
+    try (var parser = mapper.createParser(json)) {
+      parsed = cls.getDeclaredMethod("fromJson", JsonParser.class).invoke(null, parser);
+    }
+    assertEquals(task, parsed);
+
+    var writer = new StringWriter();
+    try (var generator = mapper.createGenerator(writer)) {
+      cls.getDeclaredMethod("writeTo", JsonGenerator.class).invoke(parsed, generator);
+    }
+    assertEquals(mapper.readTree(json), mapper.readTree(writer.toString()));
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import es.nachobrito.jsonschema.compiler.domain.Compiler;
+import es.nachobrito.jsonschema.compiler.domain.CompilerException;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfigurationRecord;
+import es.nachobrito.jsonschema.compiler.infrastructure.jsonrefparser.JsonSchemaReaderFactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class InMemoryCompilationTest extends CompilerTest {
+  private static final String SCHEMA =
+      """
+      {
+        "$schema": "https://json-schema.org/draft/2020-12/schema",
+        "title": "InMemoryUser",
+        "type": "object",
+        "properties": {
+          "name": {
+            "type": "string"
+          },
+          "location": {
+            "title": "InMemoryLocation",
+            "type": "object",
+            "properties": {
+              "latitude": {
+                "type": "number"
+              },
+              "longitude": {
+                "type": "number"
+              }
+            }
+          }
+        }
+      }
+      """;
+
+  @DisplayName("Classes in the lookup's package are defined through the lookup")
+  @Test
+  void expectClassesDefinedInLookupPackage()
+      throws NoSuchFieldException,
+          InvocationTargetException,
+          InstantiationException,
+          IllegalAccessException {
+    var destPath = Path.of(TARGET_GENERATED_CLASSES, "in-memory");
+    var compiler =
+        new Compiler(
+            new RuntimeConfigurationRecord(destPath, getClass().getPackageName()),
+            new JsonSchemaReaderFactory());
+
+    var classes = compiler.compileToClasses(SCHEMA, MethodHandles.lookup());
+
+    assertEquals(2, classes.size());
+    var user = classes.get("es.nachobrito.jsonschema.compiler.InMemoryUser");
+    var location = classes.get("es.nachobrito.jsonschema.compiler.InMemoryLocation");
+    assertSame(getClass().getClassLoader(), user.getClassLoader());
+    assertSame(location, user.getDeclaredField("location").getType());
+
+    var instance = location.getDeclaredConstructors()[0].newInstance(40.4, -3.7);
+    assertEquals(instance, location.getDeclaredConstructors()[0].newInstance(40.4, -3.7));
+    assertFalse(Files.exists(destPath));
+  }
+
+  @DisplayName("Classes in other packages are defined by a dedicated class loader")
+  @Test
+  void expectClassesInOtherPackagesDefinedByNewClassLoader() throws NoSuchFieldException {
+    var destPath = Path.of(TARGET_GENERATED_CLASSES, "in-memory");
+    var compiler =
+        new Compiler(
+            new RuntimeConfigurationRecord(destPath, "com.example.generated"),
+            new JsonSchemaReaderFactory());
+
+    var classes = compiler.compileToClasses(SCHEMA, MethodHandles.lookup());
+
+    var user = classes.get("com.example.generated.InMemoryUser");
+    var location = classes.get("com.example.generated.InMemoryLocation");
+    assertNotEquals(getClass().getClassLoader(), user.getClassLoader());
+    assertSame(getClass().getClassLoader(), user.getClassLoader().getParent());
+    assertSame(location, user.getDeclaredField("location").getType());
+    assertFalse(Files.exists(destPath));
+  }
+
+  @DisplayName("Generated classes are not hidden by classes with the same name in the parent")
+  @Test
+  void expectGeneratedClassesLoadedFirst() throws NoSuchFieldException {
+    var compiler =
+        new Compiler(
+            new RuntimeConfigurationRecord(
+                Path.of(TARGET_GENERATED_CLASSES, "in-memory"), getClass().getPackageName()),
+            new JsonSchemaReaderFactory());
+    var schema =
+        """
+        {
+          "title": "Example",
+          "type": "object",
+          "properties": { "generated": { "type": "boolean" } }
+        }
+        """;
+
+    var classes =
+        compiler.compileToClasses(
+            schema, MethodHandles.lookup().dropLookupMode(MethodHandles.Lookup.PACKAGE));
+
+    var example = classes.get("es.nachobrito.jsonschema.compiler.Example");
+    assertNotEquals(Example.class, example);
+    assertEquals(Boolean.class, example.getDeclaredField("generated").getType());
+  }
+
+  @DisplayName("Defining the same classes twice through the lookup fails with a clear error")
+  @Test
+  void expectRecompilationInLookupPackageRejected() {
+    var compiler =
+        new Compiler(
+            new RuntimeConfigurationRecord(
+                Path.of(TARGET_GENERATED_CLASSES, "in-memory"), getClass().getPackageName()),
+            new JsonSchemaReaderFactory());
+    var schema =
+        """
+        {
+          "title": "InMemoryTwice",
+          "type": "object",
+          "properties": { "name": { "type": "string" } }
+        }
+        """;
+
+    compiler.compileToClasses(schema, MethodHandles.lookup());
+    assertThrows(
+        CompilerException.class, () -> compiler.compileToClasses(schema, MethodHandles.lookup()));
+  }
+}
@@ -0,0 +1,200 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import es.nachobrito.jsonschema.compiler.infrastructure.streaming.StreamingSchemaReader;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.function.BiConsumer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class IntegerSizingTest extends CompilerTest {
+  private static final String SCHEMA =
+      """
+      {
+        "title": "Reading",
+        "type": "object",
+        "properties": {
+          "channel": { "type": "integer", "minimum": 0, "maximum": 100 },
+          "level": { "type": "integer", "minimum": 0, "maximum": 65535 },
+          "port": { "type": "integer", "minimum": 0, "exclusiveMaximum": 32768 },
+          "offset": { "type": "integer", "minimum": -2147483648, "maximum": 2147483647 },
+          "timestamp": { "type": "integer", "minimum": 0 },
+          "samples": {
+            "type": "array",
+            "items": { "type": "integer", "minimum": 0, "maximum": 255 }
+          }
+        },
+        "required": ["channel", "level", "port", "offset"]
+      }
+      """;
+
+  private final RuntimeConfiguration runtimeConfiguration =
+      new RuntimeConfiguration() {
+        @Override
+        public Path getOutputPath() {
+          return Path.of(TARGET_GENERATED_CLASSES);
+        }
+
+        @Override
+        public boolean withIntegerSizing() {
+          return true;
+        }
+
+        @Override
+        public boolean withJsonDeserializer() {
+          return true;
+        }
+
+        @Override
+        public boolean withJsonSerializer() {
+          return true;
+        }
+
+        @Override
+        public boolean withValidation() {
+          return true;
+        }
+      };
+
+  @DisplayName("Integer types are chosen from the minimum and maximum keywords")
+  @Test
+  void expectSizedIntegers() throws IOException, ClassNotFoundException, NoSuchFieldException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Reading", runtimeConfiguration);
+
+    assertEquals(Byte.class, cls.getDeclaredField("channel").getType());
+    assertEquals(Integer.class, cls.getDeclaredField("level").getType());
+    assertEquals(Short.class, cls.getDeclaredField("port").getType());
+    assertEquals(Integer.class, cls.getDeclaredField("offset").getType());
+    // unbounded integers can exceed 2^31
+    assertEquals(Long.class, cls.getDeclaredField("timestamp").getType());
+    assertEquals(Short[].class, cls.getDeclaredField("samples").getType());
+  }
+
+  @DisplayName("Integer bounds are read exactly, and exclusive bounds allow the nearest integer")
+  @Test
+  void expectExactIntegerBounds() throws IOException, ClassNotFoundException, NoSuchFieldException {
+    var schema =
+        """
+        {
+          "title": "Counter",
+          "type": "object",
+          "properties": {
+            "hits": { "type": "integer", "minimum": 0, "exclusiveMaximum": 2147483648 },
+            "total": { "type": "integer", "minimum": 0, "maximum": 9007199254740993 }
+          }
+        }
+        """;
+    var cls = compileSampleSchemaFromString(schema, "Counter", runtimeConfiguration);
+
+    assertEquals(Integer.class, cls.getDeclaredField("hits").getType());
+    var total = new StreamingSchemaReader().read(schema).getFirst().properties().get("total");
+    assertEquals(new BigDecimal("9007199254740993"), total.constraints().maximum());
+  }
+
+  @DisplayName("Sized integers combine with primitive fields and arrays")
+  @Test
+  void expectSizedPrimitives() throws IOException, ClassNotFoundException, NoSuchFieldException {
+    var configuration =
+        new RuntimeConfiguration() {
+          @Override
+          public Path getOutputPath() {
+            return Path.of(TARGET_GENERATED_CLASSES);
+          }
+
+          @Override
+          public boolean withIntegerSizing() {
+            return true;
+          }
+
+          @Override
+          public boolean withPrimitiveTypes() {
+            return true;
+          }
+
+          @Override
+          public boolean withPrimitiveArrays() {
+            return true;
+          }
+        };
+    var cls = compileSampleSchemaFromString(SCHEMA, "Reading", configuration);
+
+    assertEquals(byte.class, cls.getDeclaredField("channel").getType());
+    assertEquals(int.class, cls.getDeclaredField("level").getType());
+    assertEquals(short.class, cls.getDeclaredField("port").getType());
+    assertEquals(Long.class, cls.getDeclaredField("timestamp").getType());
+    assertEquals(short[].class, cls.getDeclaredField("samples").getType());
+  }
+
+  @DisplayName("Generated methods handle every integer width")
+  @Test
+  void expectSizedIntegersSupported()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          IllegalAccessException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Reading", runtimeConfiguration);
+    var json =
+        """
+        {"channel": 7, "level": 40000, "port": 8080, "offset": -5,
+         "timestamp": 1760659200000, "samples": [0, 128, 255]}
+        """;
+    var mapper = createObjectMapper();
+    var reading = mapper.readValue(json, cls);
+    var copy = mapper.readValue(json, cls);
+    var other = mapper.readValue(json.replace("8080", "8081"), cls);
+
+    assertEquals((byte) 7, cls.getDeclaredMethod("channel").invoke(reading));
+    assertEquals(1760659200000L, cls.getDeclaredMethod("timestamp").invoke(reading));
+    assertEquals(reading, copy);
+    assertEquals(reading.hashCode(), copy.hashCode());
+    assertNotEquals(reading, other);
+    assertTrue(reading.toString().contains("port=8080"));
+
+    Object parsed;
+    try (var parser = mapper.createParser(json)) {
+      parsed = cls.getDeclaredMethod("fromJson", JsonParser.class).invoke(null, parser);
+    }
+    assertEquals(reading, parsed);
+
+    var writer = new StringWriter();
+    try (var generator = mapper.createGenerator(writer)) {
+      cls.getDeclaredMethod("writeTo", JsonGenerator.class).invoke(parsed, generator);
+    }
+    assertEquals(mapper.readTree(json), mapper.readTree(writer.toString()));
+
+    var invalid = mapper.readValue(json.replace("\"channel\": 7", "\"channel\": 101"), cls);
+    var errors = new StringBuilder();
+    BiConsumer<String, String> collector =
+        (path, message) -> errors.append(path).append(' ').append(message);
+    assertEquals(
+        false, cls.getDeclaredMethod("validate", BiConsumer.class).invoke(invalid, collector));
+    assertEquals("channel must be less than or equal to 100", errors.toString());
+  }
+}
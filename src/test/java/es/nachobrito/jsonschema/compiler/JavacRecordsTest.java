@@ -0,0 +1,94 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class JavacRecordsTest extends CompilerTest {
+  private static final String SCHEMA =
+      """
+      {
+        "title": "Point",
+        "type": "object",
+        "properties": {
+          "x": { "type": "integer" },
+          "y": { "type": "integer" },
+          "label": { "type": "string" }
+        }
+      }
+      """;
+
+  private final RuntimeConfiguration runtimeConfiguration =
+      new RuntimeConfiguration() {
+        @Override
+        public Path getOutputPath() {
+          return Path.of(TARGET_GENERATED_CLASSES);
+        }
+
+        @Override
+        public boolean withJavacRecords() {
+          return true;
+        }
+      };
+
+  @DisplayName("Generated classes are records, with the object methods of javac records")
+  @Test
+  void expectJavacRecords()
+      throws IOException,
+          ClassNotFoundException,
+          InvocationTargetException,
+          InstantiationException,
+          IllegalAccessException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Point", runtimeConfiguration);
+    assertTrue(cls.isRecord());
+    assertEquals(
+        List.of("label", "x", "y"),
+        Arrays.stream(cls.getRecordComponents()).map(RecordComponent::getName).toList());
+
+    var constructor = cls.getDeclaredConstructors()[0];
+    var point = constructor.newInstance("a", 1, 2);
+    assertEquals(constructor.newInstance("a", 1, 2), point);
+    assertEquals(constructor.newInstance("a", 1, 2).hashCode(), point.hashCode());
+    assertNotEquals(constructor.newInstance(null, 1, 2), point);
+    assertEquals("Point[label=a, x=1, y=2]", point.toString());
+  }
+
+  @DisplayName("Jackson reads and writes javac records")
+  @Test
+  void expectJacksonRecordSupport() throws IOException, ClassNotFoundException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Point", runtimeConfiguration);
+    var json =
+        """
+        {"x": 3, "y": -4, "label": "origin"}
+        """;
+    var mapper = createObjectMapper();
+    var point = mapper.readValue(json, cls);
+    assertEquals(mapper.readTree(json), mapper.readTree(mapper.writeValueAsString(point)));
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.core.JsonParser;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class JsonDeserializerTest extends CompilerTest {
+  private final RuntimeConfiguration runtimeConfiguration =
+      new RuntimeConfiguration() {
+        @Override
+        public Path getOutputPath() {
+          return Path.of(TARGET_GENERATED_CLASSES);
+        }
+
+        @Override
+        public boolean withJsonDeserializer() {
+          return true;
+        }
+      };
+
+  @DisplayName("Generated fromJson methods read the same values as Jackson's reflective path")
+  @Test
+  void expectFromJsonEquivalentToJackson()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          IllegalAccessException {
+    var cls =
+        compileSampleSchemaFromFile(
+            "classpath:test-schemas/Nested.json", "Product", runtimeConfiguration);
+    var json =
+        """
+        {
+          "productId": 7,
+          "productName": "Widget",
+          "price": 12.5,
+          "dimensions": {"length": 1.0, "width": 2, "height": 3.5}
+        }
+        """;
+    var mapper = createObjectMapper();
+    assertEquals(mapper.readValue(json, cls), fromJson(cls, json));
+
+    cls =
+        compileSampleSchemaFromFile(
+            "classpath:test-schemas/Arrays.json", "Product", runtimeConfiguration);
+    json =
+        """
+        {
+          "references": [1.5, 2, null],
+          "names": ["a", "b"],
+          "address": [1600, "Pennsylvania", "Avenue", "NW"],
+          "vegetables": [{"veggieName": "potato", "veggieLike": true}, null]
+        }
+        """;
+    assertEquals(mapper.readValue(json, cls), fromJson(cls, json));
+  }
+
+  @DisplayName("Generated fromJson methods skip unknown fields and accept nulls and missing fields")
+  @Test
+  void expectUnknownFieldsSkipped()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          IllegalAccessException {
+    var schema =
+        """
+        {
+          "title": "User",
+          "type": "object",
+          "properties": {
+            "user_name": { "type": "string" },
+            "date-of-birth": { "type": "string", "format": "date" },
+            "uuid": { "type": "string", "format": "uuid" },
+            "active": { "type": "boolean" }
+          }
+        }
+        """;
+    var theUUID = UUID.randomUUID();
+    var json =
+        """
+        {
+          "ignored": {"nested": [1, 2, {"deep": true}]},
+          "user_name": "John Doe",
+          "date-of-birth": "1970-04-01",
+          "uuid": "%s",
+          "active": null
+        }
+        """
+            .formatted(theUUID);
+    var cls = compileSampleSchemaFromString(schema, "User", runtimeConfiguration);
+    var user = fromJson(cls, json);
+
+    assertEquals("John Doe", cls.getDeclaredMethod("userName").invoke(user));
+    assertEquals(LocalDate.parse("1970-04-01"), cls.getDeclaredMethod("dateOfBirth").invoke(user));
+    assertEquals(theUUID, cls.getDeclaredMethod("uuid").invoke(user));
+    assertNull(cls.getDeclaredMethod("active").invoke(user));
+
+    assertNull(fromJson(cls, "null"));
+    assertNull(cls.getDeclaredMethod("userName").invoke(fromJson(cls, "{}")));
+  }
+
+  private Object fromJson(Class<?> cls, String json)
+      throws IOException, NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+    try (var parser = createObjectMapper().createParser(json)) {
+      return cls.getDeclaredMethod("fromJson", JsonParser.class).invoke(null, parser);
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class JsonSerializerTest extends CompilerTest {
+  private final RuntimeConfiguration runtimeConfiguration =
+      new RuntimeConfiguration() {
+        @Override
+        public Path getOutputPath() {
+          return Path.of(TARGET_GENERATED_CLASSES);
+        }
+
+        @Override
+        public boolean withJsonDeserializer() {
+          return true;
+        }
+
+        @Override
+        public boolean withJsonSerializer() {
+          return true;
+        }
+      };
+
+  @DisplayName("Generated writeTo methods write the same document that was read")
+  @Test
+  void expectWriteToRoundTrip()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          IllegalAccessException {
+    var cls =
+        compileSampleSchemaFromFile(
+            "classpath:test-schemas/Nested.json", "Product", runtimeConfiguration);
+    assertRoundTrip(
+        cls,
+        """
+        {
+          "dimensions": {"height": 3.5, "length": 1.0, "width": 2.0},
+          "price": 12.5,
+          "productId": 7,
+          "productName": "Widget"
+        }
+        """);
+    assertRoundTrip(cls, "{\"dimensions\": null, \"price\": null, \"productId\": 1, \"productName\": null}");
+
+    cls =
+        compileSampleSchemaFromFile(
+            "classpath:test-schemas/Arrays.json", "Product", runtimeConfiguration);
+    assertRoundTrip(
+        cls,
+        """
+        {
+          "address": [1600, "Pennsylvania", "Avenue", "NW"],
+          "names": ["a", null, "b"],
+          "references": [1.5, 2.0],
+          "vegetables": [{"veggieLike": true, "veggieName": "potato"}, null]
+        }
+        """);
+  }
+
+  @DisplayName("Generated writeTo methods write dates and other formatted strings in ISO format")
+  @Test
+  void expectFormattedStringsWritten()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          IllegalAccessException {
+    var schema =
+        """
+        {
+          "title": "Event",
+          "type": "object",
+          "properties": {
+            "at": { "type": "string", "format": "date-time" },
+            "day": { "type": "string", "format": "date" },
+            "id": { "type": "string", "format": "uuid" },
+            "link": { "type": "string", "format": "uri" },
+            "took": { "type": "string", "format": "duration" }
+          }
+        }
+        """;
+    var cls = compileSampleSchemaFromString(schema, "Event", runtimeConfiguration);
+    assertRoundTrip(
+        cls,
+        """
+        {
+          "at": "2025-01-02T03:04:05+01:00",
+          "day": "2025-01-02",
+          "id": "0f8fad5b-d9cb-469f-a165-70867728950e",
+          "link": "https://example.com/a?b=c",
+          "took": "PT1H30M"
+        }
+        """);
+  }
+
+  private void assertRoundTrip(Class<?> cls, String json)
+      throws IOException, NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+    var mapper = createObjectMapper();
+    Object instance;
+    try (var parser = mapper.createParser(json)) {
+      instance = cls.getDeclaredMethod("fromJson", JsonParser.class).invoke(null, parser);
+    }
+    var writer = new StringWriter();
+    try (var generator = mapper.createGenerator(writer)) {
+      cls.getDeclaredMethod("writeTo", JsonGenerator.class).invoke(instance, generator);
+    }
+    assertEquals(mapper.readTree(json), mapper.readTree(writer.toString()));
+  }
+}
@@ -16,11 +16,13 @@
 
 package es.nachobrito.jsonschema.compiler;
 
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfigurationRecord;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -64,4 +66,74 @@ public class NestedTest extends CompilerTest{
         assertEquals(4.99, dimensionsCls.getDeclaredMethod("height").invoke(dimensions));
 
     }
+
+    @DisplayName("Objects nested in other nested objects are resolved against their parent definition")
+    @Test
+    void expectDeeplyNestedStructuresHandledProperly() throws IOException, ClassNotFoundException, NoSuchFieldException {
+        var schema = """
+{
+  "title": "Order",
+  "type": "object",
+  "properties": {
+    "customer": {
+      "title": "OrderCustomer",
+      "type": "object",
+      "properties": {
+        "address": {
+          "title": "OrderCustomerAddress",
+          "type": "object",
+          "properties": {
+            "lines": {
+              "type": "array",
+              "items": {
+                "type": "object",
+                "properties": { "text": { "type": "string" } }
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+}
+""";
+        var cls = compileSampleSchemaFromString(schema, "Order");
+        var customerCls = cls.getDeclaredField("customer").getType();
+        assertEquals("OrderCustomer", customerCls.getName());
+        var addressCls = customerCls.getDeclaredField("address").getType();
+        assertEquals("OrderCustomerAddress", addressCls.getName());
+        var linesType = addressCls.getDeclaredField("lines").getType();
+        assertEquals(String.class, linesType.getComponentType().getDeclaredField("text").getType());
+    }
+
+    @DisplayName("Objects nested hundreds of levels deep get one class per level")
+    @Test
+    void expectVeryDeepStructuresHandledProperly() throws IOException, ClassNotFoundException, NoSuchFieldException {
+        var depth = 200;
+        var schema = new StringBuilder("{\"title\": \"Deep\", \"type\": \"object\", \"properties\": {");
+        for (int i = 0; i < depth; i++) {
+            schema.append("\"child\": {\"type\": \"object\", \"properties\": {");
+        }
+        schema.append("\"value\": {\"type\": \"string\"}");
+        schema.append("}}".repeat(depth)).append("}}");
+
+        var cls = compileSampleSchemaFromString(schema.toString(), "Deep");
+        for (int i = 0; i < depth; i++) {
+            cls = cls.getDeclaredField("child").getType();
+            assertEquals(i == 0 ? "DeepChild" : "DeepChild" + (i + 1), cls.getName());
+        }
+        assertEquals(String.class, cls.getDeclaredField("value").getType());
+    }
+
+    @DisplayName("References to nested classes include the configured package name")
+    @Test
+    void expectNestedClassesInPackage() throws IOException, ClassNotFoundException, NoSuchFieldException {
+        var cls = compileSampleSchemaFromFile(
+                "classpath:test-schemas/Nested.json",
+                "com.example.Product",
+                new RuntimeConfigurationRecord(Path.of(TARGET_GENERATED_CLASSES), "com.example"));
+        var dimensionsCls = cls.getDeclaredField("dimensions").getType();
+        assertEquals("com.example", dimensionsCls.getPackageName());
+        assertEquals(Double.class, dimensionsCls.getDeclaredField("length").getType());
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import es.nachobrito.jsonschema.compiler.domain.CompilerException;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class OffHeapViewTest extends CompilerTest {
+  private static final String SCHEMA =
+      """
+      {
+        "title": "Sample",
+        "type": "object",
+        "properties": {
+          "active": { "type": "boolean" },
+          "day": { "type": "string", "format": "date" },
+          "sensorId": { "type": "string", "format": "uuid" },
+          "sequence": { "type": "integer" },
+          "value": { "type": "number" }
+        }
+      }
+      """;
+
+  private static final String MIXED_SCHEMA =
+      """
+      {
+        "title": "Mixed",
+        "type": "object",
+        "properties": {
+          "sequence": { "type": "integer" },
+          "label": {
+            "type": "object",
+            "title": "Label",
+            "properties": { "text": { "type": "string" } }
+          }
+        }
+      }
+      """;
+
+  private final RuntimeConfiguration runtimeConfiguration =
+      new RuntimeConfiguration() {
+        @Override
+        public Path getOutputPath() {
+          return Path.of(TARGET_GENERATED_CLASSES);
+        }
+
+        @Override
+        public boolean withOffHeapViews() {
+          return true;
+        }
+      };
+
+  @DisplayName("Views are generated only for schemas with fixed width properties")
+  @Test
+  void expectViewsForFixedWidthSchemas() throws IOException, ClassNotFoundException {
+    compileSampleSchemaFromString(MIXED_SCHEMA, "Mixed", runtimeConfiguration);
+
+    var output = Path.of(TARGET_GENERATED_CLASSES);
+    assertEquals(false, Files.exists(output.resolve("MixedView.class")));
+    assertEquals(false, Files.exists(output.resolve("LabelView.class")));
+  }
+
+  @DisplayName("A view with the name of another generated class is rejected")
+  @Test
+  void expectViewNameCollisionRejected() {
+    var schema =
+        """
+        {
+          "title": "PointView",
+          "type": "object",
+          "properties": {
+            "point": {
+              "type": "object",
+              "title": "Point",
+              "properties": { "x": { "type": "integer" }, "y": { "type": "integer" } }
+            }
+          }
+        }
+        """;
+
+    assertThrows(
+        CompilerException.class,
+        () -> compileSampleSchemaFromString(schema, "PointView", runtimeConfiguration));
+  }
+
+  @DisplayName("Views read and write records in a memory segment")
+  @Test
+  void expectRecordsCopiedOffHeap()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          NoSuchFieldException,
+          InvocationTargetException,
+          InstantiationException,
+          IllegalAccessException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Sample", runtimeConfiguration);
+    var viewClass = cls.getClassLoader().loadClass("SampleView");
+    var layout = (MemoryLayout) viewClass.getField("LAYOUT").get(null);
+    // uuid 16 + date 8 + double 8 + int 4 + boolean 1, padded to a multiple of 8
+    assertEquals(40, layout.byteSize());
+
+    var first =
+        cls.getDeclaredConstructors()[0].newInstance(
+            true, LocalDate.of(2025, 1, 31), UUID.randomUUID(), 42, 21.5);
+    var second =
+        cls.getDeclaredConstructors()[0].newInstance(
+            false, LocalDate.of(2025, 2, 1), UUID.randomUUID(), 43, -1.0);
+
+    try (var arena = Arena.ofConfined()) {
+      var segment = arena.allocate(layout.byteSize() * 2, layout.byteAlignment());
+      var view = viewClass.getConstructor(MemorySegment.class).newInstance(segment);
+      var moveTo = viewClass.getMethod("moveTo", long.class);
+      var copyFrom = viewClass.getMethod("copyFrom", cls);
+      var toRecord = viewClass.getMethod("toRecord");
+
+      copyFrom.invoke(moveTo.invoke(view, 0L), first);
+      copyFrom.invoke(moveTo.invoke(view, 1L), second);
+
+      assertEquals(first, toRecord.invoke(moveTo.invoke(view, 0L)));
+      assertEquals(second, toRecord.invoke(moveTo.invoke(view, 1L)));
+      assertEquals(43, viewClass.getMethod("sequence").invoke(view));
+
+      viewClass.getMethod("value", double.class).invoke(view, 7.25);
+      assertEquals(7.25, cls.getMethod("value").invoke(toRecord.invoke(view)));
+
+      var withNull =
+          cls.getDeclaredConstructors()[0].newInstance(true, null, UUID.randomUUID(), 1, 1.0);
+      assertThrows(InvocationTargetException.class, () -> copyFrom.invoke(view, withNull));
+    }
+  }
+}
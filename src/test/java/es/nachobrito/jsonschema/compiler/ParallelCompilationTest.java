@@ -0,0 +1,55 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ParallelCompilationTest extends CompilerTest {
+
+  @DisplayName("Schemas compiled with several threads produce the same classes")
+  @Test
+  void expectParallelCompilationSupported()
+      throws IOException, ClassNotFoundException, NoSuchFieldException {
+    var runtimeConfiguration =
+        new RuntimeConfiguration() {
+          @Override
+          public Path getOutputPath() {
+            return Path.of(TARGET_GENERATED_CLASSES);
+          }
+
+          @Override
+          public int getThreads() {
+            return 4;
+          }
+        };
+    var cls =
+        compileSampleSchemaFromFile(
+            "classpath:test-schemas/Nested.json", "Product", runtimeConfiguration);
+    assertNotNull(cls);
+
+    var dimensionsCls = cls.getDeclaredField("dimensions").getType();
+    assertEquals(3, dimensionsCls.getDeclaredFields().length);
+    assertEquals(Double.class, dimensionsCls.getDeclaredField("length").getType());
+  }
+}
@@ -0,0 +1,292 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PresenceBitmapTest extends CompilerTest {
+  private static final String SCHEMA =
+      """
+      {
+        "title": "Metric",
+        "type": "object",
+        "properties": {
+          "active": { "type": "boolean" },
+          "count": { "type": "integer" },
+          "name": { "type": "string" },
+          "score": { "type": "number" }
+        }
+      }
+      """;
+
+  private final RuntimeConfiguration runtimeConfiguration =
+      new RuntimeConfiguration() {
+        @Override
+        public Path getOutputPath() {
+          return Path.of(TARGET_GENERATED_CLASSES);
+        }
+
+        @Override
+        public boolean withPresenceBitmaps() {
+          return true;
+        }
+      };
+
+  @DisplayName("Optional numbers and booleans are stored as primitives and presence bits")
+  @Test
+  void expectPrimitiveStorage()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchFieldException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          InstantiationException,
+          IllegalAccessException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Metric", runtimeConfiguration);
+    assertEquals(boolean.class, cls.getDeclaredField("active").getType());
+    assertEquals(int.class, cls.getDeclaredField("count").getType());
+    assertEquals(double.class, cls.getDeclaredField("score").getType());
+    assertEquals(String.class, cls.getDeclaredField("name").getType());
+    assertEquals(int.class, cls.getDeclaredField("$present0").getType());
+
+    var constructor = cls.getDeclaredConstructors()[0];
+    var empty = constructor.newInstance(null, null, null, null);
+    assertNull(cls.getMethod("count").invoke(empty));
+    assertFalse((Boolean) cls.getMethod("hasCount").invoke(empty));
+    assertEquals(OptionalInt.empty(), cls.getMethod("optionalCount").invoke(empty));
+
+    var metric = constructor.newInstance(false, 5, "cpu", 0.5);
+    assertEquals(false, cls.getMethod("active").invoke(metric));
+    assertEquals(5, cls.getMethod("count").invoke(metric));
+    assertTrue((Boolean) cls.getMethod("hasScore").invoke(metric));
+    assertEquals(OptionalDouble.of(0.5), cls.getMethod("optionalScore").invoke(metric));
+  }
+
+  @DisplayName("Equals and hashCode take the presence of values into account")
+  @Test
+  void expectPresenceCompared()
+      throws IOException,
+          ClassNotFoundException,
+          InvocationTargetException,
+          InstantiationException,
+          IllegalAccessException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Metric", runtimeConfiguration);
+    var constructor = cls.getDeclaredConstructors()[0];
+    var zero = constructor.newInstance(null, 0, null, null);
+    var missing = constructor.newInstance(null, null, null, null);
+
+    assertNotEquals(zero, missing);
+    assertEquals(zero, constructor.newInstance(null, 0, null, null));
+    assertEquals(zero.hashCode(), constructor.newInstance(null, 0, null, null).hashCode());
+  }
+
+  @DisplayName("Missing values are written as null by Jackson")
+  @Test
+  void expectJacksonRoundTrip() throws IOException, ClassNotFoundException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Metric", runtimeConfiguration);
+    var json =
+        """
+        {"active": null, "count": 3, "name": "disk", "score": null}
+        """;
+    var mapper = createObjectMapper();
+    var metric = mapper.readValue(json, cls);
+    assertEquals(mapper.readTree(json), mapper.readTree(mapper.writeValueAsString(metric)));
+  }
+
+  @DisplayName("Generated serializers write the primitive fields of present values only")
+  @Test
+  void expectGeneratedSerializersRoundTrip()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          InstantiationException,
+          IllegalAccessException {
+    var configuration =
+        new RuntimeConfiguration() {
+          @Override
+          public Path getOutputPath() {
+            return Path.of(TARGET_GENERATED_CLASSES);
+          }
+
+          @Override
+          public boolean withPresenceBitmaps() {
+            return true;
+          }
+
+          @Override
+          public boolean withJsonSerializer() {
+            return true;
+          }
+
+          @Override
+          public boolean withBinaryCodec() {
+            return true;
+          }
+        };
+    var cls = compileSampleSchemaFromString(SCHEMA, "Metric", configuration);
+    var metric = cls.getDeclaredConstructors()[0].newInstance(true, null, "disk", 0.25);
+
+    var mapper = createObjectMapper();
+    var writer = new StringWriter();
+    try (var generator = mapper.createGenerator(writer)) {
+      cls.getDeclaredMethod("writeTo", JsonGenerator.class).invoke(metric, generator);
+    }
+    assertEquals(
+        mapper.readTree("{\"active\": true, \"count\": null, \"name\": \"disk\", \"score\": 0.25}"),
+        mapper.readTree(writer.toString()));
+
+    var buffer = ByteBuffer.allocate(64);
+    cls.getMethod("writeBinary", ByteBuffer.class).invoke(metric, buffer);
+    buffer.flip();
+    assertEquals(metric, cls.getMethod("readBinary", ByteBuffer.class).invoke(null, buffer));
+    assertEquals(0, buffer.remaining());
+  }
+
+  @DisplayName("withX methods and builders copy the fields in the bitmap as they are stored")
+  @Test
+  void expectRecordsCopiedWithoutBoxing()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          InstantiationException,
+          IllegalAccessException {
+    var configuration =
+        new RuntimeConfiguration() {
+          @Override
+          public Path getOutputPath() {
+            return Path.of(TARGET_GENERATED_CLASSES);
+          }
+
+          @Override
+          public boolean withPresenceBitmaps() {
+            return true;
+          }
+
+          @Override
+          public boolean withBuilders() {
+            return true;
+          }
+        };
+    var cls = compileSampleSchemaFromString(SCHEMA, "Metric", configuration);
+    // the record has a private raw constructor too
+    var constructor =
+        cls.getDeclaredConstructor(Boolean.class, Integer.class, String.class, Double.class);
+    var metric = constructor.newInstance(true, 5, "cpu", null);
+    var withCount = cls.getMethod("withCount", Integer.class);
+    var withScore = cls.getMethod("withScore", Double.class);
+
+    assertSame(metric, withCount.invoke(metric, 5));
+    assertSame(metric, withScore.invoke(metric, (Object) null));
+    assertEquals(
+        constructor.newInstance(true, null, "cpu", null), withCount.invoke(metric, (Object) null));
+    assertEquals(constructor.newInstance(true, 0, "cpu", null), withCount.invoke(metric, 0));
+    assertEquals(constructor.newInstance(true, 5, "cpu", 0.5), withScore.invoke(metric, 0.5));
+    assertEquals(
+        constructor.newInstance(false, 5, "cpu", null),
+        cls.getMethod("withActive", Boolean.class).invoke(metric, false));
+
+    var builderClass = cls.getClassLoader().loadClass("MetricBuilder");
+    var builder = builderClass.getConstructor().newInstance();
+    var build = builderClass.getMethod("build");
+    builderClass.getMethod("from", cls).invoke(builder, metric);
+    assertEquals(metric, build.invoke(builder));
+    builderClass.getMethod("count", Integer.class).invoke(builder, (Object) null);
+    builderClass.getMethod("score", Double.class).invoke(builder, 1.5);
+    assertEquals(constructor.newInstance(true, null, "cpu", 1.5), build.invoke(builder));
+    builderClass.getMethod("reset").invoke(builder);
+    assertEquals(constructor.newInstance(null, null, null, null), build.invoke(builder));
+  }
+
+  @DisplayName("Views copy the fields in the bitmap as they are stored")
+  @Test
+  void expectViewsCopiedWithoutBoxing()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          NoSuchFieldException,
+          InvocationTargetException,
+          InstantiationException,
+          IllegalAccessException {
+    var schema =
+        """
+        {
+          "title": "Gauge",
+          "type": "object",
+          "properties": {
+            "level": { "type": "integer" },
+            "value": { "type": "number" }
+          }
+        }
+        """;
+    var configuration =
+        new RuntimeConfiguration() {
+          @Override
+          public Path getOutputPath() {
+            return Path.of(TARGET_GENERATED_CLASSES);
+          }
+
+          @Override
+          public boolean withPresenceBitmaps() {
+            return true;
+          }
+
+          @Override
+          public boolean withOffHeapViews() {
+            return true;
+          }
+        };
+    var cls = compileSampleSchemaFromString(schema, "Gauge", configuration);
+    var constructor = cls.getDeclaredConstructor(Integer.class, Double.class);
+    var viewClass = cls.getClassLoader().loadClass("GaugeView");
+    var layout = (MemoryLayout) viewClass.getField("LAYOUT").get(null);
+
+    try (var arena = Arena.ofConfined()) {
+      var segment = arena.allocate(layout);
+      var view = viewClass.getConstructor(MemorySegment.class).newInstance(segment);
+      var copyFrom = viewClass.getMethod("copyFrom", cls);
+      var gauge = constructor.newInstance(3, 0.75);
+      copyFrom.invoke(view, gauge);
+      assertEquals(gauge, viewClass.getMethod("toRecord").invoke(view));
+      assertThrows(
+          InvocationTargetException.class,
+          () -> copyFrom.invoke(view, constructor.newInstance(null, 1.0)));
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PrimitiveArraysTest extends CompilerTest {
+  private static final String SCHEMA =
+      """
+      {
+        "title": "Telemetry",
+        "type": "object",
+        "properties": {
+          "counters": { "type": "array", "items": { "type": "integer" } },
+          "flags": { "type": "array", "items": { "type": "boolean" } },
+          "labels": { "type": "array", "items": { "type": "string" } },
+          "samples": { "type": "array", "items": { "type": "number" } }
+        }
+      }
+      """;
+
+  private final RuntimeConfiguration runtimeConfiguration =
+      new RuntimeConfiguration() {
+        @Override
+        public Path getOutputPath() {
+          return Path.of(TARGET_GENERATED_CLASSES);
+        }
+
+        @Override
+        public boolean withPrimitiveArrays() {
+          return true;
+        }
+
+        @Override
+        public boolean withJsonDeserializer() {
+          return true;
+        }
+
+        @Override
+        public boolean withJsonSerializer() {
+          return true;
+        }
+      };
+
+  @DisplayName("Arrays of numbers and booleans are generated as primitive arrays")
+  @Test
+  void expectPrimitiveArrayFields()
+      throws IOException, ClassNotFoundException, NoSuchFieldException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Telemetry", runtimeConfiguration);
+
+    assertEquals(int[].class, cls.getDeclaredField("counters").getType());
+    assertEquals(boolean[].class, cls.getDeclaredField("flags").getType());
+    assertEquals(String[].class, cls.getDeclaredField("labels").getType());
+    assertEquals(double[].class, cls.getDeclaredField("samples").getType());
+  }
+
+  @DisplayName("Primitive arrays can be read, written and compared")
+  @Test
+  void expectPrimitiveArraysSupported()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          IllegalAccessException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Telemetry", runtimeConfiguration);
+    // more samples than the initial capacity of the generated deserializer
+    var samples = new StringBuilder();
+    for (int i = 0; i < 40; i++) {
+      samples.append(i == 0 ? "" : ", ").append(i / 4.0);
+    }
+    var json =
+        """
+        {"counters": [1, 2, 3], "flags": [true, false], "labels": ["a"], "samples": [%s]}
+        """
+            .formatted(samples);
+    var mapper = createObjectMapper();
+    var telemetry = mapper.readValue(json, cls);
+    var copy = mapper.readValue(json, cls);
+    var other = mapper.readValue(json.replace("[1, 2, 3]", "[1, 2, 4]"), cls);
+
+    assertArrayEquals(new int[] {1, 2, 3}, (int[]) cls.getMethod("counters").invoke(telemetry));
+    assertEquals(telemetry, copy);
+    assertEquals(telemetry.hashCode(), copy.hashCode());
+    assertNotEquals(telemetry, other);
+
+    Object parsed;
+    try (var parser = mapper.createParser(json)) {
+      parsed = cls.getDeclaredMethod("fromJson", JsonParser.class).invoke(null, parser);
+    }
+    assertEquals(telemetry, parsed);
+    assertEquals(40, ((double[]) cls.getMethod("samples").invoke(parsed)).length);
+
+    var writer = new StringWriter();
+    try (var generator = mapper.createGenerator(writer)) {
+      cls.getDeclaredMethod("writeTo", JsonGenerator.class).invoke(parsed, generator);
+    }
+    assertEquals(mapper.readTree(json), mapper.readTree(writer.toString()));
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.function.BiConsumer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PrimitiveTypesTest extends CompilerTest {
+  private static final String SCHEMA =
+      """
+      {
+        "title": "Measurement",
+        "type": "object",
+        "properties": {
+          "count": { "type": "integer", "minimum": 0 },
+          "enabled": { "type": "boolean" },
+          "ratio": { "type": "number" },
+          "sensor": { "type": "string" },
+          "total": { "type": ["integer", "null"] },
+          "weight": { "type": "number" }
+        },
+        "required": ["count", "enabled", "ratio", "sensor", "total"]
+      }
+      """;
+
+  private final RuntimeConfiguration runtimeConfiguration =
+      new RuntimeConfiguration() {
+        @Override
+        public Path getOutputPath() {
+          return Path.of(TARGET_GENERATED_CLASSES);
+        }
+
+        @Override
+        public boolean withPrimitiveTypes() {
+          return true;
+        }
+
+        @Override
+        public boolean withJsonDeserializer() {
+          return true;
+        }
+
+        @Override
+        public boolean withJsonSerializer() {
+          return true;
+        }
+
+        @Override
+        public boolean withValidation() {
+          return true;
+        }
+      };
+
+  @DisplayName("Required, non nullable numbers and booleans are generated as primitive fields")
+  @Test
+  void expectPrimitiveFields() throws IOException, ClassNotFoundException, NoSuchFieldException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Measurement", runtimeConfiguration);
+
+    assertEquals(int.class, cls.getDeclaredField("count").getType());
+    assertEquals(boolean.class, cls.getDeclaredField("enabled").getType());
+    assertEquals(double.class, cls.getDeclaredField("ratio").getType());
+    assertEquals(String.class, cls.getDeclaredField("sensor").getType());
+    // nullable and optional properties are still boxed
+    assertEquals(Integer.class, cls.getDeclaredField("total").getType());
+    assertEquals(Double.class, cls.getDeclaredField("weight").getType());
+  }
+
+  @DisplayName("Generated methods handle primitive fields like their boxed counterparts")
+  @Test
+  void expectPrimitiveFieldsSupported()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          IllegalAccessException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Measurement", runtimeConfiguration);
+    var json =
+        """
+        {"count": 3, "enabled": true, "ratio": 0.75, "sensor": "s1", "total": null, "weight": 1.5}
+        """;
+    var mapper = createObjectMapper();
+    var measurement = mapper.readValue(json, cls);
+    var copy = mapper.readValue(json, cls);
+    var other = mapper.readValue(json.replace("0.75", "0.5"), cls);
+
+    assertEquals(3, cls.getDeclaredMethod("count").invoke(measurement));
+    assertEquals(true, cls.getDeclaredMethod("enabled").invoke(measurement));
+    assertEquals(0.75, cls.getDeclaredMethod("ratio").invoke(measurement));
+    assertEquals(1.5, cls.getDeclaredMethod("weight").invoke(measurement));
+
+    assertEquals(measurement, copy);
+    assertEquals(measurement.hashCode(), copy.hashCode());
+    assertNotEquals(measurement, other);
+    assertTrue(measurement.toString().contains("ratio=0.75"));
+
+    Object parsed;
+    try (var parser = mapper.createParser(json)) {
+      parsed = cls.getDeclaredMethod("fromJson", JsonParser.class).invoke(null, parser);
+    }
+    assertEquals(measurement, parsed);
+
+    var writer = new StringWriter();
+    try (var generator = mapper.createGenerator(writer)) {
+      cls.getDeclaredMethod("writeTo", JsonGenerator.class).invoke(parsed, generator);
+    }
+    assertEquals(mapper.readTree(json), mapper.readTree(writer.toString()));
+
+    var invalid = mapper.readValue(json.replace("\"count\": 3", "\"count\": -1"), cls);
+    var errors = new StringBuilder();
+    BiConsumer<String, String> collector =
+        (path, message) -> errors.append(path).append(' ').append(message);
+    assertEquals(
+        false, cls.getDeclaredMethod("validate", BiConsumer.class).invoke(invalid, collector));
+    assertEquals("count must be greater than or equal to 0", errors.toString());
+  }
+}
@@ -0,0 +1,289 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import es.nachobrito.jsonschema.compiler.domain.CompilerException;
+import es.nachobrito.jsonschema.compiler.domain.Schema;
+import es.nachobrito.jsonschema.compiler.infrastructure.jsonrefparser.JsonSchemaReader;
+import es.nachobrito.jsonschema.compiler.infrastructure.streaming.SchemaStore;
+import es.nachobrito.jsonschema.compiler.infrastructure.streaming.StreamingSchemaReader;
+import java.io.IOException;
+import java.lang.constant.ClassDesc;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class StreamingSchemaReaderTest {
+
+  @DisplayName("The streaming reader produces the same schemas as the default reader")
+  @Test
+  void expectSameSchemas() {
+    var schemaFiles =
+        List.of(
+            "classpath:test-schemas/Person.json",
+            "classpath:test-schemas/Arrays.json",
+            "classpath:test-schemas/Nested.json");
+    for (var schemaFile : schemaFiles) {
+      var uri = URI.create(schemaFile);
+      assertEquals(
+          new HashSet<>(new JsonSchemaReader().read(uri)),
+          new HashSet<>(new StreamingSchemaReader().read(uri)),
+          schemaFile);
+    }
+  }
+
+  @DisplayName("References and allOf subschemas are resolved")
+  @Test
+  void expectReferencesResolved() {
+    var schema =
+        """
+        {
+          "title": "Order",
+          "type": "object",
+          "properties": {
+            "customer": { "$ref": "#/components/schemas/Customer" },
+            "total": { "type": "number", "description": "Not needed to compile", "minimum": 0 }
+          },
+          "allOf": [{ "required": ["total"] }],
+          "components": {
+            "schemas": {
+              "Customer": {
+                "title": "Customer",
+                "type": "object",
+                "allOf": [
+                  { "$ref": "#/$defs/named" },
+                  { "properties": { "email": { "type": "string", "format": "email" } } }
+                ]
+              }
+            }
+          },
+          "$defs": {
+            "named": { "properties": { "name": { "type": "string" } }, "required": ["name"] }
+          }
+        }
+        """;
+    var schemas =
+        new StreamingSchemaReader()
+            .read(schema)
+            .stream()
+            .collect(Collectors.toMap(Schema::className, it -> it));
+
+    var order = schemas.get("Order").properties();
+    assertEquals(ClassDesc.of("Customer"), order.get("customer").type());
+    assertTrue(order.get("total").constraints().required());
+    assertEquals(BigDecimal.ZERO, order.get("total").constraints().minimum());
+    var customer = schemas.get("Customer").properties();
+    assertEquals(Set.of("email", "name"), customer.keySet());
+    assertTrue(customer.get("name").constraints().required());
+  }
+
+  @DisplayName("Shared definitions are compiled once when references are preserved")
+  @Test
+  void expectSharedDefinitionsCompiledOnce() {
+    var schema =
+        """
+        {
+          "title": "com.example.Shipment",
+          "type": "object",
+          "properties": {
+            "origin": { "$ref": "#/$defs/address" },
+            "destination": { "$ref": "#/$defs/address" },
+            "stops": { "type": "array", "items": { "$ref": "#/$defs/address" } }
+          },
+          "$defs": {
+            "address": { "type": "object", "properties": { "city": { "type": "string" } } }
+          }
+        }
+        """;
+    var schemas =
+        new StreamingSchemaReader(true)
+            .read(schema)
+            .stream()
+            .collect(Collectors.toMap(Schema::className, it -> it));
+
+    assertEquals(Set.of("com.example.Shipment", "com.example.Address"), schemas.keySet());
+    var address = ClassDesc.of("com.example.Address");
+    var shipment = schemas.get("com.example.Shipment").properties();
+    assertEquals(address, shipment.get("origin").type());
+    assertEquals(address, shipment.get("destination").type());
+    assertEquals(address.arrayType(), shipment.get("stops").type());
+  }
+
+  @DisplayName("Recursive definitions can be compiled when references are preserved")
+  @Test
+  void expectRecursiveDefinitions() {
+    var schema =
+        """
+        {
+          "title": "Node",
+          "type": "object",
+          "properties": {
+            "value": { "type": "string" },
+            "parent": { "$ref": "#" },
+            "children": { "type": "array", "items": { "$ref": "#" } }
+          }
+        }
+        """;
+    var schemas = new StreamingSchemaReader(true).read(schema);
+
+    assertEquals(1, schemas.size());
+    var node = schemas.getFirst().properties();
+    assertEquals(ClassDesc.of("Node"), node.get("parent").type());
+    assertEquals(ClassDesc.of("Node").arrayType(), node.get("children").type());
+  }
+
+  @DisplayName("Definitions used by nested objects can be recursive too")
+  @Test
+  void expectNestedRecursiveDefinitions() {
+    var schema =
+        """
+        {
+          "title": "Tree",
+          "type": "object",
+          "properties": {
+            "root": { "$ref": "#/$defs/node" },
+            "parent": { "$ref": "#" }
+          },
+          "$defs": {
+            "node": {
+              "type": "object",
+              "properties": {
+                "value": { "type": "string" },
+                "children": { "type": "array", "items": { "$ref": "#/$defs/node" } }
+              }
+            }
+          }
+        }
+        """;
+    var schemas =
+        new StreamingSchemaReader(true)
+            .read(schema)
+            .stream()
+            .collect(Collectors.toMap(Schema::className, it -> it));
+
+    assertEquals(Set.of("Tree", "Node"), schemas.keySet());
+    assertEquals(ClassDesc.of("Node"), schemas.get("Tree").properties().get("root").type());
+    assertEquals(ClassDesc.of("Tree"), schemas.get("Tree").properties().get("parent").type());
+    assertEquals(
+        ClassDesc.of("Node").arrayType(),
+        schemas.get("Node").properties().get("children").type());
+  }
+
+  @DisplayName("Recursive definitions without a title can be compiled when references are inlined")
+  @Test
+  void expectInlinedRecursiveDefinitions() {
+    var schema =
+        """
+        {
+          "title": "Tree",
+          "type": "object",
+          "properties": {
+            "root": { "$ref": "#/$defs/node" }
+          },
+          "$defs": {
+            "node": {
+              "type": "object",
+              "properties": {
+                "value": { "type": "string" },
+                "next": { "$ref": "#/$defs/node" },
+                "children": { "type": "array", "items": { "$ref": "#/$defs/node" } }
+              }
+            }
+          }
+        }
+        """;
+    var schemas =
+        new StreamingSchemaReader(false)
+            .read(schema)
+            .stream()
+            .collect(Collectors.toMap(Schema::className, it -> it));
+
+    assertEquals(Set.of("Tree", "TreeRoot"), schemas.keySet());
+    var node = schemas.get("TreeRoot").properties();
+    assertEquals(ClassDesc.of("TreeRoot"), node.get("next").type());
+    assertEquals(ClassDesc.of("TreeRoot").arrayType(), node.get("children").type());
+  }
+
+  @DisplayName("Referenced documents are stored and served offline by the schema store")
+  @Test
+  void expectExternalReferencesFromSchemaStore() throws IOException {
+    var folder = Path.of(CompilerTest.TARGET_GENERATED_CLASSES, "schema-store");
+    var store = folder.resolve("store");
+    var vocabulary = Files.createDirectories(folder).resolve("vocabulary.json");
+    var order = folder.resolve("order.json");
+    Files.writeString(
+        vocabulary,
+        """
+        {
+          "$id": "https://example.com/vocabulary.json",
+          "$defs": {
+            "money": { "type": "object", "properties": { "amount": { "type": "number" } } }
+          }
+        }
+        """);
+    Files.writeString(
+        order,
+        """
+        {"title": "Order", "properties": {"total": {"$ref": "vocabulary.json#/$defs/money"}}}
+        """);
+    var online = Optional.of(new SchemaStore(store, false));
+    var schemas = new HashSet<>(new StreamingSchemaReader(false, online).read(order.toUri()));
+    assertEquals(2, schemas.size());
+
+    Files.delete(vocabulary);
+    var offline = Optional.of(new SchemaStore(store, true));
+    assertEquals(
+        schemas, new HashSet<>(new StreamingSchemaReader(false, offline).read(order.toUri())));
+    // the stored document is indexed by its $id too
+    var byId =
+        """
+        {"title": "Order",
+         "properties": {"total": {"$ref": "https://example.com/vocabulary.json#/$defs/money"}}}
+        """;
+    assertEquals(
+        schemas, new HashSet<>(new StreamingSchemaReader(false, offline).read(byId)));
+    var missing =
+        """
+        {"title": "Order", "properties": {"total": {"$ref": "https://example.com/other.json"}}}
+        """;
+    assertThrows(
+        CompilerException.class,
+        () -> new StreamingSchemaReader(false, offline).read(missing));
+  }
+
+  @DisplayName("References to other documents are not supported")
+  @Test
+  void expectExternalReferencesRejected() {
+    var schema =
+        """
+        {"title": "Order", "properties": {"customer": {"$ref": "customer.json"}}}
+        """;
+    assertThrows(CompilerException.class, () -> new StreamingSchemaReader().read(schema));
+  }
+}
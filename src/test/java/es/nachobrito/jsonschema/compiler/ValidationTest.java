@@ -0,0 +1,206 @@
+/*
+ *    Copyright 2025 Nacho Brito
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+
+package es.nachobrito.jsonschema.compiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import es.nachobrito.jsonschema.compiler.domain.runtimeconfiguration.RuntimeConfiguration;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ValidationTest extends CompilerTest {
+  private static final String SCHEMA =
+      """
+      {
+        "title": "Account",
+        "type": "object",
+        "properties": {
+          "name": { "type": "string", "minLength": 2, "maxLength": 5, "pattern": "^[a-z]+$" },
+          "age": { "type": "integer", "minimum": 0, "exclusiveMaximum": 150 },
+          "score": { "type": "number", "exclusiveMinimum": 0, "maximum": 1.5 },
+          "status": { "type": "string", "enum": ["active", "closed"] },
+          "tags": { "type": "array", "items": { "type": "string" }, "minItems": 1, "maxItems": 2 },
+          "address": {
+            "title": "AccountAddress",
+            "type": "object",
+            "properties": {
+              "street": { "type": "string" }
+            },
+            "required": ["street"]
+          }
+        },
+        "required": ["name", "address"]
+      }
+      """;
+
+  private final RuntimeConfiguration runtimeConfiguration =
+      new RuntimeConfiguration() {
+        @Override
+        public Path getOutputPath() {
+          return Path.of(TARGET_GENERATED_CLASSES);
+        }
+
+        @Override
+        public boolean withValidation() {
+          return true;
+        }
+      };
+
+  @DisplayName("Valid instances pass the generated validation without errors")
+  @Test
+  void expectValidInstancesAccepted()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          IllegalAccessException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Account", runtimeConfiguration);
+    var json =
+        """
+        {
+          "name": "john",
+          "age": 0,
+          "score": 1.5,
+          "status": "active",
+          "tags": ["a", "b"],
+          "address": {"street": "Main St"}
+        }
+        """;
+    var errors = new ArrayList<String>();
+    assertTrue(validate(cls, json, errors));
+    assertEquals(List.of(), errors);
+  }
+
+  @DisplayName("Every broken validation keyword is reported with the path of the property")
+  @Test
+  void expectInvalidInstancesReported()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          IllegalAccessException {
+    var cls = compileSampleSchemaFromString(SCHEMA, "Account", runtimeConfiguration);
+    var json =
+        """
+        {
+          "name": "J",
+          "age": 150,
+          "score": 0,
+          "status": "deleted",
+          "tags": [],
+          "address": {}
+        }
+        """;
+    var errors = new ArrayList<String>();
+    assertFalse(validate(cls, json, errors));
+    assertEquals(
+        List.of(
+            "address.street is required",
+            "age must be less than 150",
+            "name must be at least 2 characters long",
+            "name must match ^[a-z]+$",
+            "score must be greater than 0",
+            "status must be one of [active, closed]",
+            "tags must have at least 1 items"),
+        errors);
+
+    errors.clear();
+    assertFalse(validate(cls, "{\"name\": \"toolong\"}", errors));
+    assertEquals(
+        List.of("address is required", "name must be at most 5 characters long"), errors);
+  }
+
+  @DisplayName("Items of scalar arrays are validated, and long bounds are compared exactly")
+  @Test
+  void expectScalarItemsAndLongBoundsValidated()
+      throws IOException,
+          ClassNotFoundException,
+          NoSuchMethodException,
+          InvocationTargetException,
+          IllegalAccessException {
+    var schema =
+        """
+        {
+          "title": "Sensor",
+          "type": "object",
+          "properties": {
+            "readings": {
+              "type": "array",
+              "items": { "type": "integer", "minimum": 0, "maximum": 100 }
+            },
+            "codes": { "type": "array", "items": { "type": "string", "pattern": "^[A-Z]{3}$" } },
+            "serial": { "type": "integer", "minimum": 0, "maximum": 9007199254740992 }
+          }
+        }
+        """;
+    var configuration =
+        new RuntimeConfiguration() {
+          @Override
+          public Path getOutputPath() {
+            return Path.of(TARGET_GENERATED_CLASSES);
+          }
+
+          @Override
+          public boolean withValidation() {
+            return true;
+          }
+
+          @Override
+          public boolean withIntegerSizing() {
+            return true;
+          }
+        };
+    var cls = compileSampleSchemaFromString(schema, "Sensor", configuration);
+    var json =
+        """
+        {
+          "readings": [5, null, 101, -1],
+          "codes": ["ABC", "abc"],
+          "serial": 9007199254740993
+        }
+        """;
+    var errors = new ArrayList<String>();
+    assertFalse(validate(cls, json, errors));
+    assertEquals(
+        List.of(
+            "codes[1] must match ^[A-Z]{3}$",
+            "readings[2] must be less than or equal to 100",
+            "readings[3] must be greater than or equal to 0",
+            "serial must be less than or equal to 9007199254740992"),
+        errors);
+
+    errors.clear();
+    var valid = "{\"readings\": [0, 100], \"codes\": [\"XYZ\"], \"serial\": 9007199254740992}";
+    assertTrue(validate(cls, valid, errors));
+    assertEquals(List.of(), errors);
+  }
+
+  private boolean validate(Class<?> cls, String json, List<String> errors)
+      throws IOException, NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+    var instance = createObjectMapper().readValue(json, cls);
+    BiConsumer<String, String> collector = (path, message) -> errors.add(path + " " + message);
+    return (boolean) cls.getDeclaredMethod("validate", BiConsumer.class).invoke(instance, collector);
+  }
+}
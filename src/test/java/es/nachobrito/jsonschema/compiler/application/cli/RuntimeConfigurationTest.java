@@ -18,7 +18,9 @@ package es.nachobrito.jsonschema.compiler.application.cli;
 
 import org.junit.jupiter.api.Test;
 
+import es.nachobrito.jsonschema.compiler.domain.CompilerException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -70,6 +72,85 @@ class RuntimeConfigurationTest {
     params = RuntimeConfiguration.of(args);
     assertEquals(Path.of(args[4]), params.getOutputPath());
     assertEquals(Optional.of(args[2]), params.getPackageName());
+    assertEquals(1, params.getThreads());
+
+    args = new String[] {"-t", "8", "path/to/json.schema"};
+    params = RuntimeConfiguration.of(args);
+    assertEquals(8, params.getThreads());
+    assertEquals(-1, params.getJarCompressionLevel());
+
+    args = new String[] {"--jar-compression", "stored", "path/to/json.schema"};
+    params = RuntimeConfiguration.of(args);
+    assertEquals(0, params.getJarCompressionLevel());
+
+    args = new String[] {"--jar-compression", "9", "path/to/json.schema"};
+    params = RuntimeConfiguration.of(args);
+    assertEquals(9, params.getJarCompressionLevel());
+    assertEquals(Optional.empty(), params.getCacheFolder());
+
+    args = new String[] {"-p", "es.nachobrito.test", "--cache", "path/to/json.schema"};
+    params = RuntimeConfiguration.of(args);
+    assertTrue(params.getCacheFolder().isPresent());
+    assertEquals(Optional.of(Path.of("path/to/json.schema")), params.getJsonSchemaFile());
+
+    args = new String[] {"--cache-folder", "/tmp/cache", "path/to/json.schema"};
+    params = RuntimeConfiguration.of(args);
+    assertEquals(Optional.of(Path.of("/tmp/cache")), params.getCacheFolder());
+  }
+
+  @Test
+  void expectDaemonRequestsResolvedAgainstClientDirectory() {
+    var workingDirectory = Path.of("/home/user/project");
+    var params =
+        RuntimeConfiguration.of(
+            new String[] {"-o", "out.jar", "schemas/person.json"},
+            workingDirectory,
+            Optional.empty());
+    assertEquals(workingDirectory.resolve("out.jar"), params.getOutputPath());
+    assertEquals(
+        Optional.of(workingDirectory.resolve("schemas/person.json")), params.getJsonSchemaFile());
+
+    params =
+        RuntimeConfiguration.of(new String[] {"-p", "com.example"}, workingDirectory, Optional.of("{}"));
+    assertEquals(workingDirectory.resolve("."), params.getOutputPath());
+    assertEquals(Optional.of("{}"), params.getJsonSchemaCode());
+    assertFalse(params.isDaemon());
+    assertTrue(params.isDaemonClientEnabled());
+
+    params = RuntimeConfiguration.of(new String[] {"--daemon", "--daemon-socket", "/tmp/jsc.sock"});
+    assertTrue(params.isDaemon());
+    assertEquals(Path.of("/tmp/jsc.sock"), params.getDaemonSocket());
+
+    params = RuntimeConfiguration.of(new String[] {"--no-daemon", "path/to/json.schema"});
+    assertFalse(params.isDaemonClientEnabled());
+  }
+
+  @Test
+  void expectSeveralInputsSupported() {
+    var folder = Path.of("src/test/resources/test-schemas/batch");
+    var params =
+        RuntimeConfiguration.of(new String[] {"-p", "es.nachobrito.test", folder.toString()});
+    assertEquals(
+        List.of(
+            folder.resolve("Customer.json").toAbsolutePath(),
+            folder.resolve("Order.json").toAbsolutePath()),
+        params.getJsonSchemaFiles());
+
+    params =
+        RuntimeConfiguration.of(
+            new String[] {
+              "src/test/resources/test-schemas/batch/Order.json",
+              "src/test/resources/test-schemas/batch/*.json"
+            });
+    assertEquals(
+        List.of(
+            folder.resolve("Order.json").toAbsolutePath(),
+            folder.resolve("Customer.json").toAbsolutePath()),
+        params.getJsonSchemaFiles());
+
+    assertThrows(
+        CompilerException.class,
+        () -> RuntimeConfiguration.of(new String[] {"src/test/resources/*.nothing"}).getJsonSchemaFiles());
   }
 
   @Test
@@ -92,5 +173,14 @@ class RuntimeConfigurationTest {
               });
         });
 
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> RuntimeConfiguration.of(new String[] {"--threads", "0", "path/to/json.schema"})
+            .getThreads());
+
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> RuntimeConfiguration.of(new String[] {"--jar-compression", "10", "path/to/json.schema"})
+            .getJarCompressionLevel());
   }
 }